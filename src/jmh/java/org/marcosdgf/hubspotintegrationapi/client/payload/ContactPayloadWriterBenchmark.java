@@ -0,0 +1,82 @@
+package org.marcosdgf.hubspotintegrationapi.client.payload;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.marcosdgf.hubspotintegrationapi.dto.request.ContactCreateRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContactPayloadWriterBenchmark {
+
+    private ObjectMapper objectMapper;
+    private ContactPayloadWriter writer;
+    private ContactCreateRequest contact;
+    private List<ContactCreateRequest> batch;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper();
+        writer = new ContactPayloadWriter(objectMapper, 32);
+        contact = new ContactCreateRequest("johndoe@gmail.com", "John", "Doe", "123456789", null);
+        batch = new ArrayList<>(100);
+        for (int i = 0; i < 100; i++) {
+            batch.add(new ContactCreateRequest("john" + i + "@gmail.com", "John", "Doe", null, "www.johndoe.com"));
+        }
+    }
+
+    @Benchmark
+    public byte[] mapPayload() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(legacyMap(contact));
+    }
+
+    @Benchmark
+    public byte[] writerPayload() {
+        return writer.write(contact);
+    }
+
+    @Benchmark
+    public byte[] mapBatchPayload() throws JsonProcessingException {
+        final List<Map<String, Object>> inputs = new ArrayList<>(batch.size());
+        for (final ContactCreateRequest request : batch) {
+            inputs.add(legacyMap(request));
+        }
+        return objectMapper.writeValueAsBytes(Map.of("inputs", inputs));
+    }
+
+    @Benchmark
+    public byte[] writerBatchPayload() {
+        return writer.writeBatch(batch);
+    }
+
+    // Map path used by ContactController before the dedicated writer.
+    private static Map<String, Object> legacyMap(final ContactCreateRequest contactRequest) {
+        final Map<String, String> properties = Map.of(
+                "email", contactRequest.email(),
+                "firstname", contactRequest.firstname(),
+                "lastname", contactRequest.lastname(),
+                "phone", contactRequest.phone() != null ? contactRequest.phone() : "",
+                "website", contactRequest.website() != null ? contactRequest.website() : ""
+        );
+        return Map.of("properties", properties);
+    }
+
+}
@@ -0,0 +1,101 @@
+package org.marcosdgf.hubspotintegrationapi.client.relay;
+
+import feign.Request;
+import feign.Response;
+import feign.Util;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+// Compare with -prof gc: gc.alloc.rate.norm is the per-response allocation before (decoded) and after (relay).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HubSpotResponseRelayBenchmark {
+
+    @Param({"1024", "65536", "1048576"})
+    private int bodySize;
+
+    private byte[] body;
+    private Request request;
+    private HubSpotResponseRelay relay;
+
+    @Setup
+    public void setUp() {
+        final StringBuilder json = new StringBuilder(bodySize);
+        json.append("{\"results\":[");
+        while (json.length() < bodySize - 64) {
+            json.append("{\"id\":\"").append(json.length()).append("\",\"properties\":{\"email\":\"contato@example.com\"}},");
+        }
+        json.append("{}]}");
+        body = json.toString().getBytes(StandardCharsets.UTF_8);
+        request = Request.create(Request.HttpMethod.POST, "url", Collections.emptyMap(), null, StandardCharsets.UTF_8, null);
+        relay = new HubSpotResponseRelay(8192, 64);
+    }
+
+    @Benchmark
+    public void decodedString(final Blackhole blackhole) throws IOException {
+        try (Response response = response(); Reader reader = response.body().asReader(StandardCharsets.UTF_8)) {
+            final String decoded = Util.toString(reader);
+            final OutputStream out = new BlackholeOutputStream(blackhole);
+            out.write(decoded.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    @Benchmark
+    public void relayed(final Blackhole blackhole) throws IOException {
+        try (Response response = response()) {
+            relay.copy(response.body().asInputStream(), new BlackholeOutputStream(blackhole));
+        }
+    }
+
+    private Response response() {
+        return Response.builder()
+                .status(200)
+                .request(request)
+                .headers(Collections.emptyMap())
+                .body(body)
+                .build();
+    }
+
+    private static final class BlackholeOutputStream extends OutputStream {
+
+        private final Blackhole blackhole;
+
+        private BlackholeOutputStream(final Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public void write(final int b) {
+            blackhole.consume(b);
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) {
+            blackhole.consume(b);
+            blackhole.consume(len);
+        }
+
+    }
+
+}
@@ -0,0 +1,60 @@
+package org.marcosdgf.hubspotintegrationapi.controller;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.marcosdgf.hubspotintegrationapi.dto.webhook.HubSpotEvent;
+import org.marcosdgf.hubspotintegrationapi.dto.webhook.LegacyHubSpotEvent;
+import org.marcosdgf.hubspotintegrationapi.dto.webhook.WebhookBodies;
+import org.marcosdgf.hubspotintegrationapi.service.webhook.HubSpotEventDecoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Decoding of a webhook body, which WebhookController runs once per delivery.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WebhookEventParsingBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int eventCount;
+
+    // Same defaults as the Boot-managed mapper, so unknown event fields are ignored.
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private HubSpotEventDecoder decoder;
+    private String body;
+
+    @Setup
+    public void setUp() {
+        decoder = new HubSpotEventDecoder(objectMapper, 4096);
+        body = WebhookBodies.events(eventCount);
+    }
+
+    // What WebhookController did before HubSpotEventDecoder: data binding into the boxed bean.
+    @Benchmark
+    public List<LegacyHubSpotEvent> bindLegacyBeans() throws IOException {
+        return objectMapper.readValue(body, new TypeReference<>() {});
+    }
+
+    @Benchmark
+    public List<HubSpotEvent> decodeCompactEvents() throws IOException {
+        return decoder.decode(body);
+    }
+
+}
@@ -0,0 +1,93 @@
+package org.marcosdgf.hubspotintegrationapi.controller;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.marcosdgf.hubspotintegrationapi.service.webhook.WebhookSigningKeys;
+import org.marcosdgf.hubspotintegrationapi.service.webhook.diagnostics.SignatureFailureDiagnostics;
+import org.marcosdgf.hubspotintegrationapi.service.webhook.diagnostics.SignatureFailureReason;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WebhookSignatureBenchmark {
+
+    private static final String SECRET = "benchmark-client-secret";
+
+    @Param({"256", "4096", "65536"})
+    private int bodySize;
+
+    private WebhookController controller;
+    private MockHttpServletRequest request;
+    private String body;
+    private long timestamp;
+    private String signature;
+    private String forgedSignature;
+    private SignatureFailureDiagnostics diagnostics;
+
+    @Setup
+    public void setUp() throws Exception {
+        // The decoder, queues and recorder are never reached: only the signature check is measured.
+        diagnostics = new SignatureFailureDiagnostics(new SimpleMeterRegistry(), Duration.ofHours(1), 64);
+        controller = new WebhookController(null, null, diagnostics, null, new WebhookSigningKeys(SECRET, ""));
+
+        final StringBuilder json = new StringBuilder(bodySize);
+        json.append('[');
+        while (json.length() < bodySize - 200) {
+            json.append("{\"objectId\":").append(json.length())
+                    .append(",\"subscriptionType\":\"contact.propertyChange\",\"eventId\":1,\"portalId\":62515")
+                    .append(",\"occurredAt\":1700000000000,\"propertyName\":\"email\"},");
+        }
+        json.append("{\"objectId\":1,\"subscriptionType\":\"contact.creation\"}]");
+        body = json.toString();
+
+        request = new MockHttpServletRequest("POST", "/webhooks/contacts");
+        request.setServerName("api.example.com");
+        request.setScheme("https");
+        request.setServerPort(443);
+
+        timestamp = System.currentTimeMillis();
+        final Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        final String source = "POST" + request.getRequestURL() + body + timestamp;
+        signature = Base64.getEncoder().encodeToString(mac.doFinal(source.getBytes(StandardCharsets.UTF_8)));
+        forgedSignature = Base64.getEncoder().encodeToString(new byte[32]);
+        if (controller.signatureFailure(null, signature, timestamp, body, request) != null) {
+            throw new IllegalStateException("Benchmark signature does not validate");
+        }
+    }
+
+    @Benchmark
+    public boolean validSignature() {
+        return controller.signatureFailure(null, signature, timestamp, body, request) == null;
+    }
+
+    // The rejection path as the controller runs it: check, then count and sample the failure.
+    @Benchmark
+    public SignatureFailureReason forgedSignature() {
+        final SignatureFailureReason failure = controller.signatureFailure(null, forgedSignature, timestamp, body, request);
+        diagnostics.record(failure, null, forgedSignature, timestamp, body.length(), request);
+        return failure;
+    }
+
+}
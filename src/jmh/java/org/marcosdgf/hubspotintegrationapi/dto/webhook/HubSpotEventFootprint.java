@@ -0,0 +1,57 @@
+package org.marcosdgf.hubspotintegrationapi.dto.webhook;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.marcosdgf.hubspotintegrationapi.service.webhook.HubSpotEventDecoder;
+import org.openjdk.jol.info.GraphLayout;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// Retained heap of a buffer of decoded events, former bean vs. compact record. JOL walks the whole object graph,
+// so strings shared between events (enum names, dictionary entries) are counted once, as they are on the heap.
+public final class HubSpotEventFootprint {
+
+    private HubSpotEventFootprint() {
+    }
+
+    public static void main(final String[] args) throws Exception {
+        final int eventCount = Integer.getInteger("footprint.events", 100_000);
+        final Path reportDir = Path.of(System.getProperty("footprint.report-dir", "build/reports/footprint"));
+
+        final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        final String body = WebhookBodies.events(eventCount);
+
+        final List<LegacyHubSpotEvent> legacy = objectMapper.readValue(body, new TypeReference<>() {});
+        final List<HubSpotEvent> compact = new HubSpotEventDecoder(objectMapper, 4096).decode(body);
+
+        final List<Footprint> footprints = new ArrayList<>();
+        footprints.add(Footprint.of("legacy-bean", legacy));
+        footprints.add(Footprint.of("compact-record", compact));
+        for (final Footprint footprint : footprints) {
+            System.out.println(footprint.summary());
+        }
+
+        Files.createDirectories(reportDir);
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(reportDir.resolve("footprint.json").toFile(), footprints);
+    }
+
+    public record Footprint(String representation, int events, long totalBytes, double bytesPerEvent) {
+
+        static Footprint of(final String representation, final List<?> events) {
+            final long total = GraphLayout.parseInstance(events).totalSize();
+            return new Footprint(representation, events.size(), total, (double) total / events.size());
+        }
+
+        String summary() {
+            return String.format(Locale.ROOT, "%-15s %,9d events  %,13d bytes  %7.1f bytes/event",
+                    representation, events, totalBytes, bytesPerEvent);
+        }
+
+    }
+
+}
@@ -0,0 +1,71 @@
+package org.marcosdgf.hubspotintegrationapi.dto.webhook;
+
+// The bean HubSpotEvent used to be (boxed fields, one String per subscription type and property name), kept as
+// the baseline for the parsing benchmark and the footprint report. Accessors written out: no Lombok in src/jmh.
+public class LegacyHubSpotEvent {
+
+    private Long objectId;
+    private String subscriptionType;
+    private Long eventId;
+    private Integer portalId;
+    private Long occurredAt;
+    private String propertyName;
+    private String propertyValue;
+
+    public Long getObjectId() {
+        return objectId;
+    }
+
+    public void setObjectId(final Long objectId) {
+        this.objectId = objectId;
+    }
+
+    public String getSubscriptionType() {
+        return subscriptionType;
+    }
+
+    public void setSubscriptionType(final String subscriptionType) {
+        this.subscriptionType = subscriptionType;
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(final Long eventId) {
+        this.eventId = eventId;
+    }
+
+    public Integer getPortalId() {
+        return portalId;
+    }
+
+    public void setPortalId(final Integer portalId) {
+        this.portalId = portalId;
+    }
+
+    public Long getOccurredAt() {
+        return occurredAt;
+    }
+
+    public void setOccurredAt(final Long occurredAt) {
+        this.occurredAt = occurredAt;
+    }
+
+    public String getPropertyName() {
+        return propertyName;
+    }
+
+    public void setPropertyName(final String propertyName) {
+        this.propertyName = propertyName;
+    }
+
+    public String getPropertyValue() {
+        return propertyValue;
+    }
+
+    public void setPropertyValue(final String propertyValue) {
+        this.propertyValue = propertyValue;
+    }
+
+}
@@ -0,0 +1,33 @@
+package org.marcosdgf.hubspotintegrationapi.dto.webhook;
+
+// Synthetic webhook bodies shaped like HubSpot's: mostly property changes over a small set of property names.
+public final class WebhookBodies {
+
+    private static final String[] PROPERTY_NAMES = {
+            "email", "firstname", "lastname", "phone", "company", "lifecyclestage", "hs_lead_status", "jobtitle"};
+
+    private WebhookBodies() {
+    }
+
+    public static String events(final int count) {
+        final StringBuilder json = new StringBuilder(count * 260);
+        json.append('[');
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            final String type = i % 20 == 0 ? "contact.creation" : "contact.propertyChange";
+            json.append("{\"objectId\":").append(1000 + i)
+                    .append(",\"subscriptionType\":\"").append(type).append("\",\"eventId\":").append(i)
+                    .append(",\"portalId\":62515,\"occurredAt\":").append(1_700_000_000_000L + i);
+            if (i % 20 != 0) {
+                json.append(",\"propertyName\":\"").append(PROPERTY_NAMES[i % PROPERTY_NAMES.length])
+                        .append("\",\"propertyValue\":\"valor-").append(i).append('"');
+            }
+            json.append(",\"subscriptionId\":42,\"attemptNumber\":0,\"changeSource\":\"CRM_UI\"}");
+        }
+        json.append(']');
+        return json.toString();
+    }
+
+}
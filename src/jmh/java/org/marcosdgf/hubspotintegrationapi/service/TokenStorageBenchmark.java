@@ -0,0 +1,55 @@
+package org.marcosdgf.hubspotintegrationapi.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.marcosdgf.hubspotintegrationapi.dto.response.HubSpotTokenResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Every outbound HubSpot call reads the token, so contention here shows up as added latency under load.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenStorageBenchmark {
+
+    private InMemoryTokenStorageService tokenStorage;
+
+    @Setup
+    public void setUp() {
+        // The OAuth client is only used for refreshes, which a one-hour token never needs here.
+        tokenStorage = new InMemoryTokenStorageService(null, new SimpleMeterRegistry());
+        tokenStorage.storeTokens(new HubSpotTokenResponse("access-token", "refresh-token", 3600, "bearer"));
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String getAccessToken1Thread() {
+        return tokenStorage.getAccessToken();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String getAccessToken8Threads() {
+        return tokenStorage.getAccessToken();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public String getAccessToken64Threads() {
+        return tokenStorage.getAccessToken();
+    }
+
+}
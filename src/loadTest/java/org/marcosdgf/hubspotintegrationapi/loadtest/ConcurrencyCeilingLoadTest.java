@@ -0,0 +1,79 @@
+package org.marcosdgf.hubspotintegrationapi.loadtest;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Steps concurrency up against a slow HubSpot and reports the highest level still served at full rate.
+// Shedding and outbound pacing are off so only the threading model and connection pools limit throughput.
+@TestPropertySource(properties = {
+        "hubspot.limiter.enabled=false",
+        "hubspot.scheduler.enabled=false",
+        "server.tomcat.threads.max=${loadtest.ceiling.tomcat-threads:100}",
+        "spring.cloud.openfeign.httpclient.max-connections=2000",
+        "spring.cloud.openfeign.httpclient.max-connections-per-route=2000"})
+abstract class ConcurrencyCeilingLoadTest extends LoadTestSupport {
+
+    private final long latencyMillis = Long.getLong("loadtest.ceiling.latency-ms", 100);
+    private final int requestsPerWorker = Integer.getInteger("loadtest.ceiling.requests-per-worker", 10);
+    private final int[] steps = Arrays.stream(System.getProperty("loadtest.ceiling.steps", "25,50,100,200,400").split(","))
+            .map(String::trim)
+            .mapToInt(Integer::parseInt)
+            .toArray();
+
+    private HubSpotStubServer.Settings previousSettings;
+
+    abstract String mode();
+
+    @BeforeAll
+    void slowStub() {
+        previousSettings = STUB.settings();
+        STUB.configure(new HubSpotStubServer.Settings(
+                new LatencyDistribution.Fixed(latencyMillis), 0, Integer.MAX_VALUE, Duration.ofSeconds(1)));
+    }
+
+    @AfterAll
+    void restoreStub() {
+        STUB.configure(previousSettings);
+    }
+
+    @Test
+    @DisplayName("Maior concorrência sustentada com o HubSpot lento")
+    void concurrencyCeiling() throws Exception {
+        driver.run(mode() + "-warmup", steps[0], warmupRequests, this::createContactRequest);
+
+        final List<LoadReport> reports = new ArrayList<>();
+        int ceiling = 0;
+        boolean sustained = true;
+        for (final int step : steps) {
+            final LoadReport report = driver.run(mode() + "-c" + step, step, step * requestsPerWorker, this::createContactRequest);
+            reports.add(report);
+            System.out.println(report.summary());
+
+            // Sustained: every request created and throughput within 80% of what the stub latency allows.
+            final double ideal = step * 1000.0 / latencyMillis;
+            sustained &= report.failures() == 0 && report.count(201) == report.requests()
+                    && report.throughputPerSecond() >= 0.8 * ideal;
+            if (sustained) {
+                ceiling = step;
+            }
+        }
+
+        System.out.println(mode() + " threads: max sustainable concurrency " + ceiling
+                + " with " + latencyMillis + "ms HubSpot latency");
+        publish("ceiling-" + mode(), new CeilingReport(mode(), latencyMillis, ceiling, reports));
+        assertThat(reports).allSatisfy(report -> assertThat(report.failures()).isZero());
+    }
+
+    record CeilingReport(String mode, long stubLatencyMillis, int maxSustainableConcurrency, List<LoadReport> steps) {}
+
+}
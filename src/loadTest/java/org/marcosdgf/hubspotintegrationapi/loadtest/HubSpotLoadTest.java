@@ -0,0 +1,93 @@
+package org.marcosdgf.hubspotintegrationapi.loadtest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Drives the real application over HTTP against a local HubSpot stub.
+class HubSpotLoadTest extends LoadTestSupport {
+
+    private final int webhookBursts = Integer.getInteger("loadtest.webhook.bursts", 500);
+    private final int webhookBurstSize = Integer.getInteger("loadtest.webhook.burst-size", 20);
+
+    @Test
+    @DisplayName("POST /contacts sob carga contra o stub do HubSpot")
+    void contactCreation() throws Exception {
+        driver.run("contacts-warmup", concurrency, warmupRequests, this::createContactRequest);
+        final int connectionsBefore = STUB.connectionCount();
+
+        final LoadReport report = driver.run("contacts", concurrency, requests, this::createContactRequest);
+        publish(report);
+
+        assertThat(report.failures()).isZero();
+        assertThat(report.count(201)).isPositive();
+        assertThat(report.count(500)).isZero();
+        // A pooled client reuses its connections; one per request would mean keep-alive is broken.
+        assertThat(STUB.connectionCount() - connectionsBefore).isLessThan(requests / 2);
+    }
+
+    @Test
+    @DisplayName("Rajadas de webhooks assinados contra o stub do HubSpot")
+    void signedWebhookBursts() throws Exception {
+        driver.run("webhooks-warmup", concurrency, warmupRequests, this::webhookRequest);
+
+        final LoadReport report = driver.run("webhooks", concurrency, webhookBursts, this::webhookRequest);
+        publish(report);
+
+        assertThat(report.failures()).isZero();
+        assertThat(report.count(200)).isPositive();
+        assertThat(report.count(400)).isZero();
+        assertThat(report.count(401)).isZero();
+    }
+
+    private HttpRequest webhookRequest(final int burst) {
+        final StringBuilder body = new StringBuilder("[");
+        final long now = System.currentTimeMillis();
+        for (int e = 0; e < webhookBurstSize; e++) {
+            if (e > 0) {
+                body.append(',');
+            }
+            final long objectId = (long) burst * webhookBurstSize + e + 1;
+            body.append("{\"objectId\":").append(objectId)
+                    .append(",\"subscriptionType\":\"contact.creation\",\"eventId\":").append(objectId)
+                    .append(",\"portalId\":62515,\"occurredAt\":").append(now).append('}');
+        }
+        body.append(']');
+
+        final URI uri = uri("/webhooks/contacts");
+        return HttpRequest.newBuilder(uri)
+                .header("Content-Type", "application/json")
+                .header("X-HubSpot-Request-Timestamp", String.valueOf(now))
+                .header("X-HubSpot-Signature-v3", sign("POST" + uri + body + now))
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                .build();
+    }
+
+    private void publish(final LoadReport report) throws IOException {
+        System.out.println(report.summary());
+        System.out.println("HubSpot stub: " + STUB.requestCounts() + ", throttled " + STUB.throttledCount()
+                + ", connections " + STUB.connectionCount());
+        publish(report.scenario(), report);
+    }
+
+    private static String sign(final String source) {
+        try {
+            final Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(CLIENT_SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            return Base64.getEncoder().encodeToString(mac.doFinal(source.getBytes(StandardCharsets.UTF_8)));
+        } catch (final GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
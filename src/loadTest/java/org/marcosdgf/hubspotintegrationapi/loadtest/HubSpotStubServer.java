@@ -0,0 +1,255 @@
+package org.marcosdgf.hubspotintegrationapi.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Local stand-in for the HubSpot OAuth and CRM contact endpoints the application calls.
+public class HubSpotStubServer implements AutoCloseable {
+
+    private static final String CONTACTS_PATH = "/crm/v3/objects/contacts";
+    private static final Pattern CONTACT_BY_ID = Pattern.compile(CONTACTS_PATH + "/(\\d+)");
+
+    public record Settings(LatencyDistribution latency, double throttleRate, int rateLimitMax, Duration rateLimitInterval) {
+
+        public static Settings fromSystemProperties() {
+            return new Settings(
+                    LatencyDistribution.parse(System.getProperty("loadtest.stub.latency", "lognormal:30:250")),
+                    Double.parseDouble(System.getProperty("loadtest.stub.throttle-rate", "0.01")),
+                    Integer.parseInt(System.getProperty("loadtest.stub.rate-limit", "500")),
+                    Duration.parse(System.getProperty("loadtest.stub.rate-limit-interval", "PT1S")));
+        }
+    }
+
+    private volatile Settings settings;
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicLong nextContactId = new AtomicLong(1000);
+    private final Map<String, LongAdder> requests = new ConcurrentHashMap<>();
+    private final LongAdder throttled = new LongAdder();
+    private final Set<InetSocketAddress> connections = ConcurrentHashMap.newKeySet();
+
+    private long windowStartNanos = System.nanoTime();
+    private int windowRequests;
+
+    private HubSpotStubServer(final Settings settings) throws IOException {
+        this.settings = settings;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 512);
+        this.server.setExecutor(executor);
+        this.server.createContext("/", this::handle);
+    }
+
+    public static HubSpotStubServer start(final Settings settings) throws IOException {
+        final HubSpotStubServer stub = new HubSpotStubServer(settings);
+        stub.server.start();
+        return stub;
+    }
+
+    public String baseUri() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    public Settings settings() {
+        return settings;
+    }
+
+    // Lets each scenario shape the stub without restarting the application that points at it.
+    public void configure(final Settings settings) {
+        this.settings = settings;
+    }
+
+    public long requestCount(final String route) {
+        final LongAdder count = requests.get(route);
+        return count == null ? 0 : count.sum();
+    }
+
+    public Map<String, Long> requestCounts() {
+        final Map<String, Long> counts = new TreeMap<>();
+        requests.forEach((route, count) -> counts.put(route, count.sum()));
+        return counts;
+    }
+
+    public long throttledCount() {
+        return throttled.sum();
+    }
+
+    // Each client connection has its own remote port, so this counts the connections the app opened.
+    public int connectionCount() {
+        return connections.size();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(final HttpExchange exchange) throws IOException {
+        try (exchange) {
+            connections.add(exchange.getRemoteAddress());
+            final String method = exchange.getRequestMethod();
+            final String path = exchange.getRequestURI().getPath();
+            final byte[] body;
+            try (InputStream in = exchange.getRequestBody()) {
+                body = in.readAllBytes();
+            }
+
+            if (path.startsWith("/oauth/v1/token")) {
+                count("POST token");
+                respond(exchange, 200, token());
+                return;
+            }
+
+            final int remaining = admit();
+            addRateLimitHeaders(exchange, Math.max(remaining, 0));
+            if (remaining < 0 || ThreadLocalRandom.current().nextDouble() < settings.throttleRate()) {
+                throttled.increment();
+                count("429");
+                respond(exchange, 429, rateLimitError());
+                return;
+            }
+
+            pause(settings.latency().sampleMillis(ThreadLocalRandom.current()));
+
+            final Matcher byId = CONTACT_BY_ID.matcher(path);
+            if ("POST".equals(method) && path.equals(CONTACTS_PATH + "/batch/create")) {
+                count("POST contacts/batch/create");
+                respond(exchange, 201, batchCreated(objectMapper.readTree(body)));
+            } else if ("POST".equals(method) && path.equals(CONTACTS_PATH)) {
+                count("POST contacts");
+                respond(exchange, 201, contact(nextContactId.getAndIncrement(), objectMapper.readTree(body).path("properties")));
+            } else if ("GET".equals(method) && byId.matches()) {
+                count("GET contacts/{id}");
+                final ObjectNode properties = objectMapper.createObjectNode().put("email", "contato" + byId.group(1) + "@example.com");
+                respond(exchange, 200, contact(Long.parseLong(byId.group(1)), properties));
+            } else if ("PATCH".equals(method) && byId.matches()) {
+                count("PATCH contacts/{id}");
+                respond(exchange, 200, contact(Long.parseLong(byId.group(1)), objectMapper.readTree(body).path("properties")));
+            } else if ("GET".equals(method) && path.equals(CONTACTS_PATH)) {
+                count("GET contacts");
+                respond(exchange, 200, objectMapper.createObjectNode().set("results", objectMapper.createArrayNode()));
+            } else if ("GET".equals(method) && path.equals("/crm/v3/properties/contacts")) {
+                count("GET properties/contacts");
+                respond(exchange, 200, properties());
+            } else {
+                count("404");
+                respond(exchange, 404, objectMapper.createObjectNode().put("status", "error").put("message", "Not found: " + path));
+            }
+        }
+    }
+
+    // Fixed-window limiter mirroring HubSpot's per-interval app limit; returns -1 once the window is spent.
+    private synchronized int admit() {
+        final Settings current = settings;
+        final long now = System.nanoTime();
+        if (now - windowStartNanos >= current.rateLimitInterval().toNanos()) {
+            windowStartNanos = now;
+            windowRequests = 0;
+        }
+        if (windowRequests >= current.rateLimitMax()) {
+            return -1;
+        }
+        windowRequests++;
+        return current.rateLimitMax() - windowRequests;
+    }
+
+    private void addRateLimitHeaders(final HttpExchange exchange, final int remaining) {
+        exchange.getResponseHeaders().add("X-HubSpot-RateLimit-Interval-Milliseconds",
+                String.valueOf(settings.rateLimitInterval().toMillis()));
+        exchange.getResponseHeaders().add("X-HubSpot-RateLimit-Max", String.valueOf(settings.rateLimitMax()));
+        exchange.getResponseHeaders().add("X-HubSpot-RateLimit-Remaining", String.valueOf(remaining));
+    }
+
+    private void respond(final HttpExchange exchange, final int status, final JsonNode body) throws IOException {
+        final byte[] bytes = objectMapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().add("Content-Type", "application/json;charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private void count(final String route) {
+        requests.computeIfAbsent(route, key -> new LongAdder()).increment();
+    }
+
+    private ObjectNode token() {
+        return objectMapper.createObjectNode()
+                .put("access_token", "stub-access-" + UUID.randomUUID())
+                .put("refresh_token", "stub-refresh-token")
+                .put("expires_in", 1800)
+                .put("token_type", "bearer");
+    }
+
+    private ObjectNode contact(final long id, final JsonNode properties) {
+        final ObjectNode contact = objectMapper.createObjectNode()
+                .put("id", String.valueOf(id))
+                .put("archived", false);
+        contact.set("properties", properties.isObject() ? properties : objectMapper.createObjectNode());
+        return contact;
+    }
+
+    private ObjectNode batchCreated(final JsonNode request) {
+        final ArrayNode results = objectMapper.createArrayNode();
+        for (final JsonNode input : request.path("inputs")) {
+            results.add(contact(nextContactId.getAndIncrement(), input.path("properties")));
+        }
+        final ObjectNode response = objectMapper.createObjectNode().put("status", "COMPLETE");
+        response.set("results", results);
+        return response;
+    }
+
+    private ObjectNode properties() {
+        final ArrayNode results = objectMapper.createArrayNode();
+        for (final String name : new String[]{"email", "firstname", "lastname", "phone", "website"}) {
+            results.addObject().put("name", name).put("type", "string").put("fieldType", "text");
+        }
+        final ObjectNode response = objectMapper.createObjectNode();
+        response.set("results", results);
+        return response;
+    }
+
+    private ObjectNode rateLimitError() {
+        return objectMapper.createObjectNode()
+                .put("status", "error")
+                .put("message", "You have reached your secondly limit.")
+                .put("errorType", "RATE_LIMIT")
+                .put("correlationId", UUID.randomUUID().toString())
+                .put("policyName", "SECONDLY");
+    }
+
+    private static void pause(final long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
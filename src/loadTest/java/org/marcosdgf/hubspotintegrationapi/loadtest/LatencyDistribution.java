@@ -0,0 +1,56 @@
+package org.marcosdgf.hubspotintegrationapi.loadtest;
+
+import java.util.Locale;
+import java.util.random.RandomGenerator;
+
+// Parsed from specs like "fixed:20", "uniform:10:50" or "lognormal:30:250" (median and p99, in ms).
+public sealed interface LatencyDistribution {
+
+    // z-score of the 99th percentile of a standard normal distribution.
+    double P99_Z = 2.326;
+
+    long sampleMillis(RandomGenerator random);
+
+    static LatencyDistribution parse(final String spec) {
+        final String[] parts = spec.trim().toLowerCase(Locale.ROOT).split(":");
+        try {
+            return switch (parts[0]) {
+                case "none" -> new Fixed(0);
+                case "fixed" -> new Fixed(Long.parseLong(parts[1]));
+                case "uniform" -> new Uniform(Long.parseLong(parts[1]), Long.parseLong(parts[2]));
+                case "lognormal" -> new LogNormal(Double.parseDouble(parts[1]), Double.parseDouble(parts[2]));
+                default -> throw new IllegalArgumentException("Unknown latency distribution: " + spec);
+            };
+        } catch (final ArrayIndexOutOfBoundsException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid latency distribution: " + spec, e);
+        }
+    }
+
+    record Fixed(long millis) implements LatencyDistribution {
+
+        @Override
+        public long sampleMillis(final RandomGenerator random) {
+            return millis;
+        }
+    }
+
+    record Uniform(long minMillis, long maxMillis) implements LatencyDistribution {
+
+        @Override
+        public long sampleMillis(final RandomGenerator random) {
+            return minMillis >= maxMillis ? minMillis : random.nextLong(minMillis, maxMillis + 1);
+        }
+    }
+
+    // Long-tailed like real API latencies: most calls near the median, a few far beyond it.
+    record LogNormal(double medianMillis, double p99Millis) implements LatencyDistribution {
+
+        @Override
+        public long sampleMillis(final RandomGenerator random) {
+            final double mu = Math.log(medianMillis);
+            final double sigma = Math.max(0, Math.log(p99Millis / medianMillis) / P99_Z);
+            return Math.round(Math.exp(mu + sigma * random.nextGaussian()));
+        }
+    }
+
+}
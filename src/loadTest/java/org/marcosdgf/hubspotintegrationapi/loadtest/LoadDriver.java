@@ -0,0 +1,74 @@
+package org.marcosdgf.hubspotintegrationapi.loadtest;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+
+// Closed-loop driver: a fixed number of workers each send their next request as soon as the previous one returns.
+public class LoadDriver {
+
+    private final HttpClient httpClient;
+
+    public LoadDriver(final HttpClient httpClient) {
+        this.httpClient = httpClient;
+    }
+
+    public LoadReport run(final String scenario, final int concurrency, final int totalRequests,
+                          final IntFunction<HttpRequest> requests) throws InterruptedException {
+        final AtomicInteger next = new AtomicInteger();
+        final long[] latencies = new long[totalRequests];
+        final AtomicInteger completed = new AtomicInteger();
+        final LongAdder failures = new LongAdder();
+        final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+
+        final ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        final long start = System.nanoTime();
+        try {
+            final Future<?>[] futures = new Future<?>[concurrency];
+            for (int w = 0; w < concurrency; w++) {
+                futures[w] = workers.submit(() -> {
+                    for (int i = next.getAndIncrement(); i < totalRequests; i = next.getAndIncrement()) {
+                        final HttpRequest request = requests.apply(i);
+                        final long sent = System.nanoTime();
+                        try {
+                            final HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                            latencies[completed.getAndIncrement()] = System.nanoTime() - sent;
+                            statuses.computeIfAbsent(response.statusCode(), status -> new LongAdder()).increment();
+                        } catch (final IOException e) {
+                            failures.increment();
+                        } catch (final InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        }
+                    }
+                });
+            }
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } catch (final ExecutionException e) {
+            throw new IllegalStateException("Load worker failed", e.getCause());
+        } finally {
+            workers.shutdownNow();
+        }
+        final long elapsed = System.nanoTime() - start;
+
+        final Map<Integer, Long> statusCounts = new TreeMap<>();
+        statuses.forEach((status, count) -> statusCounts.put(status, count.sum()));
+        final long[] recorded = Arrays.copyOf(latencies, completed.get());
+        return LoadReport.of(scenario, concurrency, elapsed, recorded, failures.sum(), statusCounts);
+    }
+
+}
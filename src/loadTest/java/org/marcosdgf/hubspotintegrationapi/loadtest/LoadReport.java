@@ -0,0 +1,52 @@
+package org.marcosdgf.hubspotintegrationapi.loadtest;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+
+public record LoadReport(String scenario,
+                         int concurrency,
+                         long requests,
+                         long failures,
+                         double durationSeconds,
+                         double throughputPerSecond,
+                         double p50Millis,
+                         double p90Millis,
+                         double p99Millis,
+                         double p999Millis,
+                         double maxMillis,
+                         Map<Integer, Long> statusCounts) {
+
+    static LoadReport of(final String scenario, final int concurrency, final long elapsedNanos,
+                         final long[] latenciesNanos, final long failures, final Map<Integer, Long> statusCounts) {
+        final long[] sorted = latenciesNanos.clone();
+        Arrays.sort(sorted);
+        final double seconds = elapsedNanos / 1e9;
+        return new LoadReport(scenario, concurrency, sorted.length + failures, failures, seconds,
+                seconds > 0 ? sorted.length / seconds : 0,
+                percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99), percentile(sorted, 0.999),
+                sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6,
+                statusCounts);
+    }
+
+    public long count(final int status) {
+        return statusCounts.getOrDefault(status, 0L);
+    }
+
+    public String summary() {
+        return String.format(Locale.ROOT,
+                "%s: %d requests (%d failed) at concurrency %d in %.1fs -> %.1f req/s | p50 %.1fms p90 %.1fms p99 %.1fms p99.9 %.1fms max %.1fms | statuses %s",
+                scenario, requests, failures, concurrency, durationSeconds, throughputPerSecond,
+                p50Millis, p90Millis, p99Millis, p999Millis, maxMillis, statusCounts);
+    }
+
+    // Nearest-rank percentile over the sorted samples.
+    static double percentile(final long[] sorted, final double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        final int rank = (int) Math.ceil(quantile * sorted.length);
+        return sorted[Math.max(0, rank - 1)] / 1e6;
+    }
+
+}
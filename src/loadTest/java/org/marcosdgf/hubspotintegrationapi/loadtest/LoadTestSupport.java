@@ -0,0 +1,113 @@
+package org.marcosdgf.hubspotintegrationapi.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Boots the real application against the shared HubSpot stub and logs the driver in; run with ./gradlew loadTest.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+abstract class LoadTestSupport {
+
+    static final String CLIENT_SECRET = "loadtest-client-secret";
+    private static final String USER = "loadtest";
+    private static final String PASSWORD = "loadtest";
+
+    // One stub for the whole run: cached application contexts keep pointing at it between test classes.
+    static final HubSpotStubServer STUB = startStub();
+
+    final int concurrency = Integer.getInteger("loadtest.concurrency", 16);
+    final int requests = Integer.getInteger("loadtest.requests", 1000);
+    final int warmupRequests = Integer.getInteger("loadtest.warmup-requests", 100);
+    private final Path reportDir = Path.of(System.getProperty("loadtest.report-dir", "build/reports/loadtest"));
+
+    final ObjectMapper objectMapper = new ObjectMapper();
+    final HttpClient httpClient = HttpClient.newBuilder()
+            .cookieHandler(new CookieManager())
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    final LoadDriver driver = new LoadDriver(httpClient);
+
+    @LocalServerPort
+    int port;
+
+    @DynamicPropertySource
+    static void hubSpotStub(final DynamicPropertyRegistry registry) {
+        final HubSpotStubServer.Settings settings = STUB.settings();
+        registry.add("hubspot.api.baseUri", STUB::baseUri);
+        registry.add("hubspot.oauth.tokenUri", () -> STUB.baseUri() + "/oauth/v1/token");
+        registry.add("hubspot.client.id", () -> "loadtest-client");
+        registry.add("hubspot.client.secret", () -> CLIENT_SECRET);
+        registry.add("spring.security.user.name", () -> USER);
+        registry.add("spring.security.user.password", () -> PASSWORD);
+        // Outbound pacing matches the stub's limit, so 429s come from injected throttling rather than our own burst.
+        registry.add("hubspot.scheduler.requests-per-second",
+                () -> settings.rateLimitMax() * 1000.0 / settings.rateLimitInterval().toMillis());
+        registry.add("hubspot.scheduler.burst", () -> Math.max(1, settings.rateLimitMax() / 10));
+        registry.add("hubspot.import.state-dir", () -> "build/loadtest/imports");
+        registry.add("hubspot.export.state-dir", () -> "build/loadtest/exports");
+        registry.add("logging.level.org.marcosdgf.hubspotintegrationapi", () -> "WARN");
+    }
+
+    @BeforeAll
+    void authenticate() throws IOException, InterruptedException {
+        final HttpResponse<Void> login = httpClient.send(HttpRequest.newBuilder(uri("/login"))
+                        .header("Content-Type", "application/x-www-form-urlencoded")
+                        .POST(HttpRequest.BodyPublishers.ofString("username=" + USER + "&password=" + PASSWORD))
+                        .build(),
+                HttpResponse.BodyHandlers.discarding());
+        assertThat(login.headers().firstValue("Location")).hasValueSatisfying(location -> assertThat(location).doesNotContain("error"));
+
+        final HttpResponse<String> callback = httpClient.send(HttpRequest.newBuilder(uri("/oauth/callback?code=loadtest")).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertThat(callback.statusCode()).isEqualTo(200);
+    }
+
+    HttpRequest createContactRequest(final int i) {
+        final String body = """
+                {"email":"carga%d@example.com","firstname":"Carga","lastname":"Teste %d","phone":"11999990000","website":"www.example.com"}"""
+                .formatted(i, i);
+        return HttpRequest.newBuilder(uri("/contacts"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    void publish(final String name, final Object report) throws IOException {
+        Files.createDirectories(reportDir);
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(reportDir.resolve(name + ".json").toFile(), report);
+    }
+
+    URI uri(final String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static HubSpotStubServer startStub() {
+        try {
+            final HubSpotStubServer stub = HubSpotStubServer.start(HubSpotStubServer.Settings.fromSystemProperties());
+            Runtime.getRuntime().addShutdownHook(new Thread(stub::close, "hubspot-stub-shutdown"));
+            return stub;
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
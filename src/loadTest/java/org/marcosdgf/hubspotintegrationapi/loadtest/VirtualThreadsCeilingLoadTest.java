@@ -0,0 +1,13 @@
+package org.marcosdgf.hubspotintegrationapi.loadtest;
+
+import org.springframework.test.context.TestPropertySource;
+
+@TestPropertySource(properties = "spring.threads.virtual.enabled=true")
+class VirtualThreadsCeilingLoadTest extends ConcurrencyCeilingLoadTest {
+
+    @Override
+    String mode() {
+        return "virtual";
+    }
+
+}
@@ -0,0 +1,284 @@
+package org.marcosdgf.hubspotintegrationapi.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.marcosdgf.hubspotintegrationapi.service.webhook.recording.RecordedWebhook;
+import org.marcosdgf.hubspotintegrationapi.service.webhook.recording.WebhookRecordingFile;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+// Replays a webhook recording against a running instance, re-signed with a test client secret, keeping the
+// recorded inter-arrival gaps divided by each speed factor. Open loop: a slow instance shows up as growing ack lag
+// (scheduled send time to acknowledgement) rather than as a slower send rate.
+// Deliveries are acknowledged before their events are dispatched, so ack lag never includes processing. Processing
+// lag is read from the instance's own hubspot.webhooks.portal.queue.wait timer, scraped from /actuator/prometheus
+// before each run and again once the portal queues have drained. hubspot.webhooks.portal.lag is not used: it starts
+// at the recorded occurredAt, so during a replay it mostly measures the age of the recording.
+// Run with ./gradlew replayWebhooks -Dreplay.file=... -Dreplay.secret=...
+public final class WebhookReplay {
+
+    private static final String QUEUE_WAIT_SUM = "hubspot_webhooks_portal_queue_wait_seconds_sum";
+    private static final String QUEUE_WAIT_COUNT = "hubspot_webhooks_portal_queue_wait_seconds_count";
+    private static final String QUEUE_WAIT_MAX = "hubspot_webhooks_portal_queue_wait_seconds_max";
+    private static final String QUEUE_DEPTH = "hubspot_webhooks_portal_queue";
+
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final URI target;
+    private final URI metrics;
+    private final String secret;
+    private final int maxInFlight;
+    private final Duration drainTimeout;
+
+    public WebhookReplay(final URI target, final URI metrics, final String secret, final int maxInFlight,
+                         final Duration drainTimeout) {
+        this.target = target;
+        this.metrics = metrics;
+        this.secret = secret;
+        this.maxInFlight = maxInFlight;
+        this.drainTimeout = drainTimeout;
+    }
+
+    public static void main(final String[] args) throws Exception {
+        final Path file = Path.of(required("replay.file"));
+        final URI target = URI.create(System.getProperty("replay.target", "http://localhost:8080/webhooks/contacts"));
+        final WebhookReplay replay = new WebhookReplay(
+                target,
+                URI.create(System.getProperty("replay.metrics", target.resolve("/actuator/prometheus").toString())),
+                required("replay.secret"),
+                Integer.getInteger("replay.max-in-flight", 256),
+                Duration.parse(System.getProperty("replay.drain-timeout", "PT60S")));
+        final double[] speeds = Arrays.stream(System.getProperty("replay.speeds", "1,10,100").split(","))
+                .map(String::trim)
+                .mapToDouble(Double::parseDouble)
+                .toArray();
+        final Path reportDir = Path.of(System.getProperty("replay.report-dir", "build/reports/replay"));
+
+        final List<RecordedWebhook> recording = WebhookRecordingFile.read(file);
+        if (recording.isEmpty()) {
+            throw new IllegalArgumentException("Recording has no deliveries: " + file);
+        }
+        System.out.printf(Locale.ROOT, "Replaying %d deliveries spanning %.1fs from %s%n", recording.size(),
+                (recording.get(recording.size() - 1).receivedAtMillis() - recording.get(0).receivedAtMillis()) / 1000.0, file);
+
+        final List<ReplayReport> reports = new ArrayList<>();
+        for (final double speed : speeds) {
+            final ReplayReport report = replay.run(recording, speed);
+            System.out.println(report.summary());
+            reports.add(report);
+        }
+        Files.createDirectories(reportDir);
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(reportDir.resolve("replay.json").toFile(), reports);
+    }
+
+    public ReplayReport run(final List<RecordedWebhook> recording, final double speed) throws InterruptedException {
+        final int count = recording.size();
+        final long[] ackNanos = new long[count];
+        final long[] ackLagNanos = new long[count];
+        final boolean[] answered = new boolean[count];
+        final LongAdder failures = new LongAdder();
+        final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        final Semaphore inFlight = new Semaphore(maxInFlight);
+
+        final Map<String, Double> metricsBefore = scrape();
+        final long firstReceivedAt = recording.get(0).receivedAtMillis();
+        final long start = System.nanoTime();
+        try (ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < count; i++) {
+                final RecordedWebhook webhook = recording.get(i);
+                final long scheduled = start + (long) ((webhook.receivedAtMillis() - firstReceivedAt) * 1_000_000L / speed);
+                final long wait = scheduled - System.nanoTime();
+                if (wait > 0) {
+                    TimeUnit.NANOSECONDS.sleep(wait);
+                }
+                inFlight.acquire();
+
+                final int index = i;
+                senders.execute(() -> {
+                    try {
+                        final long sent = System.nanoTime();
+                        final HttpResponse<Void> response = httpClient.send(signed(webhook.body()), HttpResponse.BodyHandlers.discarding());
+                        final long acked = System.nanoTime();
+                        ackNanos[index] = acked - sent;
+                        ackLagNanos[index] = acked - scheduled;
+                        answered[index] = true;
+                        statuses.computeIfAbsent(response.statusCode(), status -> new LongAdder()).increment();
+                    } catch (final IOException e) {
+                        failures.increment();
+                    } catch (final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+        final long elapsed = System.nanoTime() - start;
+        final Map<String, Double> metricsAfter = awaitDrained();
+
+        final long[] acks = answeredOnly(ackNanos, answered);
+        final long[] lags = answeredOnly(ackLagNanos, answered);
+        Arrays.sort(acks);
+        Arrays.sort(lags);
+        final Map<Integer, Long> statusCounts = new TreeMap<>();
+        statuses.forEach((status, statusCount) -> statusCounts.put(status, statusCount.sum()));
+        return new ReplayReport(speed, count, failures.sum(), elapsed / 1e9, count / (elapsed / 1e9),
+                LoadReport.percentile(acks, 0.50), LoadReport.percentile(acks, 0.99), max(acks),
+                LoadReport.percentile(lags, 0.50), LoadReport.percentile(lags, 0.99), max(lags),
+                queueWaitMeanMillis(metricsBefore, metricsAfter), queueWaitMaxMillis(metricsAfter),
+                statusCounts);
+    }
+
+    // Waits until every portal queue is empty, so the queue-wait timer covers all events of the run.
+    private Map<String, Double> awaitDrained() throws InterruptedException {
+        final long deadline = System.nanoTime() + drainTimeout.toNanos();
+        Map<String, Double> scraped = scrape();
+        while (scraped != null && scraped.getOrDefault(QUEUE_DEPTH, 0.0) > 0 && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(200);
+            scraped = scrape();
+        }
+        return scraped;
+    }
+
+    // Sums each metric of interest over all of its series; null when the endpoint cannot be read.
+    private Map<String, Double> scrape() throws InterruptedException {
+        final HttpResponse<String> response;
+        try {
+            response = httpClient.send(HttpRequest.newBuilder(metrics).GET().build(), HttpResponse.BodyHandlers.ofString());
+        } catch (final IOException e) {
+            System.err.println("Could not scrape " + metrics + ": " + e.getMessage());
+            return null;
+        }
+        if (response.statusCode() != 200) {
+            System.err.println("Could not scrape " + metrics + ": status " + response.statusCode());
+            return null;
+        }
+        final Map<String, Double> totals = new HashMap<>();
+        for (final String line : response.body().split("\n")) {
+            if (line.startsWith("#")) {
+                continue;
+            }
+            final int nameEnd = line.indexOf('{') >= 0 ? line.indexOf('{') : line.indexOf(' ');
+            if (nameEnd <= 0) {
+                continue;
+            }
+            final String name = line.substring(0, nameEnd);
+            if (name.equals(QUEUE_WAIT_SUM) || name.equals(QUEUE_WAIT_COUNT) || name.equals(QUEUE_DEPTH)) {
+                totals.merge(name, value(line), Double::sum);
+            } else if (name.equals(QUEUE_WAIT_MAX)) {
+                totals.merge(name, value(line), Math::max);
+            }
+        }
+        return totals;
+    }
+
+    private static double value(final String line) {
+        return Double.parseDouble(line.substring(line.lastIndexOf(' ') + 1));
+    }
+
+    private static Double queueWaitMeanMillis(final Map<String, Double> before, final Map<String, Double> after) {
+        if (before == null || after == null) {
+            return null;
+        }
+        final double count = after.getOrDefault(QUEUE_WAIT_COUNT, 0.0) - before.getOrDefault(QUEUE_WAIT_COUNT, 0.0);
+        final double sum = after.getOrDefault(QUEUE_WAIT_SUM, 0.0) - before.getOrDefault(QUEUE_WAIT_SUM, 0.0);
+        return count > 0 ? sum / count * 1000 : null;
+    }
+
+    // Micrometer's max is decaying rather than per run, so it is only an upper bound for this run.
+    private static Double queueWaitMaxMillis(final Map<String, Double> after) {
+        return after == null ? null : after.getOrDefault(QUEUE_WAIT_MAX, 0.0) * 1000;
+    }
+
+    // HubSpot v3 signature over method, full URI, body and timestamp, made with the test app's secret.
+    private HttpRequest signed(final String body) {
+        final long timestamp = System.currentTimeMillis();
+        final String signature;
+        try {
+            final Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            signature = Base64.getEncoder().encodeToString(
+                    mac.doFinal(("POST" + target + body + timestamp).getBytes(StandardCharsets.UTF_8)));
+        } catch (final GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+        return HttpRequest.newBuilder(target)
+                .header("Content-Type", "application/json")
+                .header("X-HubSpot-Request-Timestamp", String.valueOf(timestamp))
+                .header("X-HubSpot-Signature-v3", signature)
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static long[] answeredOnly(final long[] samples, final boolean[] answered) {
+        return IntStream.range(0, samples.length)
+                .filter(i -> answered[i])
+                .mapToLong(i -> samples[i])
+                .toArray();
+    }
+
+    private static double max(final long[] sorted) {
+        return sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6;
+    }
+
+    private static String required(final String property) {
+        final String value = System.getProperty(property);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Missing -D" + property);
+        }
+        return value;
+    }
+
+    public record ReplayReport(double speed,
+                               int deliveries,
+                               long failures,
+                               double durationSeconds,
+                               double deliveriesPerSecond,
+                               double ackP50Millis,
+                               double ackP99Millis,
+                               double ackMaxMillis,
+                               double ackLagP50Millis,
+                               double ackLagP99Millis,
+                               double ackLagMaxMillis,
+                               Double processingLagMeanMillis,
+                               Double processingLagMaxMillis,
+                               Map<Integer, Long> statusCounts) {
+
+        public String summary() {
+            return String.format(Locale.ROOT,
+                    "%.0fx: %d deliveries (%d failed) in %.1fs -> %.1f/s | ack p50 %.1fms p99 %.1fms max %.1fms | ack lag p50 %.1fms p99 %.1fms max %.1fms | processing lag mean %s max %s | statuses %s",
+                    speed, deliveries, failures, durationSeconds, deliveriesPerSecond,
+                    ackP50Millis, ackP99Millis, ackMaxMillis, ackLagP50Millis, ackLagP99Millis, ackLagMaxMillis,
+                    millis(processingLagMeanMillis), millis(processingLagMaxMillis), statusCounts);
+        }
+
+        private static String millis(final Double value) {
+            return value == null ? "n/a" : String.format(Locale.ROOT, "%.1fms", value);
+        }
+    }
+
+}
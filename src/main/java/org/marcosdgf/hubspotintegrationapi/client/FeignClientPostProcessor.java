@@ -0,0 +1,36 @@
+package org.marcosdgf.hubspotintegrationapi.client;
+
+import feign.Client;
+import org.marcosdgf.hubspotintegrationapi.client.compression.CompressingClient;
+import org.marcosdgf.hubspotintegrationapi.client.compression.PayloadCompressor;
+import org.marcosdgf.hubspotintegrationapi.client.deadline.DeadlineAwareClient;
+import org.marcosdgf.hubspotintegrationapi.client.hedging.HedgingClient;
+import org.marcosdgf.hubspotintegrationapi.client.hedging.RequestHedger;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+// Decorates whichever feign.Client the auto-configuration picks (hc5 here) instead of redefining it.
+// The deadline wrapper stays outermost: it reads the caller's thread-local deadline before hedged attempts
+// move to other threads. Compression sits outside hedging so a hedged body is gzipped once.
+@Component
+public class FeignClientPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<RequestHedger> requestHedger;
+    private final ObjectProvider<PayloadCompressor> payloadCompressor;
+
+    public FeignClientPostProcessor(final ObjectProvider<RequestHedger> requestHedger,
+                                    final ObjectProvider<PayloadCompressor> payloadCompressor) {
+        this.requestHedger = requestHedger;
+        this.payloadCompressor = payloadCompressor;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+        if (bean instanceof Client client && !(bean instanceof DeadlineAwareClient)) {
+            return new DeadlineAwareClient(new CompressingClient(new HedgingClient(client, requestHedger), payloadCompressor));
+        }
+        return bean;
+    }
+
+}
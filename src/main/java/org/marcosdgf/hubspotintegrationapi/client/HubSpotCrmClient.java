@@ -1,11 +1,18 @@
 package org.marcosdgf.hubspotintegrationapi.client;
 
+import feign.Response;
+import org.marcosdgf.hubspotintegrationapi.dto.response.HubSpotObjectResponse;
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
-
-import java.util.Map;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 
 @FeignClient(
         name = "hubspot-crm",
@@ -17,6 +24,59 @@ public interface HubSpotCrmClient {
             value = "${hubspot.api.contacts.path}",
             consumes = MediaType.APPLICATION_JSON_VALUE,
             produces = MediaType.APPLICATION_JSON_VALUE)
-    String createContact(@RequestBody final Map<String, Object> contactData);
+    String createContact(@RequestBody final byte[] contactPayload);
+
+    @PostMapping(
+            value = "${hubspot.api.contacts.path}",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    Response createContactRaw(@RequestBody final byte[] contactPayload);
+
+    @PostMapping(
+            value = "${hubspot.api.contacts.path}/batch/create",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    ResponseEntity<String> batchCreateContacts(@RequestBody final byte[] batchPayload);
+
+    @PostMapping(
+            value = "${hubspot.api.contacts.path}/batch/create",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    Response batchCreateContactsRaw(@RequestBody final byte[] batchPayload);
+
+    @GetMapping(
+            value = "${hubspot.api.properties.contacts.path}",
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    Response getContactProperties(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) final String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.IF_MODIFIED_SINCE, required = false) final String ifModifiedSince);
+
+    @GetMapping(
+            value = "${hubspot.api.contacts.path}",
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    Response listContacts(
+            @RequestParam("limit") final int limit,
+            @RequestParam(value = "after", required = false) final String after,
+            @RequestParam(value = "properties", required = false) final String properties);
+
+    @GetMapping(
+            value = "${hubspot.api.contacts.path}/{contactId}",
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    HubSpotObjectResponse getContact(
+            @PathVariable("contactId") final String contactId,
+            @RequestParam(value = "properties", required = false) final String properties);
+
+    @PatchMapping(
+            value = "${hubspot.api.contacts.path}/{contactId}",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    String updateContact(@PathVariable("contactId") final String contactId, @RequestBody final byte[] contactPayload);
+
+    @PostMapping(
+            value = "${hubspot.api.associations.path}/contacts/{toObjectType}/batch/create",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    String batchCreateContactAssociations(@PathVariable("toObjectType") final String toObjectType,
+                                          @RequestBody final byte[] associationPayload);
 
 }
@@ -2,16 +2,27 @@ package org.marcosdgf.hubspotintegrationapi.client;
 
 import feign.RequestInterceptor;
 import org.marcosdgf.hubspotintegrationapi.client.interceptor.HubSpotAuthRequestInterceptor;
+import org.marcosdgf.hubspotintegrationapi.client.interceptor.HubSpotRateSchedulingInterceptor;
+import org.marcosdgf.hubspotintegrationapi.client.scheduling.WeightedFairRateScheduler;
 import org.marcosdgf.hubspotintegrationapi.service.TokenStorageService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
 public class HubSpotFeignClientConfiguration {
 
+    // OpenFeign sorts interceptor instances by their own Ordered/@Order, not by @Order on these methods; both
+    // interceptor classes therefore implement Ordered themselves.
     @Bean
     public RequestInterceptor hubSpotAuthRequestInterceptor(final TokenStorageService tokenStorageService) {
         return new HubSpotAuthRequestInterceptor(tokenStorageService);
     }
 
+    @Bean
+    public RequestInterceptor hubSpotRateSchedulingInterceptor(final WeightedFairRateScheduler scheduler,
+                                                               @Value("${hubspot.scheduler.enabled:true}") final boolean enabled) {
+        return new HubSpotRateSchedulingInterceptor(scheduler, enabled);
+    }
+
 }
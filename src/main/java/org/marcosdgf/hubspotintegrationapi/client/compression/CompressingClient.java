@@ -0,0 +1,35 @@
+package org.marcosdgf.hubspotintegrationapi.client.compression;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.io.IOException;
+
+public class CompressingClient implements Client {
+
+    private final Client delegate;
+    private final ObjectProvider<PayloadCompressor> compressor;
+
+    public CompressingClient(final Client delegate, final ObjectProvider<PayloadCompressor> compressor) {
+        this.delegate = delegate;
+        this.compressor = compressor;
+    }
+
+    @Override
+    public Response execute(final Request request, final Request.Options options) throws IOException {
+        final PayloadCompressor payloadCompressor = compressor.getIfAvailable();
+        if (payloadCompressor == null) {
+            return delegate.execute(request, options);
+        }
+        final Response response = delegate.execute(payloadCompressor.prepare(request), options);
+        try {
+            return payloadCompressor.decode(response);
+        } catch (final IOException | RuntimeException e) {
+            response.close();
+            throw e;
+        }
+    }
+
+}
@@ -0,0 +1,203 @@
+package org.marcosdgf.hubspotintegrationapi.client.compression;
+
+import feign.Request;
+import feign.Response;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.marcosdgf.hubspotintegrationapi.web.compression.CountingInputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+// Gzip on the HubSpot leg. Every call asks for gzip and compressed responses are inflated before Feign decodes
+// them (hc5 may already have done so, in which case Content-Encoding is gone and the response passes through).
+// Request bodies from min-size up are sent gzipped when enabled; in practice that means batch/create payloads.
+@Component
+public class PayloadCompressor {
+
+    private static final String GZIP = "gzip";
+
+    private final boolean responsesEnabled;
+    private final boolean requestsEnabled;
+    private final int requestMinSize;
+    private final DistributionSummary requestRatio;
+    private final DistributionSummary responseRatio;
+
+    public PayloadCompressor(final MeterRegistry meterRegistry,
+                             @Value("${hubspot.api.compression.response.enabled:true}") final boolean responsesEnabled,
+                             @Value("${hubspot.api.compression.request.enabled:false}") final boolean requestsEnabled,
+                             @Value("${hubspot.api.compression.request.min-size:8192}") final int requestMinSize) {
+        this.responsesEnabled = responsesEnabled;
+        this.requestsEnabled = requestsEnabled;
+        this.requestMinSize = requestMinSize;
+        this.requestRatio = ratio(meterRegistry, "hubspot-request");
+        this.responseRatio = ratio(meterRegistry, "hubspot-response");
+    }
+
+    public Request prepare(final Request request) {
+        final boolean askForGzip = responsesEnabled && !hasHeader(request.headers(), HttpHeaders.ACCEPT_ENCODING);
+        final byte[] body = request.body();
+        final boolean compressBody = requestsEnabled && body != null && body.length >= requestMinSize
+                && !hasHeader(request.headers(), HttpHeaders.CONTENT_ENCODING);
+        if (!askForGzip && !compressBody) {
+            return request;
+        }
+
+        final Map<String, Collection<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        headers.putAll(request.headers());
+        if (askForGzip) {
+            headers.put(HttpHeaders.ACCEPT_ENCODING, List.of(GZIP));
+        }
+        byte[] sentBody = body;
+        if (compressBody) {
+            sentBody = gzip(body);
+            requestRatio.record((double) body.length / sentBody.length);
+            headers.put(HttpHeaders.CONTENT_ENCODING, List.of(GZIP));
+            headers.put(HttpHeaders.CONTENT_LENGTH, List.of(String.valueOf(sentBody.length)));
+        }
+        return Request.create(request.httpMethod(), request.url(), headers, sentBody,
+                compressBody ? null : request.charset(), request.requestTemplate());
+    }
+
+    public Response decode(final Response response) throws IOException {
+        if (!responsesEnabled || response.body() == null || !isGzip(response.headers())) {
+            return response;
+        }
+        final Map<String, Collection<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        headers.putAll(response.headers());
+        headers.remove(HttpHeaders.CONTENT_ENCODING);
+        headers.remove(HttpHeaders.CONTENT_LENGTH);
+
+        final Integer length = response.body().length();
+        final InputStream raw = response.body().asInputStream();
+        final InputStream inflated;
+        if (length != null && length == 0) {
+            inflated = raw;
+        } else {
+            final CountingInputStream compressed = new CountingInputStream(raw);
+            inflated = new RatioRecordingInputStream(new GZIPInputStream(compressed, 8192), compressed, responseRatio);
+        }
+        return response.toBuilder()
+                .headers(headers)
+                .body(inflated, null)
+                .build();
+    }
+
+    private static DistributionSummary ratio(final MeterRegistry meterRegistry, final String leg) {
+        return DistributionSummary.builder("hubspot.compression.ratio")
+                .description("Uncompressed size divided by compressed size of gzipped payloads")
+                .tag("leg", leg)
+                .register(meterRegistry);
+    }
+
+    static byte[] gzip(final byte[] body) {
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream(Math.max(64, body.length / 4));
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer, 8192)) {
+            out.write(body);
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Falha ao compactar corpo da requisição", e);
+        }
+        return buffer.toByteArray();
+    }
+
+    private static boolean isGzip(final Map<String, Collection<String>> headers) {
+        for (final Map.Entry<String, Collection<String>> header : headers.entrySet()) {
+            if (HttpHeaders.CONTENT_ENCODING.equalsIgnoreCase(header.getKey())) {
+                return header.getValue().stream().anyMatch(value -> value.trim().equalsIgnoreCase(GZIP)
+                        || value.trim().equalsIgnoreCase("x-gzip"));
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasHeader(final Map<String, Collection<String>> headers, final String name) {
+        for (final String header : headers.keySet()) {
+            if (name.equalsIgnoreCase(header)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // The body is inflated while Feign decodes or relays it, so the ratio is recorded once it has been read to the
+    // end or closed.
+    private static final class RatioRecordingInputStream extends FilterInputStream {
+
+        private final CountingInputStream compressed;
+        private final DistributionSummary ratio;
+        private long inflated;
+        private boolean recorded;
+
+        private RatioRecordingInputStream(final InputStream in,
+                                          final CountingInputStream compressed,
+                                          final DistributionSummary ratio) {
+            super(in);
+            this.compressed = compressed;
+            this.ratio = ratio;
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int b = super.read();
+            if (b == -1) {
+                record();
+            } else {
+                inflated++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+            final int read = super.read(buffer, offset, length);
+            if (read == -1) {
+                record();
+            } else {
+                inflated += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(final long n) throws IOException {
+            final long skipped = super.skip(n);
+            inflated += skipped;
+            return skipped;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                record();
+            }
+        }
+
+        private void record() {
+            if (!recorded && compressed.count() > 0) {
+                recorded = true;
+                ratio.record((double) inflated / compressed.count());
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,24 @@
+package org.marcosdgf.hubspotintegrationapi.client.deadline;
+
+import java.time.Duration;
+
+// A point on the monotonic clock after which the caller no longer wants the result.
+public record Deadline(long expiresAtNanos) {
+
+    public static Deadline after(final Duration timeout) {
+        return new Deadline(System.nanoTime() + timeout.toNanos());
+    }
+
+    public long remainingNanos() {
+        return expiresAtNanos - System.nanoTime();
+    }
+
+    public long remainingMillis() {
+        return Math.max(0, remainingNanos() / 1_000_000);
+    }
+
+    public boolean isExpired() {
+        return remainingNanos() <= 0;
+    }
+
+}
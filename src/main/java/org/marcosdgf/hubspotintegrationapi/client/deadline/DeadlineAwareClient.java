@@ -0,0 +1,45 @@
+package org.marcosdgf.hubspotintegrationapi.client.deadline;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+// Shrinks Feign's connect and read timeouts to the time left before the inbound request's deadline, per attempt.
+public class DeadlineAwareClient implements Client {
+
+    private final Client delegate;
+
+    public DeadlineAwareClient(final Client delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Response execute(final Request request, final Request.Options options) throws IOException {
+        final Optional<Deadline> deadline = DeadlineContext.current();
+        if (deadline.isEmpty()) {
+            return delegate.execute(request, options);
+        }
+
+        final long remainingMillis = deadline.get().remainingMillis();
+        if (remainingMillis <= 0) {
+            throw new DeadlineExceededException("Prazo da requisição esgotado antes de chamar " + request.url());
+        }
+        final Request.Options bounded = new Request.Options(
+                Math.min(options.connectTimeoutMillis(), remainingMillis), TimeUnit.MILLISECONDS,
+                Math.min(options.readTimeoutMillis(), remainingMillis), TimeUnit.MILLISECONDS,
+                options.isFollowRedirects());
+        try {
+            return delegate.execute(request, bounded);
+        } catch (final IOException e) {
+            if (deadline.get().isExpired()) {
+                throw new DeadlineExceededException("Prazo da requisição esgotado aguardando " + request.url(), e);
+            }
+            throw e;
+        }
+    }
+
+}
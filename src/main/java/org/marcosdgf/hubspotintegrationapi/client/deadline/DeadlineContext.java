@@ -0,0 +1,32 @@
+package org.marcosdgf.hubspotintegrationapi.client.deadline;
+
+import java.util.Optional;
+
+// The deadline of the inbound request being served by the current thread, if it has one.
+public final class DeadlineContext {
+
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+    private DeadlineContext() {
+    }
+
+    public static Optional<Deadline> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    public static void set(final Deadline deadline) {
+        CURRENT.set(deadline);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    public static void checkNotExpired(final String operation) {
+        final Deadline deadline = CURRENT.get();
+        if (deadline != null && deadline.isExpired()) {
+            throw new DeadlineExceededException("Prazo da requisição esgotado antes de " + operation);
+        }
+    }
+
+}
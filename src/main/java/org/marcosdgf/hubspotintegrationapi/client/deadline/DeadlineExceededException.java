@@ -0,0 +1,13 @@
+package org.marcosdgf.hubspotintegrationapi.client.deadline;
+
+public class DeadlineExceededException extends RuntimeException {
+
+    public DeadlineExceededException(final String message) {
+        super(message);
+    }
+
+    public DeadlineExceededException(final String message, final Throwable cause) {
+        super(message, cause);
+    }
+
+}
@@ -0,0 +1,88 @@
+package org.marcosdgf.hubspotintegrationapi.client.fanout;
+
+import org.marcosdgf.hubspotintegrationapi.client.deadline.Deadline;
+import org.marcosdgf.hubspotintegrationapi.client.deadline.DeadlineContext;
+import org.marcosdgf.hubspotintegrationapi.client.deadline.DeadlineExceededException;
+import org.marcosdgf.hubspotintegrationapi.client.scheduling.Lane;
+import org.marcosdgf.hubspotintegrationapi.client.scheduling.LaneContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+// Runs sibling HubSpot calls on virtual threads as one unit: the first failure or the caller's deadline cancels
+// the others, and no subtask outlives the call. StructuredTaskScope is still a preview API on Java 21.
+public final class StructuredFanOut {
+
+    private static final ThreadFactory THREADS = Thread.ofVirtual().name("hubspot-fanout-", 0).factory();
+
+    private StructuredFanOut() {
+    }
+
+    public static <T> List<T> invokeAll(final String operation, final List<? extends Callable<T>> tasks) throws InterruptedException {
+        // Subtasks inherit the caller's lane and deadline, which live in thread locals.
+        final Lane lane = LaneContext.current();
+        final Deadline deadline = DeadlineContext.current().orElse(null);
+
+        final List<Future<T>> futures = new ArrayList<>(tasks.size());
+        try (ExecutorService executor = Executors.newThreadPerTaskExecutor(THREADS)) {
+            final CompletionService<T> completion = new ExecutorCompletionService<>(executor);
+            try {
+                for (final Callable<T> task : tasks) {
+                    futures.add(completion.submit(() -> callInContext(lane, deadline, task)));
+                }
+                for (int done = 0; done < tasks.size(); done++) {
+                    final Future<T> finished = deadline == null
+                            ? completion.take()
+                            : completion.poll(deadline.remainingNanos(), TimeUnit.NANOSECONDS);
+                    if (finished == null) {
+                        throw new DeadlineExceededException("Prazo da requisição esgotado durante " + operation);
+                    }
+                    finished.get();
+                }
+            } catch (final ExecutionException e) {
+                throw rethrow(operation, e.getCause());
+            } finally {
+                for (final Future<T> future : futures) {
+                    future.cancel(true);
+                }
+            }
+        }
+
+        final List<T> results = new ArrayList<>(futures.size());
+        for (final Future<T> future : futures) {
+            results.add(future.resultNow());
+        }
+        return results;
+    }
+
+    private static <T> T callInContext(final Lane lane, final Deadline deadline, final Callable<T> task) throws Exception {
+        if (deadline != null) {
+            DeadlineContext.set(deadline);
+        }
+        try {
+            return LaneContext.callAs(lane, task::call);
+        } finally {
+            DeadlineContext.clear();
+        }
+    }
+
+    private static RuntimeException rethrow(final String operation, final Throwable cause) {
+        if (cause instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException("Falha em " + operation + ": " + cause.getMessage(), cause);
+    }
+
+}
@@ -0,0 +1,36 @@
+package org.marcosdgf.hubspotintegrationapi.client.hedging;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Every eligible request earns `ratio` of a hedge; a hedge spends one whole credit. Credits are capped so
+// a quiet period cannot be followed by a burst of hedges.
+final class HedgeBudget {
+
+    private static final long SCALE = 1_000;
+
+    private final long creditPerRequest;
+    private final long maxCredits;
+    private final AtomicLong credits = new AtomicLong();
+
+    HedgeBudget(final double ratio, final int maxBurst) {
+        this.creditPerRequest = Math.round(ratio * SCALE);
+        this.maxCredits = Math.max(1, maxBurst) * SCALE;
+    }
+
+    void onRequest() {
+        credits.getAndUpdate(current -> Math.min(maxCredits, current + creditPerRequest));
+    }
+
+    boolean tryHedge() {
+        while (true) {
+            final long current = credits.get();
+            if (current < SCALE) {
+                return false;
+            }
+            if (credits.compareAndSet(current, current - SCALE)) {
+                return true;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,29 @@
+package org.marcosdgf.hubspotintegrationapi.client.hedging;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.io.IOException;
+
+public class HedgingClient implements Client {
+
+    private final Client delegate;
+    private final ObjectProvider<RequestHedger> hedger;
+
+    public HedgingClient(final Client delegate, final ObjectProvider<RequestHedger> hedger) {
+        this.delegate = delegate;
+        this.hedger = hedger;
+    }
+
+    @Override
+    public Response execute(final Request request, final Request.Options options) throws IOException {
+        final RequestHedger requestHedger = hedger.getIfAvailable();
+        if (requestHedger == null || !requestHedger.appliesTo(request)) {
+            return delegate.execute(request, options);
+        }
+        return requestHedger.execute(delegate, request, options);
+    }
+
+}
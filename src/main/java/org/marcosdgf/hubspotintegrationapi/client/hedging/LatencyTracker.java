@@ -0,0 +1,41 @@
+package org.marcosdgf.hubspotintegrationapi.client.hedging;
+
+import java.util.Arrays;
+
+// Keeps the last samples in a ring buffer and recomputes the percentile every RECOMPUTE_EVERY samples,
+// so reading it on every request is a volatile load.
+final class LatencyTracker {
+
+    private static final int RECOMPUTE_EVERY = 32;
+
+    private final long[] samples;
+    private final double percentile;
+    private final int minSamples;
+    private int next;
+    private long recorded;
+    private volatile long percentileNanos = -1;
+
+    LatencyTracker(final int windowSize, final double percentile, final int minSamples) {
+        this.samples = new long[windowSize];
+        this.percentile = percentile;
+        this.minSamples = Math.min(minSamples, windowSize);
+    }
+
+    synchronized void record(final long nanos) {
+        samples[next] = nanos;
+        next = (next + 1) % samples.length;
+        recorded++;
+        if (recorded >= minSamples && recorded % RECOMPUTE_EVERY == 0) {
+            final int size = (int) Math.min(recorded, samples.length);
+            final long[] sorted = Arrays.copyOf(samples, size);
+            Arrays.sort(sorted);
+            percentileNanos = sorted[Math.min(size - 1, (int) Math.ceil(percentile * size) - 1)];
+        }
+    }
+
+    // -1 until enough samples have been seen.
+    long percentileNanos() {
+        return percentileNanos;
+    }
+
+}
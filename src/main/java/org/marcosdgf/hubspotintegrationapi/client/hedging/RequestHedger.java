@@ -0,0 +1,215 @@
+package org.marcosdgf.hubspotintegrationapi.client.hedging;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.marcosdgf.hubspotintegrationapi.client.HubSpotCrmClient;
+import org.marcosdgf.hubspotintegrationapi.client.scheduling.LaneContext;
+import org.marcosdgf.hubspotintegrationapi.client.scheduling.WeightedFairRateScheduler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Hedges idempotent CRM reads: when the first attempt is slower than the tracked latency percentile for that
+// method, a second identical attempt is sent and whichever succeeds first is returned. Hedges are limited by
+// a budget proportional to traffic and only sent when the rate scheduler has budget to spare right away.
+@Slf4j
+@Component
+public class RequestHedger {
+
+    private final boolean enabled;
+    private final double percentile;
+    private final int windowSize;
+    private final int minSamples;
+    private final long minDelayNanos;
+    private final HedgeBudget budget;
+    private final WeightedFairRateScheduler scheduler;
+    private final Map<String, LatencyTracker> trackers = new ConcurrentHashMap<>();
+    // Attempts mostly wait on HubSpot, so each gets a cheap virtual thread.
+    private final ExecutorService attempts =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("hubspot-hedge-", 0).factory());
+
+    private final Counter eligible;
+    private final Counter hedged;
+    private final Counter budgetExhausted;
+    private final Counter primaryWins;
+    private final Counter hedgeWins;
+
+    public RequestHedger(final WeightedFairRateScheduler scheduler,
+                         final MeterRegistry meterRegistry,
+                         @Value("${hubspot.hedging.enabled:false}") final boolean enabled,
+                         @Value("${hubspot.hedging.percentile:0.95}") final double percentile,
+                         @Value("${hubspot.hedging.window-size:512}") final int windowSize,
+                         @Value("${hubspot.hedging.min-samples:100}") final int minSamples,
+                         @Value("${hubspot.hedging.min-delay:PT0.02S}") final Duration minDelay,
+                         @Value("${hubspot.hedging.max-hedge-ratio:0.05}") final double maxHedgeRatio,
+                         @Value("${hubspot.hedging.max-burst:5}") final int maxBurst) {
+        this.scheduler = scheduler;
+        this.enabled = enabled;
+        this.percentile = percentile;
+        this.windowSize = windowSize;
+        this.minSamples = minSamples;
+        this.minDelayNanos = minDelay.toNanos();
+        this.budget = new HedgeBudget(maxHedgeRatio, maxBurst);
+        this.eligible = Counter.builder("hubspot.hedging.requests")
+                .description("Reads eligible for hedging").register(meterRegistry);
+        this.hedged = Counter.builder("hubspot.hedging.hedges")
+                .description("Hedge attempts sent").register(meterRegistry);
+        this.budgetExhausted = Counter.builder("hubspot.hedging.budget-exhausted")
+                .description("Hedges skipped for lack of hedge or rate budget").register(meterRegistry);
+        this.primaryWins = Counter.builder("hubspot.hedging.wins")
+                .tag("winner", "primary").register(meterRegistry);
+        this.hedgeWins = Counter.builder("hubspot.hedging.wins")
+                .tag("winner", "hedge").register(meterRegistry);
+    }
+
+    boolean appliesTo(final Request request) {
+        return enabled
+                && request.httpMethod() == Request.HttpMethod.GET
+                && request.requestTemplate() != null
+                && request.requestTemplate().feignTarget() != null
+                && request.requestTemplate().feignTarget().type() == HubSpotCrmClient.class;
+    }
+
+    Response execute(final Client delegate, final Request request, final Request.Options options) throws IOException {
+        final LatencyTracker tracker = trackers.computeIfAbsent(key(request),
+                ignored -> new LatencyTracker(windowSize, percentile, minSamples));
+        eligible.increment();
+        budget.onRequest();
+
+        final long hedgeAfterNanos = tracker.percentileNanos();
+        if (hedgeAfterNanos < 0) {
+            return timed(delegate, request, options, tracker);
+        }
+
+        final CompletableFuture<Response> primary = attempt(delegate, request, options, tracker);
+        try {
+            return primary.get(Math.max(minDelayNanos, hedgeAfterNanos), TimeUnit.NANOSECONDS);
+        } catch (final TimeoutException slow) {
+            if (!budget.tryHedge() || !tryAcquireRateBudget()) {
+                budgetExhausted.increment();
+                return await(primary);
+            }
+            hedged.increment();
+            log.debug("Hedging {} after {} ms.", request.url(), TimeUnit.NANOSECONDS.toMillis(hedgeAfterNanos));
+            return firstSuccessful(primary, attempt(delegate, request, options, tracker));
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            closeWhenDone(primary);
+            throw new InterruptedIOException("Interrupted while waiting for " + request.url());
+        } catch (final ExecutionException e) {
+            throw unwrap(e.getCause());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        attempts.shutdownNow();
+    }
+
+    private boolean tryAcquireRateBudget() {
+        try {
+            return scheduler.tryAcquire(LaneContext.current(), 0);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private CompletableFuture<Response> attempt(final Client delegate, final Request request,
+                                                final Request.Options options, final LatencyTracker tracker) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return timed(delegate, request, options, tracker);
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, attempts);
+    }
+
+    private Response firstSuccessful(final CompletableFuture<Response> primary,
+                                     final CompletableFuture<Response> hedge) throws IOException {
+        final CompletableFuture<Response> winner = new CompletableFuture<>();
+        final AtomicInteger pending = new AtomicInteger(2);
+        primary.whenComplete((response, error) -> settle(winner, pending, response, error, primaryWins));
+        hedge.whenComplete((response, error) -> settle(winner, pending, response, error, hedgeWins));
+        return await(winner);
+    }
+
+    private static void settle(final CompletableFuture<Response> winner, final AtomicInteger pending,
+                               final Response response, final Throwable error, final Counter wins) {
+        final boolean last = pending.decrementAndGet() == 0;
+        if (error == null) {
+            if (winner.complete(response)) {
+                wins.increment();
+            } else {
+                response.close();
+            }
+        } else if (last) {
+            winner.completeExceptionally(error);
+        }
+    }
+
+    private static Response await(final CompletableFuture<Response> future) throws IOException {
+        try {
+            return future.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            closeWhenDone(future);
+            throw new InterruptedIOException("Interrupted while waiting for HubSpot");
+        } catch (final ExecutionException e) {
+            throw unwrap(e.getCause());
+        }
+    }
+
+    private static Response timed(final Client delegate, final Request request, final Request.Options options,
+                                  final LatencyTracker tracker) throws IOException {
+        final long started = System.nanoTime();
+        final Response response = delegate.execute(request, options);
+        tracker.record(System.nanoTime() - started);
+        return response;
+    }
+
+    private static void closeWhenDone(final CompletableFuture<Response> future) {
+        future.thenAccept(Response::close);
+    }
+
+    private static IOException unwrap(final Throwable error) {
+        final Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof UncheckedIOException unchecked) {
+            return unchecked.getCause();
+        }
+        if (cause instanceof IOException io) {
+            return io;
+        }
+        if (cause instanceof RuntimeException runtime) {
+            throw runtime;
+        }
+        return new IOException(cause);
+    }
+
+    private static String key(final Request request) {
+        return request.requestTemplate().methodMetadata() != null
+                ? request.requestTemplate().methodMetadata().configKey()
+                : request.httpMethod() + " " + request.requestTemplate().path();
+    }
+
+}
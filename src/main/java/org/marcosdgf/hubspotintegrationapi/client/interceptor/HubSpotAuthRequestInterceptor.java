@@ -5,14 +5,20 @@ import feign.RequestTemplate;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.marcosdgf.hubspotintegrationapi.service.TokenStorageService;
+import org.springframework.core.Ordered;
 import org.springframework.http.HttpHeaders;
 
 @Slf4j
 @RequiredArgsConstructor
-public class HubSpotAuthRequestInterceptor implements RequestInterceptor {
+public class HubSpotAuthRequestInterceptor implements RequestInterceptor, Ordered {
 
     private final TokenStorageService tokenStorageService;
 
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
     @Override
     public void apply(final RequestTemplate template) {
 
@@ -0,0 +1,53 @@
+package org.marcosdgf.hubspotintegrationapi.client.interceptor;
+
+import feign.RequestInterceptor;
+import feign.RequestTemplate;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.marcosdgf.hubspotintegrationapi.client.HubSpotCrmClient;
+import org.marcosdgf.hubspotintegrationapi.client.deadline.Deadline;
+import org.marcosdgf.hubspotintegrationapi.client.deadline.DeadlineContext;
+import org.marcosdgf.hubspotintegrationapi.client.deadline.DeadlineExceededException;
+import org.marcosdgf.hubspotintegrationapi.client.scheduling.Lane;
+import org.marcosdgf.hubspotintegrationapi.client.scheduling.LaneContext;
+import org.marcosdgf.hubspotintegrationapi.client.scheduling.WeightedFairRateScheduler;
+import org.springframework.core.Ordered;
+
+import java.util.Optional;
+
+// Blocks the calling thread until its lane is granted a share of the HubSpot request budget.
+// Feign applies interceptors on every attempt, so retries are paced as well. Runs after the auth interceptor so
+// calls that cannot authenticate never consume budget.
+@Slf4j
+@RequiredArgsConstructor
+public class HubSpotRateSchedulingInterceptor implements RequestInterceptor, Ordered {
+
+    private final WeightedFairRateScheduler scheduler;
+    private final boolean enabled;
+
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+
+    @Override
+    public void apply(final RequestTemplate template) {
+        // The OAuth token endpoints have their own limits.
+        if (!enabled || template.feignTarget() == null || template.feignTarget().type() != HubSpotCrmClient.class) {
+            return;
+        }
+        final Lane lane = LaneContext.current();
+        final Optional<Deadline> deadline = DeadlineContext.current();
+        try {
+            if (deadline.isEmpty()) {
+                scheduler.acquire(lane);
+            } else if (!scheduler.tryAcquire(lane, deadline.get().remainingNanos())) {
+                throw new DeadlineExceededException("Prazo da requisição esgotado aguardando cota do HubSpot (" + lane + ")");
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for HubSpot request budget (" + lane + ")", e);
+        }
+    }
+
+}
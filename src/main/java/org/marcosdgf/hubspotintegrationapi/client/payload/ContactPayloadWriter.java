@@ -0,0 +1,200 @@
+package org.marcosdgf.hubspotintegrationapi.client.payload;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.marcosdgf.hubspotintegrationapi.dto.request.ContactAssociation;
+import org.marcosdgf.hubspotintegrationapi.dto.request.ContactCreateRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+@Component
+public class ContactPayloadWriter {
+
+    private static final String PROPERTIES_FIELD = "properties";
+    private static final String INPUTS_FIELD = "inputs";
+    private static final String ASSOCIATIONS_FIELD = "associations";
+
+    private final JsonFactory jsonFactory;
+    private final BlockingQueue<PayloadGenerator> generators;
+
+    public ContactPayloadWriter(final ObjectMapper objectMapper,
+                                @Value("${hubspot.api.payload.pooled-generators:32}") final int pooledGenerators) {
+        this.jsonFactory = objectMapper.getFactory();
+        this.generators = new ArrayBlockingQueue<>(pooledGenerators);
+    }
+
+    public byte[] write(final ContactCreateRequest contact) {
+        return write(contact, true);
+    }
+
+    // Associations are only accepted by the create endpoints; updates send them separately.
+    public byte[] write(final ContactCreateRequest contact, final boolean withAssociations) {
+        final PayloadGenerator payloadGenerator = acquire();
+        try {
+            final JsonGenerator generator = payloadGenerator.reset();
+            writeContact(generator, contact, withAssociations);
+            final byte[] payload = payloadGenerator.toByteArray();
+            generators.offer(payloadGenerator);
+            return payload;
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Failed to serialize contact payload", e);
+        }
+    }
+
+    // Writes exactly the given properties, in iteration order; used for partial updates.
+    public byte[] writeProperties(final Map<String, String> properties) {
+        final PayloadGenerator payloadGenerator = acquire();
+        try {
+            final JsonGenerator generator = payloadGenerator.reset();
+            generator.writeStartObject();
+            generator.writeObjectFieldStart(PROPERTIES_FIELD);
+            for (final Map.Entry<String, String> property : properties.entrySet()) {
+                writeProperty(generator, property.getKey(), property.getValue());
+            }
+            generator.writeEndObject();
+            generator.writeEndObject();
+            final byte[] payload = payloadGenerator.toByteArray();
+            generators.offer(payloadGenerator);
+            return payload;
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Failed to serialize contact properties payload", e);
+        }
+    }
+
+    public byte[] writeBatch(final List<ContactCreateRequest> contacts) {
+        final PayloadGenerator payloadGenerator = acquire();
+        try {
+            final JsonGenerator generator = payloadGenerator.reset();
+            generator.writeStartObject();
+            generator.writeArrayFieldStart(INPUTS_FIELD);
+            for (final ContactCreateRequest contact : contacts) {
+                writeContact(generator, contact, true);
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+            final byte[] payload = payloadGenerator.toByteArray();
+            generators.offer(payloadGenerator);
+            return payload;
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Failed to serialize contact batch payload", e);
+        }
+    }
+
+    // Body of the v4 batch association create for one target object type.
+    public byte[] writeAssociationBatch(final long contactId, final List<ContactAssociation> associations) {
+        final PayloadGenerator payloadGenerator = acquire();
+        try {
+            final JsonGenerator generator = payloadGenerator.reset();
+            generator.writeStartObject();
+            generator.writeArrayFieldStart(INPUTS_FIELD);
+            for (final ContactAssociation association : associations) {
+                generator.writeStartObject();
+                generator.writeObjectFieldStart("from");
+                generator.writeStringField("id", Long.toString(contactId));
+                generator.writeEndObject();
+                writeAssociationTarget(generator, association);
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+            final byte[] payload = payloadGenerator.toByteArray();
+            generators.offer(payloadGenerator);
+            return payload;
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Failed to serialize association batch payload", e);
+        }
+    }
+
+    private static void writeContact(final JsonGenerator generator,
+                                     final ContactCreateRequest contact,
+                                     final boolean withAssociations) throws IOException {
+        generator.writeStartObject();
+        generator.writeObjectFieldStart(PROPERTIES_FIELD);
+        // Same properties the schema validation sees; the generator's IOException is tunnelled through the callback.
+        try {
+            contact.forEachProperty((name, value) -> {
+                try {
+                    generator.writeStringField(name, value);
+                } catch (final IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (final UncheckedIOException e) {
+            throw e.getCause();
+        }
+        generator.writeEndObject();
+        if (withAssociations && contact.hasAssociations()) {
+            generator.writeArrayFieldStart(ASSOCIATIONS_FIELD);
+            for (final ContactAssociation association : contact.associations()) {
+                generator.writeStartObject();
+                writeAssociationTarget(generator, association);
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+        }
+        generator.writeEndObject();
+    }
+
+    private static void writeAssociationTarget(final JsonGenerator generator, final ContactAssociation association) throws IOException {
+        generator.writeObjectFieldStart("to");
+        generator.writeStringField("id", association.toObjectId());
+        generator.writeEndObject();
+        generator.writeArrayFieldStart("types");
+        generator.writeStartObject();
+        generator.writeStringField("associationCategory", association.category());
+        generator.writeNumberField("associationTypeId", association.typeId());
+        generator.writeEndObject();
+        generator.writeEndArray();
+    }
+
+    private static void writeProperty(final JsonGenerator generator, final String name, final String value) throws IOException {
+        if (value != null) {
+            generator.writeStringField(name, value);
+        }
+    }
+
+    // A generator that failed mid-write is left in an inconsistent state, so it is never returned to the pool.
+    private PayloadGenerator acquire() {
+        final PayloadGenerator pooled = generators.poll();
+        if (pooled != null) {
+            return pooled;
+        }
+        try {
+            return new PayloadGenerator(jsonFactory);
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Failed to create JSON generator", e);
+        }
+    }
+
+    private static final class PayloadGenerator {
+
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream(512);
+        private final JsonGenerator generator;
+
+        private PayloadGenerator(final JsonFactory jsonFactory) throws IOException {
+            this.generator = jsonFactory.createGenerator(out);
+            this.generator.setRootValueSeparator(null);
+        }
+
+        private JsonGenerator reset() {
+            out.reset();
+            return generator;
+        }
+
+        private byte[] toByteArray() throws IOException {
+            generator.flush();
+            return out.toByteArray();
+        }
+
+    }
+
+}
@@ -0,0 +1,35 @@
+package org.marcosdgf.hubspotintegrationapi.client.relay;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+public class BufferPool {
+
+    private final int bufferSize;
+    private final BlockingQueue<byte[]> buffers;
+
+    public BufferPool(final int bufferSize, final int maxPooled) {
+        this.bufferSize = bufferSize;
+        this.buffers = new ArrayBlockingQueue<>(maxPooled);
+    }
+
+    public byte[] acquire() {
+        final byte[] buffer = buffers.poll();
+        return buffer != null ? buffer : new byte[bufferSize];
+    }
+
+    public void release(final byte[] buffer) {
+        if (buffer != null && buffer.length == bufferSize) {
+            buffers.offer(buffer);
+        }
+    }
+
+    public int bufferSize() {
+        return bufferSize;
+    }
+
+    public int pooled() {
+        return buffers.size();
+    }
+
+}
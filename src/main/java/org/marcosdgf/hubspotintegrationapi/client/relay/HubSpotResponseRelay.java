@@ -0,0 +1,98 @@
+package org.marcosdgf.hubspotintegrationapi.client.relay;
+
+import feign.Response;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+@Slf4j
+@Component
+public class HubSpotResponseRelay {
+
+    private static final String HUBSPOT_HEADER_PREFIX = "x-hubspot-";
+    private static final Set<String> RELAYED_HEADERS = Set.of(
+            HttpHeaders.CONTENT_TYPE.toLowerCase(Locale.ROOT),
+            HttpHeaders.RETRY_AFTER.toLowerCase(Locale.ROOT),
+            HttpHeaders.LOCATION.toLowerCase(Locale.ROOT)
+    );
+
+    private final BufferPool bufferPool;
+
+    public HubSpotResponseRelay(@Value("${hubspot.api.passthrough.buffer-size:8192}") final int bufferSize,
+                                @Value("${hubspot.api.passthrough.pooled-buffers:64}") final int pooledBuffers) {
+        this.bufferPool = new BufferPool(bufferSize, pooledBuffers);
+    }
+
+    public void relay(final Response upstream, final HttpServletResponse response) throws IOException {
+        try (upstream) {
+            response.setStatus(upstream.status());
+            copyHeaders(upstream.headers(), response);
+
+            final Response.Body body = upstream.body();
+            if (body == null) {
+                response.setContentLength(0);
+                return;
+            }
+
+            final Integer length = body.length();
+            if (length != null && length >= 0) {
+                response.setContentLength(length);
+            }
+
+            try (InputStream in = body.asInputStream()) {
+                copy(in, response.getOutputStream());
+            }
+        }
+    }
+
+    public long copy(final InputStream in, final OutputStream out) throws IOException {
+        final byte[] buffer = bufferPool.acquire();
+        try {
+            long total = 0;
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+                total += read;
+            }
+            out.flush();
+            log.debug("Relayed {} bytes from HubSpot response.", total);
+            return total;
+        } finally {
+            bufferPool.release(buffer);
+        }
+    }
+
+    BufferPool bufferPool() {
+        return bufferPool;
+    }
+
+    private static void copyHeaders(final Map<String, Collection<String>> headers, final HttpServletResponse response) {
+        if (headers == null) {
+            return;
+        }
+        for (final Map.Entry<String, Collection<String>> header : headers.entrySet()) {
+            final String name = header.getKey();
+            if (name == null || !isRelayed(name.toLowerCase(Locale.ROOT))) {
+                continue;
+            }
+            for (final String value : header.getValue()) {
+                response.addHeader(name, value);
+            }
+        }
+    }
+
+    private static boolean isRelayed(final String lowerCaseName) {
+        return RELAYED_HEADERS.contains(lowerCaseName) || lowerCaseName.startsWith(HUBSPOT_HEADER_PREFIX);
+    }
+
+}
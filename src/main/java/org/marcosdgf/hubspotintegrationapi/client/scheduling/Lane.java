@@ -0,0 +1,9 @@
+package org.marcosdgf.hubspotintegrationapi.client.scheduling;
+
+public enum Lane {
+
+    INTERACTIVE,
+    WEBHOOK_FOLLOWUP,
+    BULK
+
+}
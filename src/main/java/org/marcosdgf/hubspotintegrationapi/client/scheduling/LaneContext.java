@@ -0,0 +1,44 @@
+package org.marcosdgf.hubspotintegrationapi.client.scheduling;
+
+// Tags the HubSpot calls made by the current thread with a lane; untagged calls are interactive.
+public final class LaneContext {
+
+    private static final ThreadLocal<Lane> CURRENT = new ThreadLocal<>();
+
+    private LaneContext() {
+    }
+
+    public static Lane current() {
+        final Lane lane = CURRENT.get();
+        return lane != null ? lane : Lane.INTERACTIVE;
+    }
+
+    public static <T, E extends Exception> T callAs(final Lane lane, final LaneCall<T, E> call) throws E {
+        final Lane previous = CURRENT.get();
+        CURRENT.set(lane);
+        try {
+            return call.call();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    public static void runAs(final Lane lane, final Runnable task) {
+        callAs(lane, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    @FunctionalInterface
+    public interface LaneCall<T, E extends Exception> {
+
+        T call() throws E;
+
+    }
+
+}
@@ -0,0 +1,183 @@
+package org.marcosdgf.hubspotintegrationapi.client.scheduling;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Shares the HubSpot request budget (a token bucket) between lanes. While lanes contend, tokens are handed out
+// by smooth weighted round-robin over the lanes that have waiters; a lane alone gets the whole budget.
+@Component
+public class WeightedFairRateScheduler {
+
+    private final double tokensPerNano;
+    private final double burst;
+    private final Map<Lane, LaneState> lanes = new EnumMap<>(Lane.class);
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private double tokens;
+    private long refilledAt;
+    private int waiting;
+
+    public WeightedFairRateScheduler(final MeterRegistry meterRegistry,
+                                     @Value("${hubspot.scheduler.requests-per-second:10}") final double requestsPerSecond,
+                                     @Value("${hubspot.scheduler.burst:10}") final int burst,
+                                     @Value("${hubspot.scheduler.weight.interactive:6}") final int interactiveWeight,
+                                     @Value("${hubspot.scheduler.weight.webhook-followup:3}") final int webhookFollowupWeight,
+                                     @Value("${hubspot.scheduler.weight.bulk:1}") final int bulkWeight) {
+        this.tokensPerNano = requestsPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.burst = Math.max(1, burst);
+        this.tokens = this.burst;
+        this.refilledAt = System.nanoTime();
+
+        final Map<Lane, Integer> weights = Map.of(
+                Lane.INTERACTIVE, interactiveWeight,
+                Lane.WEBHOOK_FOLLOWUP, webhookFollowupWeight,
+                Lane.BULK, bulkWeight);
+        for (final Lane lane : Lane.values()) {
+            final String tag = lane.name().toLowerCase();
+            final LaneState state = new LaneState(Math.max(1, weights.get(lane)), Timer.builder("hubspot.scheduler.wait")
+                    .description("Time spent waiting for HubSpot request budget")
+                    .tag("lane", tag)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+            Gauge.builder("hubspot.scheduler.queue", state, s -> s.queueDepth)
+                    .description("Calls waiting for HubSpot request budget")
+                    .tag("lane", tag)
+                    .register(meterRegistry);
+            lanes.put(lane, state);
+        }
+    }
+
+    public void acquire(final Lane lane) throws InterruptedException {
+        tryAcquire(lane, Long.MAX_VALUE);
+    }
+
+    // Returns false if no budget was granted within the timeout; the caller then gives up without calling HubSpot.
+    public boolean tryAcquire(final Lane lane, final long timeoutNanos) throws InterruptedException {
+        final LaneState state = lanes.get(lane);
+        final long started = System.nanoTime();
+        lock.lock();
+        try {
+            refill();
+            if (waiting == 0 && tokens >= 1) {
+                tokens--;
+                state.waitTimer.record(0, TimeUnit.NANOSECONDS);
+                return true;
+            }
+
+            final Waiter waiter = new Waiter(lock.newCondition());
+            state.queue.addLast(waiter);
+            state.queueDepth++;
+            waiting++;
+            try {
+                while (!waiter.granted) {
+                    dispatch();
+                    if (waiter.granted) {
+                        break;
+                    }
+                    final long remaining = timeoutNanos == Long.MAX_VALUE
+                            ? Long.MAX_VALUE
+                            : timeoutNanos - (System.nanoTime() - started);
+                    if (remaining <= 0) {
+                        leave(state, waiter);
+                        return false;
+                    }
+                    waiter.condition.awaitNanos(Math.min(remaining, nanosUntilNextToken()));
+                }
+            } catch (final InterruptedException e) {
+                if (!waiter.granted) {
+                    leave(state, waiter);
+                    throw e;
+                }
+                Thread.currentThread().interrupt();
+            }
+            state.waitTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void leave(final LaneState state, final Waiter waiter) {
+        state.queue.remove(waiter);
+        state.queueDepth--;
+        waiting--;
+    }
+
+    private void dispatch() {
+        refill();
+        while (tokens >= 1 && waiting > 0) {
+            final LaneState next = selectLane();
+            final Waiter waiter = next.queue.pollFirst();
+            next.queueDepth--;
+            waiting--;
+            tokens--;
+            waiter.granted = true;
+            waiter.condition.signal();
+        }
+    }
+
+    // Smooth weighted round-robin (as in nginx): deterministic, and interleaves lanes instead of bursting one.
+    private LaneState selectLane() {
+        LaneState selected = null;
+        int totalWeight = 0;
+        for (final LaneState state : lanes.values()) {
+            if (state.queue.isEmpty()) {
+                continue;
+            }
+            state.currentWeight += state.weight;
+            totalWeight += state.weight;
+            if (selected == null || state.currentWeight > selected.currentWeight) {
+                selected = state;
+            }
+        }
+        selected.currentWeight -= totalWeight;
+        return selected;
+    }
+
+    private void refill() {
+        final long now = System.nanoTime();
+        tokens = Math.min(burst, tokens + (now - refilledAt) * tokensPerNano);
+        refilledAt = now;
+    }
+
+    private long nanosUntilNextToken() {
+        return Math.max(1, (long) Math.ceil((1 - tokens) / tokensPerNano));
+    }
+
+    private static final class LaneState {
+
+        private final int weight;
+        private final Timer waitTimer;
+        private final ArrayDeque<Waiter> queue = new ArrayDeque<>();
+        private volatile int queueDepth;
+        private int currentWeight;
+
+        private LaneState(final int weight, final Timer waitTimer) {
+            this.weight = weight;
+            this.waitTimer = waitTimer;
+        }
+
+    }
+
+    private static final class Waiter {
+
+        private final Condition condition;
+        private boolean granted;
+
+        private Waiter(final Condition condition) {
+            this.condition = condition;
+        }
+
+    }
+
+}
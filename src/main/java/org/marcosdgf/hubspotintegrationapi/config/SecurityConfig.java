@@ -25,7 +25,9 @@ public class SecurityConfig {
                         "/v3/api-docs/**",
                         "/oauth/authorize",
                         "/oauth/callback",
-                        "/webhooks/**"
+                        "/webhooks/**",
+                        "/actuator/health",
+                        "/actuator/prometheus"
                 )
                 .permitAll()
                 .anyRequest()
@@ -4,24 +4,42 @@ package org.marcosdgf.hubspotintegrationapi.controller;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import feign.FeignException;
+import feign.Response;
+import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.marcosdgf.hubspotintegrationapi.client.HubSpotCrmClient;
+import org.marcosdgf.hubspotintegrationapi.client.deadline.DeadlineExceededException;
+import org.marcosdgf.hubspotintegrationapi.client.payload.ContactPayloadWriter;
+import org.marcosdgf.hubspotintegrationapi.client.relay.HubSpotResponseRelay;
+import org.marcosdgf.hubspotintegrationapi.dto.request.ContactBatchCreateRequest;
 import org.marcosdgf.hubspotintegrationapi.dto.request.ContactCreateRequest;
+import org.marcosdgf.hubspotintegrationapi.dto.request.ContactUpdateRequest;
+import org.marcosdgf.hubspotintegrationapi.service.ContactPropertySchemaService;
+import org.marcosdgf.hubspotintegrationapi.service.ContactUpdateService;
+import org.marcosdgf.hubspotintegrationapi.service.ContactUpsertService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 @Slf4j
 @RestController
@@ -32,60 +50,240 @@ public class ContactController {
 
     private static final String ERROR_KEY = "error";
     private static final String DETAILS_KEY = "details";
+    private static final String UPSERT_OPERATION_HEADER = "X-Upsert-Operation";
+    private static final String CHANGED_PROPERTIES_HEADER = "X-Changed-Properties";
+    private static final String ASSOCIATION_FAILURES_HEADER = "X-Association-Failures";
 
     private final HubSpotCrmClient hubSpotCrmClient;
     private final ObjectMapper objectMapper;
+    private final HubSpotResponseRelay hubSpotResponseRelay;
+    private final ContactPayloadWriter contactPayloadWriter;
+    private final ContactPropertySchemaService contactPropertySchemaService;
+    private final ContactUpsertService contactUpsertService;
+    private final ContactUpdateService contactUpdateService;
+
+    @Value("${hubspot.api.passthrough.enabled:false}")
+    private boolean passthroughEnabled;
 
     @PostMapping
     public ResponseEntity<String> createContact(
-            @Parameter(description = "Dados do contato a ser criado") @Valid @RequestBody final ContactCreateRequest contactRequest) {
+            @Parameter(description = "Dados do contato a ser criado") @Valid @RequestBody final ContactCreateRequest contactRequest,
+            final HttpServletResponse servletResponse) {
+
+        final List<String> violations = contactPropertySchemaService.validate(contactRequest);
+        if (!violations.isEmpty()) {
+            return propertyValidationError(violations);
+        }
+
+        final byte[] payload = contactPayloadWriter.write(contactRequest);
+
+        return execute("createContact",
+                () -> ResponseEntity.status(HttpStatus.CREATED).body(this.hubSpotCrmClient.createContact(payload)),
+                () -> this.hubSpotCrmClient.createContactRaw(payload),
+                servletResponse);
+    }
+
+    @PostMapping("/batch")
+    @Operation(summary = "Criar contatos em lote",
+            description = "Cria até 100 contatos em uma única chamada ao endpoint batch/create do HubSpot, incluindo as associações informadas em cada contato.")
+    public ResponseEntity<String> batchCreateContacts(
+            @Parameter(description = "Contatos a serem criados") @Valid @RequestBody final ContactBatchCreateRequest batchRequest,
+            final HttpServletResponse servletResponse) {
+
+        final List<String> violations = new ArrayList<>();
+        for (int i = 0; i < batchRequest.inputs().size(); i++) {
+            for (final String violation : contactPropertySchemaService.validate(batchRequest.inputs().get(i))) {
+                violations.add("inputs[" + i + "]: " + violation);
+            }
+        }
+        if (!violations.isEmpty()) {
+            return propertyValidationError(violations);
+        }
+
+        final byte[] payload = contactPayloadWriter.writeBatch(batchRequest.inputs());
 
-        final Map<String, Object> requestBodyMap = getStringObjectMap(contactRequest);
+        return execute("batchCreateContacts",
+                () -> this.hubSpotCrmClient.batchCreateContacts(payload),
+                () -> this.hubSpotCrmClient.batchCreateContactsRaw(payload),
+                servletResponse);
+    }
+
+    @PostMapping("/upsert")
+    @Operation(summary = "Criar ou atualizar contato por email",
+            description = "Atualiza o contato existente com o mesmo email ou cria um novo, usando um índice local email→id para evitar conflitos no HubSpot.")
+    public ResponseEntity<String> upsertContact(
+            @Parameter(description = "Dados do contato a ser criado ou atualizado") @Valid @RequestBody final ContactCreateRequest contactRequest) {
 
-        log.debug("--- Iniciando createContact via Feign ---");
+        if (contactRequest.email() == null || contactRequest.email().isBlank()) {
+            return propertyValidationError(List.of("Email é obrigatório para upsert"));
+        }
+        final List<String> violations = contactPropertySchemaService.validate(contactRequest);
+        if (!violations.isEmpty()) {
+            return propertyValidationError(violations);
+        }
+
+        log.debug("--- Iniciando upsertContact via Feign ---");
 
         try {
-            final String responseBody = this.hubSpotCrmClient.createContact(requestBodyMap);
+            final ContactUpsertService.UpsertResult result = contactUpsertService.upsert(contactRequest);
 
-            log.debug("HubSpot Create Contact Response (Feign): {}", responseBody);
-            return ResponseEntity.status(HttpStatus.CREATED)
+            log.debug("HubSpot upsertContact ({}) Response (Feign): {}", result.operation(), result.responseBody());
+            final HttpStatus status = result.operation() == ContactUpsertService.Operation.CREATED ? HttpStatus.CREATED : HttpStatus.OK;
+            if (!result.associationFailures().isEmpty()) {
+                log.warn("Contato atualizado, mas {} associação(ões) falharam: {}",
+                        result.associationFailures().size(), result.associationFailures());
+            }
+            return ResponseEntity.status(status)
+                    .header(UPSERT_OPERATION_HEADER, result.operation().name())
+                    .header(ASSOCIATION_FAILURES_HEADER, String.valueOf(result.associationFailures().size()))
                     .contentType(MediaType.APPLICATION_JSON)
-                    .body(responseBody);
+                    .body(result.responseBody());
 
         } catch (final FeignException e) {
-            log.error("Erro da API HubSpot (Feign): Status {} - Response Body: {}",
-                    e.status(), e.contentUTF8(), e);
-            String errorBody = e.contentUTF8();
-            if (errorBody == null || errorBody.isEmpty()) {
-                Map<String, String> fallbackError = Map.of(ERROR_KEY, "Erro Feign", DETAILS_KEY, "Status: " + e.status());
-                errorBody = convertMapToJson(fallbackError);
+            return feignError(e);
+        } catch (final Exception e) {
+            return unexpectedError("upsertContact", e);
+        } finally {
+            log.debug("--- Finalizando upsertContact via Feign ---");
+        }
+    }
+
+    @PatchMapping("/{contactId}")
+    @Operation(summary = "Atualizar contato",
+            description = "Envia ao HubSpot apenas as propriedades que mudaram desde a última escrita conhecida; retorna 204 sem chamar o HubSpot quando nada mudou. Use force=true para enviar todas.")
+    public ResponseEntity<String> updateContact(
+            @Parameter(description = "ID do contato no HubSpot") @PathVariable final long contactId,
+            @Parameter(description = "Propriedades a serem atualizadas") @Valid @RequestBody final ContactUpdateRequest updateRequest,
+            @Parameter(description = "Ignora a comparação local e envia todas as propriedades") @RequestParam(defaultValue = "false") final boolean force) {
+
+        final List<String> violations = contactPropertySchemaService.validate(updateRequest.properties());
+        if (!violations.isEmpty()) {
+            return propertyValidationError(violations);
+        }
+
+        log.debug("--- Iniciando updateContact via Feign ---");
+
+        try {
+            final ContactUpdateService.UpdateResult result =
+                    contactUpdateService.update(contactId, updateRequest.properties(), force);
+
+            if (result.skipped()) {
+                log.debug("Atualização do contato {} ignorada: nenhuma propriedade mudou.", contactId);
+                return ResponseEntity.noContent()
+                        .header(CHANGED_PROPERTIES_HEADER, "0")
+                        .build();
             }
-            final MediaType contentType = determineErrorContentType(e);
-            return ResponseEntity.status(e.status())
-                    .contentType(contentType)
-                    .body(errorBody);
+            log.debug("HubSpot updateContact Response (Feign): {}", result.responseBody());
+            return ResponseEntity.ok()
+                    .header(CHANGED_PROPERTIES_HEADER, String.valueOf(result.changedProperties()))
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(result.responseBody());
 
+        } catch (final FeignException e) {
+            return feignError(e);
         } catch (final Exception e) {
-            log.error("Erro inesperado ao criar contato via Feign.", e);
-            final Map<String, String> errorBody = Map.of(ERROR_KEY, "Erro interno inesperado no servidor", DETAILS_KEY, e.getMessage());
-            final String errorJson = convertMapToJson(errorBody);
+            return unexpectedError("updateContact", e);
+        } finally {
+            log.debug("--- Finalizando updateContact via Feign ---");
+        }
+    }
+
+    private ResponseEntity<String> propertyValidationError(final List<String> violations) {
+        log.debug("Payload de contato rejeitado pela validação local de propriedades: {}", violations);
+        final Map<String, Object> errorBody = Map.of(ERROR_KEY, "Propriedades inválidas", DETAILS_KEY, violations);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(convertMapToJson(errorBody));
+    }
+
+    private ResponseEntity<String> execute(final String operation,
+                                           final Supplier<ResponseEntity<String>> call,
+                                           final Supplier<Response> rawCall,
+                                           final HttpServletResponse servletResponse) {
+        if (passthroughEnabled) {
+            return relay(operation, rawCall, servletResponse);
+        }
+
+        log.debug("--- Iniciando {} via Feign ---", operation);
+
+        try {
+            final ResponseEntity<String> response = call.get();
+
+            // Mantém o status do HubSpot: batch/create responde 207 quando só parte dos contatos foi criada.
+            log.debug("HubSpot {} Response (Feign): {} {}", operation, response.getStatusCode(), response.getBody());
+            return ResponseEntity.status(response.getStatusCode())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(response.getBody());
+
+        } catch (final FeignException e) {
+            return feignError(e);
+        } catch (final Exception e) {
+            return unexpectedError(operation, e);
+        } finally {
+            log.debug("--- Finalizando {} via Feign ---", operation);
+        }
+    }
+
+    private ResponseEntity<String> feignError(final FeignException e) {
+        log.error("Erro da API HubSpot (Feign): Status {} - Response Body: {}",
+                e.status(), e.contentUTF8(), e);
+        String errorBody = e.contentUTF8();
+        if (errorBody == null || errorBody.isEmpty()) {
+            Map<String, String> fallbackError = Map.of(ERROR_KEY, "Erro Feign", DETAILS_KEY, "Status: " + e.status());
+            errorBody = convertMapToJson(fallbackError);
+        }
+        final MediaType contentType = determineErrorContentType(e);
+        return ResponseEntity.status(e.status())
+                .contentType(contentType)
+                .body(errorBody);
+    }
+
+    private ResponseEntity<String> unexpectedError(final String operation, final Exception e) {
+        if (e instanceof DeadlineExceededException) {
+            return deadlineExceeded(operation, e);
+        }
+        log.error("Erro inesperado ao executar {} via Feign.", operation, e);
+        final Map<String, String> errorBody = Map.of(ERROR_KEY, "Erro interno inesperado no servidor", DETAILS_KEY, e.getMessage());
+        final String errorJson = convertMapToJson(errorBody);
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(errorJson);
+    }
+
+    // Retorna null quando a resposta do HubSpot já foi escrita diretamente no HttpServletResponse.
+    private ResponseEntity<String> relay(final String operation,
+                                         final Supplier<Response> rawCall,
+                                         final HttpServletResponse servletResponse) {
+        log.debug("--- Iniciando {} via Feign (pass-through) ---", operation);
+
+        try {
+            hubSpotResponseRelay.relay(rawCall.get(), servletResponse);
+            return null;
+        } catch (final Exception e) {
+            if (servletResponse.isCommitted()) {
+                log.error("Erro inesperado ao repassar resposta do HubSpot em {}.", operation, e);
+                return null;
+            }
+            servletResponse.reset();
+            if (e instanceof DeadlineExceededException) {
+                return deadlineExceeded(operation, e);
+            }
+            log.error("Erro inesperado ao repassar resposta do HubSpot em {}.", operation, e);
+            final Map<String, String> errorBody = Map.of(ERROR_KEY, "Erro interno inesperado no servidor", DETAILS_KEY, String.valueOf(e.getMessage()));
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .contentType(MediaType.APPLICATION_JSON)
-                    .body(errorJson);
+                    .body(convertMapToJson(errorBody));
         } finally {
-            log.debug("--- Finalizando createContact via Feign ---");
+            log.debug("--- Finalizando {} via Feign (pass-through) ---", operation);
         }
     }
 
-    private static Map<String, Object> getStringObjectMap(final ContactCreateRequest contactRequest) {
-        final Map<String, String> properties = Map.of(
-                "email", contactRequest.email(),
-                "firstname", contactRequest.firstname(),
-                "lastname", contactRequest.lastname(),
-                "phone", contactRequest.phone() != null ? contactRequest.phone() : "",
-                "website", contactRequest.website() != null ? contactRequest.website() : ""
-        );
-        return Map.of("properties", properties);
+    private ResponseEntity<String> deadlineExceeded(final String operation, final Exception e) {
+        log.warn("Prazo esgotado ao executar {}: {}", operation, e.getMessage());
+        final Map<String, String> errorBody = Map.of(ERROR_KEY, "Prazo da requisição esgotado", DETAILS_KEY, e.getMessage());
+        return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(convertMapToJson(errorBody));
     }
 
     private String convertMapToJson(final Map<String, ?> map) {
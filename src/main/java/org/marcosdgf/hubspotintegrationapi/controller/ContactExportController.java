@@ -0,0 +1,114 @@
+package org.marcosdgf.hubspotintegrationapi.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.marcosdgf.hubspotintegrationapi.service.FileCheckpointStore;
+import org.marcosdgf.hubspotintegrationapi.service.export.ContactExportService;
+import org.marcosdgf.hubspotintegrationapi.service.export.ExportAlreadyCompletedException;
+import org.marcosdgf.hubspotintegrationapi.service.export.ExportAlreadyRunningException;
+import org.marcosdgf.hubspotintegrationapi.service.export.ExportNotFoundException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+@Slf4j
+@RestController
+@RequestMapping("/contacts/export")
+@Tag(name = "Contact Export", description = "Exportação completa de contatos em NDJSON")
+@RequiredArgsConstructor
+public class ContactExportController {
+
+    private static final String NDJSON_VALUE = "application/x-ndjson";
+    private static final String EXPORT_ID_HEADER = "X-Export-Id";
+    private static final String ERROR_KEY = "error";
+
+    private final ContactExportService contactExportService;
+    private final ObjectMapper objectMapper;
+
+    @GetMapping(produces = NDJSON_VALUE)
+    @Operation(summary = "Exportar todos os contatos",
+            description = "Percorre a listagem de contatos do HubSpot por cursor e devolve um contato por linha (NDJSON) "
+                    + "em uma resposta chunked. Use exportId para retomar uma exportação do último checkpoint, "
+                    + "ou after para começar de um cursor específico.")
+    public void exportContacts(
+            @Parameter(description = "Comprimir a resposta com gzip") @RequestParam(defaultValue = "false") final boolean gzip,
+            @Parameter(description = "Exportação a ser retomada") @RequestParam(required = false) final String exportId,
+            @Parameter(description = "Cursor inicial do HubSpot") @RequestParam(required = false) final String after,
+            @Parameter(description = "Propriedades a exportar") @RequestParam(defaultValue = "email,firstname,lastname,phone,website") final String properties,
+            final HttpServletResponse response) throws IOException {
+
+        if (exportId != null && !FileCheckpointStore.isValidJobId(exportId)) {
+            writeError(response, HttpStatus.BAD_REQUEST, "Identificador de exportação inválido: " + exportId);
+            return;
+        }
+
+        final String startedExportId;
+        try {
+            startedExportId = contactExportService.start(exportId, after);
+        } catch (final ExportNotFoundException e) {
+            writeError(response, HttpStatus.NOT_FOUND, e.getMessage());
+            return;
+        } catch (final ExportAlreadyRunningException | ExportAlreadyCompletedException e) {
+            writeError(response, HttpStatus.CONFLICT, e.getMessage());
+            return;
+        }
+
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(NDJSON_VALUE);
+        response.setHeader(EXPORT_ID_HEADER, startedExportId);
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        try {
+            final OutputStream body = gzip
+                    ? new GZIPOutputStream(response.getOutputStream(), 8192, true)
+                    : response.getOutputStream();
+            contactExportService.stream(startedExportId, properties, body);
+            if (body instanceof GZIPOutputStream gzipBody) {
+                gzipBody.finish();
+            }
+        } catch (final IOException | RuntimeException e) {
+            log.error("Exportação {} interrompida: {}", startedExportId, e.getMessage());
+            if (!response.isCommitted()) {
+                response.reset();
+                response.setHeader(EXPORT_ID_HEADER, startedExportId);
+                writeError(response, HttpStatus.BAD_GATEWAY, e.getMessage());
+            }
+        }
+    }
+
+    @GetMapping(value = "/{exportId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Consultar progresso e cursor de uma exportação")
+    public ResponseEntity<?> getExportStatus(@PathVariable final String exportId) {
+        if (!FileCheckpointStore.isValidJobId(exportId)) {
+            return ResponseEntity.badRequest().body(Map.of(ERROR_KEY, "Identificador de exportação inválido: " + exportId));
+        }
+        return contactExportService.getStatus(exportId)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of(ERROR_KEY, "Exportação não encontrada")));
+    }
+
+    private void writeError(final HttpServletResponse response, final HttpStatus status, final String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), Map.of(ERROR_KEY, String.valueOf(message)));
+    }
+
+}
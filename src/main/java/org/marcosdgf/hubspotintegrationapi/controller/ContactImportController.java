@@ -0,0 +1,114 @@
+package org.marcosdgf.hubspotintegrationapi.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.marcosdgf.hubspotintegrationapi.service.FileCheckpointStore;
+import org.marcosdgf.hubspotintegrationapi.service.importer.ContactImportService;
+import org.marcosdgf.hubspotintegrationapi.service.importer.ImportFormat;
+import org.marcosdgf.hubspotintegrationapi.service.importer.ImportJobAlreadyRunningException;
+import org.marcosdgf.hubspotintegrationapi.service.importer.ImportJobNotFoundException;
+import org.marcosdgf.hubspotintegrationapi.service.importer.ImportJobStore;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+@Slf4j
+@RestController
+@RequestMapping("/contacts/import")
+@Tag(name = "Contact Import", description = "Importação em massa de contatos a partir de arquivos CSV/NDJSON")
+@RequiredArgsConstructor
+public class ContactImportController {
+
+    private static final String ERROR_KEY = "error";
+
+    private final ContactImportService contactImportService;
+    private final ImportJobStore importJobStore;
+
+    @PostMapping(consumes = {"text/csv", "application/x-ndjson"})
+    @Operation(summary = "Importar contatos em massa",
+            description = "Lê o corpo da requisição linha a linha e envia os contatos ao HubSpot em lotes. "
+                    + "Informe jobId para retomar um job interrompido a partir do último checkpoint.")
+    @ApiResponse(responseCode = "200", description = "Importação concluída; erros por linha disponíveis no relatório do job.")
+    @ApiResponse(responseCode = "400", description = "Identificador de job inválido.")
+    @ApiResponse(responseCode = "404", description = "Job a retomar não encontrado.")
+    @ApiResponse(responseCode = "409", description = "Job já está em execução.")
+    @ApiResponse(responseCode = "415", description = "Content-Type não suportado.")
+    public ResponseEntity<?> importContacts(
+            @Parameter(description = "Job a ser retomado") @RequestParam(required = false) final String jobId,
+            final HttpServletRequest request) {
+        if (jobId != null && !FileCheckpointStore.isValidJobId(jobId)) {
+            return rejected(HttpStatus.BAD_REQUEST, "Identificador de job inválido: " + jobId);
+        }
+        final ImportFormat format;
+        try {
+            format = ImportFormat.fromContentType(request.getContentType());
+        } catch (final IllegalArgumentException e) {
+            return rejected(HttpStatus.UNSUPPORTED_MEDIA_TYPE, "Formato de importação não suportado: " + request.getContentType());
+        }
+
+        try {
+            return ResponseEntity.ok(contactImportService.importContacts(request.getInputStream(), format, jobId));
+        } catch (final ImportJobNotFoundException e) {
+            return rejected(HttpStatus.NOT_FOUND, e.getMessage());
+        } catch (final ImportJobAlreadyRunningException e) {
+            return rejected(HttpStatus.CONFLICT, e.getMessage());
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of(ERROR_KEY, "Importação interrompida"));
+        } catch (final Exception e) {
+            log.error("Erro inesperado durante a importação de contatos.", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of(ERROR_KEY, "Importação interrompida: " + e.getMessage() + ". Retome informando o jobId."));
+        }
+    }
+
+    @GetMapping("/{jobId}")
+    @Operation(summary = "Consultar progresso de uma importação")
+    public ResponseEntity<?> getImportStatus(@PathVariable final String jobId) {
+        try {
+            return contactImportService.getStatus(jobId)
+                    .<ResponseEntity<?>>map(ResponseEntity::ok)
+                    .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of(ERROR_KEY, "Job não encontrado")));
+        } catch (final IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of(ERROR_KEY, e.getMessage()));
+        }
+    }
+
+    @GetMapping(value = "/{jobId}/errors", produces = "application/x-ndjson")
+    @Operation(summary = "Baixar o relatório de erros por linha de uma importação")
+    public ResponseEntity<Resource> getImportErrors(@PathVariable final String jobId) {
+        try {
+            final Path report = importJobStore.errorReportPath(jobId);
+            if (!Files.exists(report)) {
+                return ResponseEntity.notFound().build();
+            }
+            return ResponseEntity.ok()
+                    .contentType(ImportFormat.NDJSON.mediaType())
+                    .body(new FileSystemResource(report));
+        } catch (final IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    private ResponseEntity<?> rejected(final HttpStatus status, final String message) {
+        log.warn("Importação rejeitada: {}", message);
+        return ResponseEntity.status(status).body(Map.of(ERROR_KEY, message));
+    }
+
+}
@@ -1,7 +1,5 @@
 package org.marcosdgf.hubspotintegrationapi.controller;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -9,13 +7,17 @@ import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.marcosdgf.hubspotintegrationapi.dto.webhook.HubSpotEvent;
-import org.springframework.beans.factory.annotation.Value;
+import org.marcosdgf.hubspotintegrationapi.service.webhook.HubSpotEventDecoder;
+import org.marcosdgf.hubspotintegrationapi.service.webhook.PortalEventQueues;
+import org.marcosdgf.hubspotintegrationapi.service.webhook.WebhookSigningKeys;
+import org.marcosdgf.hubspotintegrationapi.service.webhook.diagnostics.SignatureFailureDiagnostics;
+import org.marcosdgf.hubspotintegrationapi.service.webhook.diagnostics.SignatureFailureReason;
+import org.marcosdgf.hubspotintegrationapi.service.webhook.recording.WebhookTrafficRecorder;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import javax.crypto.Mac;
-import javax.crypto.spec.SecretKeySpec;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
@@ -29,52 +31,54 @@ import java.util.List;
 @RequiredArgsConstructor
 public class WebhookController {
 
-    private final ObjectMapper objectMapper;
+    private final HubSpotEventDecoder hubSpotEventDecoder;
+    private final PortalEventQueues portalEventQueues;
+    private final SignatureFailureDiagnostics signatureFailureDiagnostics;
+    private final WebhookTrafficRecorder webhookTrafficRecorder;
+    private final WebhookSigningKeys webhookSigningKeys;
 
-    @Value("${hubspot.client.secret}")
-    private String hubspotClientSecret;
-
-
-    @PostMapping("/contacts")
+    @PostMapping({"/contacts", "/contacts/{appId}"})
     @Operation(summary = "Receber Webhook de Criação de Contato",
-            description = "Endpoint para HubSpot notificar sobre novas criações de contato. Valida a assinatura da requisição.")
+            description = "Endpoint para HubSpot notificar sobre novas criações de contato. Valida a assinatura da requisição "
+                    + "com o secret do app indicado em {appId} (ou hubspot.client.secret, se omitido).")
     @ApiResponse(responseCode = "200", description = "Webhook recebido e validado com sucesso.")
     @ApiResponse(responseCode = "400", description = "Erro ao processar o corpo do webhook.")
-    @ApiResponse(responseCode = "401", description = "Assinatura inválida ou timestamp expirado.")
+    @ApiResponse(responseCode = "401", description = "Assinatura inválida, app desconhecido ou timestamp expirado.")
+    @ApiResponse(responseCode = "503", description = "Fila de eventos do portal cheia; o HubSpot reenviará a entrega.")
     public ResponseEntity<String> handleContactCreationWebhook(
+            @PathVariable(required = false) final String appId,
             @RequestBody final String rawBody,
             @RequestHeader("X-HubSpot-Signature-v3") final String signature,
             @RequestHeader("X-HubSpot-Request-Timestamp") final Long timestamp,
             final HttpServletRequest request
     ) {
 
-       log.info("Webhook Recebido! Timestamp: {}, Signature: {}", timestamp, signature);
+        log.debug("Webhook recebido. Timestamp: {}", timestamp);
 
+        // Rejections are counted and sampled by SignatureFailureDiagnostics; nothing here may log per request,
+        // or an invalid delivery would cost more than a valid one.
         final long maxDelta = 5L * 60L * 1000L;
         if (System.currentTimeMillis() - timestamp > maxDelta) {
-            log.error("Webhook timestamp inválido (muito antigo).");
+            signatureFailureDiagnostics.record(SignatureFailureReason.EXPIRED_TIMESTAMP, appId, signature, timestamp,
+                    rawBody.length(), request);
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Timestamp inválido");
         }
 
-        if (!isValidSignatureV3(signature, timestamp, rawBody, request)) {
-            log.error("Assinatura do Webhook inválida!");
+        final SignatureFailureReason failure = signatureFailure(appId, signature, timestamp, rawBody, request);
+        if (failure != null) {
+            signatureFailureDiagnostics.record(failure, appId, signature, timestamp, rawBody.length(), request);
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Assinatura inválida");
         }
 
         log.debug("Assinatura do Webhook validada com sucesso!");
+        webhookTrafficRecorder.record(timestamp, rawBody);
 
         try {
-            final List<HubSpotEvent> events = objectMapper.readValue(rawBody, new TypeReference<>() {});
+            final List<HubSpotEvent> events = hubSpotEventDecoder.decode(rawBody);
             log.debug("Webhook contém {} evento(s).", events.size());
 
-            for (HubSpotEvent event : events) {
-                log.debug("Processando evento: subscriptionType={}, objectId={}", event.getSubscriptionType(), event.getObjectId());
-
-                if ("contact.creation".equalsIgnoreCase(event.getSubscriptionType())) {
-                    log.debug("Evento de CRIAÇÃO DE CONTATO recebido para o contato ID: {}", event.getObjectId());
-                } else {
-                    log.debug("Evento ignorado (tipo não é contact.creation): {}", event.getSubscriptionType());
-                }
+            if (!portalEventQueues.submit(events)) {
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("Fila de eventos do portal cheia");
             }
 
         } catch (final IOException e) {
@@ -88,46 +92,32 @@ public class WebhookController {
         return ResponseEntity.ok("Webhook recebido");
     }
 
-    boolean isValidSignatureV3(final String signatureHeader,
-                               final Long timestamp,
-                               final String requestBody,
-                               final HttpServletRequest request
+    // Returns null when the signature matches. The MAC is fed method, URI, body and timestamp one after the other,
+    // which is the same input as their concatenation without building it, and the header is compared as raw bytes.
+    SignatureFailureReason signatureFailure(final String appId,
+                                            final String signatureHeader,
+                                            final Long timestamp,
+                                            final String requestBody,
+                                            final HttpServletRequest request
     ) {
-        String calculatedSignature = null;
-        String sourceString = null;
+        final Mac mac = webhookSigningKeys.forApp(appId).orElse(null);
+        if (mac == null) {
+            return SignatureFailureReason.UNKNOWN_APP;
+        }
+
+        final byte[] expected;
         try {
-            final String requestUri = getRequestUri(request);
-            sourceString = request.getMethod() + requestUri + requestBody + timestamp;
-
-            final SecretKeySpec secretKeySpec = new SecretKeySpec(hubspotClientSecret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
-            final Mac mac = Mac.getInstance("HmacSHA256");
-            mac.init(secretKeySpec);
-            final byte[] hash = mac.doFinal(sourceString.getBytes(StandardCharsets.UTF_8));
-            calculatedSignature = Base64.getEncoder().encodeToString(hash);
-
-            final boolean isValid = MessageDigest.isEqual(calculatedSignature.getBytes(StandardCharsets.UTF_8),
-                    signatureHeader.getBytes(StandardCharsets.UTF_8));
-
-            if (!isValid) {
-                log.error("Webhook Signature Validation FAILED!");
-                log.error("Timestamp Received: {}", timestamp);
-                log.error("Signature Header Received: {}", signatureHeader);
-                log.error("Request URI Used: {}", requestUri);
-                log.error("Request Method Used: {}", request.getMethod());
-                log.error("Request Body Snippet (First 200 chars): {}", requestBody.substring(0, Math.min(requestBody.length(), 200)));
-                log.error("Constructed Source String (Check for subtle differences): {}", sourceString);
-                log.error("Calculated Signature: {}", calculatedSignature);
-                return false;
-            }
+            expected = Base64.getDecoder().decode(signatureHeader);
+        } catch (final IllegalArgumentException e) {
+            return SignatureFailureReason.MALFORMED_SIGNATURE;
+        }
 
-            return true;
+        mac.update(request.getMethod().getBytes(StandardCharsets.UTF_8));
+        mac.update(getRequestUri(request).getBytes(StandardCharsets.UTF_8));
+        mac.update(requestBody.getBytes(StandardCharsets.UTF_8));
+        mac.update(Long.toString(timestamp).getBytes(StandardCharsets.UTF_8));
 
-        } catch (final Exception e) {
-            log.error("Unexpected error during signature validation: {}", e.getMessage(), e);
-            log.error("Details during unexpected exception: Timestamp={}, Header={}, SourceStringAttempt={}, CalculatedSigAttempt={}",
-                    timestamp, signatureHeader, sourceString, calculatedSignature);
-            return false;
-        }
+        return MessageDigest.isEqual(mac.doFinal(), expected) ? null : SignatureFailureReason.INVALID_SIGNATURE;
     }
 
     private String getRequestUri(HttpServletRequest request) {
@@ -0,0 +1,48 @@
+package org.marcosdgf.hubspotintegrationapi.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotBlank;
+
+import java.util.Map;
+
+// An association created together with the contact. associationTypeId may be omitted for the default
+// (unlabeled) contact association to companies, deals and tickets.
+public record ContactAssociation(
+        @NotBlank(message = "Tipo do objeto associado é obrigatório") String toObjectType,
+        @NotBlank(message = "ID do objeto associado é obrigatório") String toObjectId,
+        String associationCategory,
+        Integer associationTypeId) {
+
+    public static final String HUBSPOT_DEFINED = "HUBSPOT_DEFINED";
+
+    private static final Map<String, Integer> DEFAULT_TYPE_IDS = Map.of(
+            "companies", 279,
+            "deals", 4,
+            "tickets", 15);
+
+    @JsonCreator
+    public ContactAssociation {}
+
+    public ContactAssociation(final String toObjectType, final String toObjectId) {
+        this(toObjectType, toObjectId, null, null);
+    }
+
+    public String category() {
+        return associationCategory != null ? associationCategory : HUBSPOT_DEFINED;
+    }
+
+    // -1 when neither given nor known for toObjectType; rejected by validation before it reaches the writer.
+    public int typeId() {
+        if (associationTypeId != null) {
+            return associationTypeId;
+        }
+        return toObjectType == null ? -1 : DEFAULT_TYPE_IDS.getOrDefault(toObjectType, -1);
+    }
+
+    @AssertTrue(message = "associationTypeId é obrigatório para este tipo de objeto")
+    public boolean isTypeIdResolvable() {
+        return toObjectType == null || typeId() > 0;
+    }
+
+}
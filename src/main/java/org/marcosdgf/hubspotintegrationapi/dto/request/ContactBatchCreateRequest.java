@@ -0,0 +1,12 @@
+package org.marcosdgf.hubspotintegrationapi.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record ContactBatchCreateRequest(
+        @NotEmpty(message = "Lista de contatos é obrigatória")
+        @Size(max = 100, message = "O HubSpot aceita no máximo 100 contatos por lote")
+        List<@Valid ContactCreateRequest> inputs) {}
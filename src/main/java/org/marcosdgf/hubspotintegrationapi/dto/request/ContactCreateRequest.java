@@ -1,9 +1,61 @@
 package org.marcosdgf.hubspotintegrationapi.dto.request;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
 public record ContactCreateRequest(
         @NotBlank(message = "Email é obrigatório") @Email(message = "Formato de email inválido") String email,
         @NotBlank(message = "Primeiro nome é obrigatório") String firstname,
-        @NotBlank(message = "Sobrenome é obrigatório") String lastname, String phone, String website) {}
+        @NotBlank(message = "Sobrenome é obrigatório") String lastname, String phone, String website,
+        Map<@NotBlank(message = "Nome de propriedade não pode ser vazio") String, String> properties,
+        List<@Valid ContactAssociation> associations) {
+
+    public static final Set<String> STANDARD_PROPERTIES = Set.of("email", "firstname", "lastname", "phone", "website");
+
+    @JsonCreator
+    public ContactCreateRequest {}
+
+    public ContactCreateRequest(final String email, final String firstname, final String lastname,
+                                final String phone, final String website) {
+        this(email, firstname, lastname, phone, website, null, null);
+    }
+
+    public ContactCreateRequest(final String email, final String firstname, final String lastname,
+                                final String phone, final String website, final Map<String, String> properties) {
+        this(email, firstname, lastname, phone, website, properties, null);
+    }
+
+    public boolean hasAssociations() {
+        return associations != null && !associations.isEmpty();
+    }
+
+    // Custom properties never override the standard fields.
+    public void forEachProperty(final BiConsumer<String, String> action) {
+        acceptIfPresent(action, "email", email);
+        acceptIfPresent(action, "firstname", firstname);
+        acceptIfPresent(action, "lastname", lastname);
+        acceptIfPresent(action, "phone", phone);
+        acceptIfPresent(action, "website", website);
+        if (properties != null) {
+            for (final Map.Entry<String, String> property : properties.entrySet()) {
+                if (!STANDARD_PROPERTIES.contains(property.getKey())) {
+                    acceptIfPresent(action, property.getKey(), property.getValue());
+                }
+            }
+        }
+    }
+
+    private static void acceptIfPresent(final BiConsumer<String, String> action, final String name, final String value) {
+        if (value != null) {
+            action.accept(name, value);
+        }
+    }
+
+}
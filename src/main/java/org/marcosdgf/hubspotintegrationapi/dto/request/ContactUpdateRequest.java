@@ -0,0 +1,10 @@
+package org.marcosdgf.hubspotintegrationapi.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.Map;
+
+public record ContactUpdateRequest(
+        @NotEmpty(message = "Informe ao menos uma propriedade")
+        Map<@NotBlank(message = "Nome de propriedade não pode ser vazio") String, String> properties) {}
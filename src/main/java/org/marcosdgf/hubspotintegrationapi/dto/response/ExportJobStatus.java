@@ -0,0 +1,31 @@
+package org.marcosdgf.hubspotintegrationapi.dto.response;
+
+import java.time.Instant;
+
+public record ExportJobStatus(
+        String exportId,
+        State state,
+        String startCursor,
+        String nextCursor,
+        long pagesWritten,
+        long recordsWritten,
+        Instant startedAt,
+        Instant updatedAt,
+        String failureReason) {
+
+    public enum State { RUNNING, COMPLETED, FAILED, INTERRUPTED }
+
+    // The cursor is only cleared once the last page has been written, whatever state the job was left in.
+    public boolean allPagesWritten() {
+        return nextCursor == null && pagesWritten > 0;
+    }
+
+    public String resumeCursor() {
+        return pagesWritten > 0 ? nextCursor : startCursor;
+    }
+
+    public ExportJobStatus withState(final State newState) {
+        return new ExportJobStatus(exportId, newState, startCursor, nextCursor, pagesWritten, recordsWritten, startedAt, updatedAt, failureReason);
+    }
+
+}
@@ -0,0 +1,5 @@
+package org.marcosdgf.hubspotintegrationapi.dto.response;
+
+import java.util.Map;
+
+public record HubSpotObjectResponse(String id, Map<String, String> properties) {}
@@ -0,0 +1,5 @@
+package org.marcosdgf.hubspotintegrationapi.dto.response;
+
+import java.util.List;
+
+public record HubSpotPropertyCollectionResponse(List<HubSpotPropertyDefinition> results) {}
@@ -0,0 +1,18 @@
+package org.marcosdgf.hubspotintegrationapi.dto.response;
+
+import java.util.List;
+
+public record HubSpotPropertyDefinition(
+        String name,
+        String type,
+        String fieldType,
+        List<Option> options,
+        ModificationMetadata modificationMetadata,
+        Boolean calculated,
+        Boolean hidden) {
+
+    public record Option(String label, String value, Boolean hidden) {}
+
+    public record ModificationMetadata(Boolean readOnlyValue, Boolean readOnlyDefinition, Boolean archivable) {}
+
+}
@@ -0,0 +1,26 @@
+package org.marcosdgf.hubspotintegrationapi.dto.response;
+
+import java.time.Instant;
+
+public record ImportJobStatus(
+        String jobId,
+        String format,
+        State state,
+        long rowsRead,
+        long rowsSkipped,
+        long rowsImported,
+        long rowsFailed,
+        long batchesSent,
+        long committedRows,
+        Instant startedAt,
+        Instant updatedAt,
+        String failureReason) {
+
+    public enum State { RUNNING, COMPLETED, FAILED, INTERRUPTED }
+
+    public ImportJobStatus withState(final State newState) {
+        return new ImportJobStatus(jobId, format, newState, rowsRead, rowsSkipped, rowsImported, rowsFailed,
+                batchesSent, committedRows, startedAt, updatedAt, failureReason);
+    }
+
+}
@@ -0,0 +1,10 @@
+package org.marcosdgf.hubspotintegrationapi.dto.webhook;
+
+import java.util.Map;
+
+// All property changes received for one object within a coalescing window, latest value per property.
+public record ContactChangeSet(long objectId, Integer portalId, Map<String, PropertyChange> changes, int eventCount) {
+
+    public record PropertyChange(String value, long occurredAt) {}
+
+}
@@ -1,32 +1,21 @@
 package org.marcosdgf.hubspotintegrationapi.dto.webhook;
 
-import com.fasterxml.jackson.annotation.JsonProperty;
-import lombok.Data;
-import lombok.NoArgsConstructor;
-
-@Data
-@NoArgsConstructor
-public class HubSpotEvent {
-
-    @JsonProperty("objectId")
-    private Long objectId;
-
-    @JsonProperty("subscriptionType")
-    private String subscriptionType;
-
-    @JsonProperty("eventId")
-    private Long eventId;
-
-    @JsonProperty("portalId")
-    private Integer portalId;
-
-    @JsonProperty("occurredAt")
-    private Long occurredAt;
-
-    @JsonProperty("propertyName")
-    private String propertyName;
-
-    @JsonProperty("propertyValue")
-    private String propertyValue;
+// One webhook event, sized for buffering: primitive fields (0 when HubSpot omits them), an enumerated
+// subscription type and a property name shared through PropertyNameDictionary. Built by HubSpotEventDecoder.
+public record HubSpotEvent(long objectId,
+                           SubscriptionType subscriptionType,
+                           long eventId,
+                           int portalId,
+                           long occurredAt,
+                           String propertyName,
+                           String propertyValue) {
+
+    public boolean hasObjectId() {
+        return objectId != 0;
+    }
+
+    public boolean is(final SubscriptionType type) {
+        return subscriptionType == type;
+    }
 
 }
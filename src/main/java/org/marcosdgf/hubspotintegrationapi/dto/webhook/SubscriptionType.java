@@ -0,0 +1,55 @@
+package org.marcosdgf.hubspotintegrationapi.dto.webhook;
+
+public enum SubscriptionType {
+
+    CONTACT_CREATION("contact.creation"),
+    CONTACT_DELETION("contact.deletion"),
+    CONTACT_PROPERTY_CHANGE("contact.propertyChange"),
+    CONTACT_PRIVACY_DELETION("contact.privacyDeletion"),
+    CONTACT_MERGE("contact.merge"),
+    CONTACT_RESTORE("contact.restore"),
+    CONTACT_ASSOCIATION_CHANGE("contact.associationChange"),
+    UNKNOWN("unknown");
+
+    private static final SubscriptionType[] KNOWN = {
+            CONTACT_CREATION, CONTACT_DELETION, CONTACT_PROPERTY_CHANGE, CONTACT_PRIVACY_DELETION,
+            CONTACT_MERGE, CONTACT_RESTORE, CONTACT_ASSOCIATION_CHANGE};
+
+    private final String wireName;
+
+    SubscriptionType(final String wireName) {
+        this.wireName = wireName;
+    }
+
+    public String wireName() {
+        return wireName;
+    }
+
+    // Matched against the parser's character buffer, so decoding a known type allocates nothing.
+    public static SubscriptionType of(final char[] chars, final int offset, final int length) {
+        for (final SubscriptionType type : KNOWN) {
+            if (type.matches(chars, offset, length)) {
+                return type;
+            }
+        }
+        return UNKNOWN;
+    }
+
+    public static SubscriptionType of(final String wireName) {
+        return wireName == null ? UNKNOWN : of(wireName.toCharArray(), 0, wireName.length());
+    }
+
+    // Case-insensitive, as HubSpot's casing of the type names has not always been consistent.
+    private boolean matches(final char[] chars, final int offset, final int length) {
+        if (wireName.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (Character.toLowerCase(wireName.charAt(i)) != Character.toLowerCase(chars[offset + i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
@@ -0,0 +1,89 @@
+package org.marcosdgf.hubspotintegrationapi.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import feign.FeignException;
+import lombok.extern.slf4j.Slf4j;
+import org.marcosdgf.hubspotintegrationapi.client.HubSpotCrmClient;
+import org.marcosdgf.hubspotintegrationapi.client.payload.ContactPayloadWriter;
+import org.marcosdgf.hubspotintegrationapi.dto.request.ContactAssociation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Associations that could not travel inline with a create (e.g. the contact already existed) are sent through the
+// v4 batch endpoint: one call per target object type and batch-size associations, instead of one call per pair.
+@Slf4j
+@Service
+public class ContactAssociationService {
+
+    private final HubSpotCrmClient hubSpotCrmClient;
+    private final ContactPayloadWriter contactPayloadWriter;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+
+    public ContactAssociationService(final HubSpotCrmClient hubSpotCrmClient,
+                                     final ContactPayloadWriter contactPayloadWriter,
+                                     final ObjectMapper objectMapper,
+                                     @Value("${hubspot.api.associations.batch-size:100}") final int batchSize) {
+        this.hubSpotCrmClient = hubSpotCrmClient;
+        this.contactPayloadWriter = contactPayloadWriter;
+        this.objectMapper = objectMapper;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    // Never throws for HubSpot errors: the contact itself was already written, so failed calls and the per-input
+    // errors of a 207 partial success are returned for the caller to report.
+    public List<String> associate(final long contactId, final List<ContactAssociation> associations) {
+        if (associations == null || associations.isEmpty()) {
+            return List.of();
+        }
+
+        final Map<String, List<ContactAssociation>> byObjectType = new LinkedHashMap<>();
+        for (final ContactAssociation association : associations) {
+            byObjectType.computeIfAbsent(association.toObjectType(), type -> new ArrayList<>()).add(association);
+        }
+
+        final List<String> failures = new ArrayList<>();
+        int calls = 0;
+        for (final Map.Entry<String, List<ContactAssociation>> group : byObjectType.entrySet()) {
+            final String objectType = group.getKey();
+            final List<ContactAssociation> targets = group.getValue();
+            for (int from = 0; from < targets.size(); from += batchSize) {
+                final List<ContactAssociation> batch = targets.subList(from, Math.min(from + batchSize, targets.size()));
+                calls++;
+                try {
+                    collectErrors(objectType, hubSpotCrmClient.batchCreateContactAssociations(objectType,
+                            contactPayloadWriter.writeAssociationBatch(contactId, batch)), failures);
+                } catch (final FeignException e) {
+                    log.warn("Association batch for contact {} to {} failed with status {}: {}",
+                            contactId, objectType, e.status(), e.contentUTF8());
+                    failures.add(objectType + ": " + batch.size() + " associação(ões) rejeitada(s) pelo HubSpot (status " + e.status() + ")");
+                }
+            }
+        }
+        log.debug("Associated contact {} with {} object(s) in {} batch call(s), {} failure(s).",
+                contactId, associations.size(), calls, failures.size());
+        return failures;
+    }
+
+    // A 207 response lists the inputs HubSpot could not associate under "errors".
+    private void collectErrors(final String objectType, final String responseBody, final List<String> failures) {
+        if (responseBody == null || responseBody.isEmpty()) {
+            return;
+        }
+        try {
+            for (final JsonNode error : objectMapper.readTree(responseBody).path("errors")) {
+                failures.add(objectType + ": " + error.path("message").asText("erro sem mensagem"));
+            }
+        } catch (final JsonProcessingException e) {
+            log.warn("Could not read association batch response: {}", e.getMessage());
+        }
+    }
+
+}
@@ -0,0 +1,211 @@
+package org.marcosdgf.hubspotintegrationapi.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import feign.Response;
+import feign.Util;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.marcosdgf.hubspotintegrationapi.client.HubSpotCrmClient;
+import org.marcosdgf.hubspotintegrationapi.client.scheduling.Lane;
+import org.marcosdgf.hubspotintegrationapi.client.scheduling.LaneContext;
+import org.marcosdgf.hubspotintegrationapi.dto.request.ContactCreateRequest;
+import org.marcosdgf.hubspotintegrationapi.dto.response.HubSpotPropertyCollectionResponse;
+import org.marcosdgf.hubspotintegrationapi.dto.response.HubSpotPropertyDefinition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ContactPropertySchemaService {
+
+    private static final String ENUMERATION_TYPE = "enumeration";
+    private static final String NUMBER_TYPE = "number";
+    private static final String BOOL_TYPE = "bool";
+    private static final String CHECKBOX_FIELD_TYPE = "checkbox";
+    private static final String MULTI_VALUE_SEPARATOR = ";";
+
+    private final HubSpotCrmClient hubSpotCrmClient;
+    private final ObjectMapper objectMapper;
+    private final TokenStorageService tokenStorageService;
+
+    private volatile PropertySchema schema = PropertySchema.EMPTY;
+
+    @Scheduled(fixedDelayString = "${hubspot.api.properties.refresh-interval:PT5M}")
+    public void refresh() {
+        if (!tokenStorageService.hasTokens()) {
+            log.debug("Skipping contact property schema refresh: the app has not been authorized yet.");
+            return;
+        }
+        final PropertySchema current = this.schema;
+
+        try (Response response = LaneContext.callAs(Lane.BULK,
+                () -> hubSpotCrmClient.getContactProperties(current.etag(), current.lastModified()))) {
+            if (response.status() == HttpStatus.NOT_MODIFIED.value()) {
+                log.debug("Contact property schema not modified since {}.", current.refreshedAt());
+                return;
+            }
+            if (response.status() < 200 || response.status() >= 300 || response.body() == null) {
+                log.warn("Could not refresh contact property schema: HubSpot returned status {}.", response.status());
+                return;
+            }
+
+            final byte[] body;
+            try (InputStream in = response.body().asInputStream()) {
+                body = Util.toByteArray(in);
+            }
+            final byte[] digest = sha256(body);
+            final String etag = firstHeader(response, HttpHeaders.ETAG);
+            final String lastModified = firstHeader(response, HttpHeaders.LAST_MODIFIED);
+
+            if (MessageDigest.isEqual(digest, current.digest())) {
+                this.schema = current.withValidators(etag, lastModified);
+                log.debug("Contact property schema unchanged (same content digest).");
+                return;
+            }
+
+            final HubSpotPropertyCollectionResponse collection =
+                    objectMapper.readValue(body, HubSpotPropertyCollectionResponse.class);
+            this.schema = PropertySchema.from(collection, etag, lastModified, digest);
+            log.info("Contact property schema refreshed with {} properties.", this.schema.rules().size());
+        } catch (final Exception e) {
+            log.warn("Failed to refresh contact property schema: {}", e.getMessage(), e);
+        }
+    }
+
+    public boolean isLoaded() {
+        return !this.schema.rules().isEmpty();
+    }
+
+    public List<String> validate(final ContactCreateRequest contact) {
+        final List<String> violations = new ArrayList<>();
+        final PropertySchema current = this.schema;
+        if (!current.rules().isEmpty()) {
+            contact.forEachProperty((name, value) -> validateProperty(current, name, value, violations));
+        }
+        return violations;
+    }
+
+    public List<String> validate(final Map<String, String> properties) {
+        final List<String> violations = new ArrayList<>();
+        final PropertySchema current = this.schema;
+        if (!current.rules().isEmpty()) {
+            properties.forEach((name, value) -> validateProperty(current, name, value, violations));
+        }
+        return violations;
+    }
+
+    // HubSpot accepts an empty string to clear any property, so only non-empty values are type-checked.
+    private static void validateProperty(final PropertySchema schema, final String name, final String value,
+                                         final List<String> violations) {
+        final PropertyRule rule = schema.rules().get(name);
+        if (rule == null) {
+            violations.add("Propriedade desconhecida: " + name);
+            return;
+        }
+        if (rule.readOnly()) {
+            violations.add("Propriedade somente leitura: " + name);
+            return;
+        }
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+
+        switch (rule.type()) {
+            case ENUMERATION_TYPE -> {
+                final Collection<String> values = rule.multiValued()
+                        ? Arrays.asList(value.split(MULTI_VALUE_SEPARATOR))
+                        : List.of(value);
+                for (final String option : values) {
+                    if (!rule.allowedValues().contains(option)) {
+                        violations.add("Valor inválido para " + name + ": " + option);
+                    }
+                }
+            }
+            case NUMBER_TYPE -> {
+                try {
+                    new BigDecimal(value);
+                } catch (final NumberFormatException e) {
+                    violations.add("Valor numérico inválido para " + name + ": " + value);
+                }
+            }
+            case BOOL_TYPE -> {
+                if (!"true".equalsIgnoreCase(value) && !"false".equalsIgnoreCase(value)) {
+                    violations.add("Valor booleano inválido para " + name + ": " + value);
+                }
+            }
+            default -> {
+            }
+        }
+    }
+
+    private static String firstHeader(final Response response, final String name) {
+        final Collection<String> values = response.headers().get(name);
+        return values == null || values.isEmpty() ? null : values.iterator().next();
+    }
+
+    private static byte[] sha256(final byte[] body) throws NoSuchAlgorithmException {
+        return MessageDigest.getInstance("SHA-256").digest(body);
+    }
+
+    record PropertyRule(String type, boolean readOnly, boolean multiValued, Set<String> allowedValues) {}
+
+    record PropertySchema(Map<String, PropertyRule> rules, String etag, String lastModified, byte[] digest,
+                          Instant refreshedAt) {
+
+        static final PropertySchema EMPTY = new PropertySchema(Map.of(), null, null, new byte[0], null);
+
+        static PropertySchema from(final HubSpotPropertyCollectionResponse collection, final String etag,
+                                   final String lastModified, final byte[] digest) {
+            final Map<String, PropertyRule> rules = new HashMap<>();
+            if (collection.results() != null) {
+                for (final HubSpotPropertyDefinition definition : collection.results()) {
+                    rules.put(definition.name(), toRule(definition));
+                }
+            }
+            return new PropertySchema(Map.copyOf(rules), etag, lastModified, digest, Instant.now());
+        }
+
+        PropertySchema withValidators(final String newEtag, final String newLastModified) {
+            return new PropertySchema(rules, newEtag, newLastModified, digest, Instant.now());
+        }
+
+        private static PropertyRule toRule(final HubSpotPropertyDefinition definition) {
+            final boolean readOnly = Boolean.TRUE.equals(definition.calculated())
+                    || (definition.modificationMetadata() != null
+                    && Boolean.TRUE.equals(definition.modificationMetadata().readOnlyValue()));
+            final Set<String> allowedValues = new HashSet<>();
+            if (definition.options() != null) {
+                for (final HubSpotPropertyDefinition.Option option : definition.options()) {
+                    if (option.value() != null) {
+                        allowedValues.add(option.value());
+                    }
+                }
+            }
+            return new PropertyRule(
+                    definition.type() != null ? definition.type() : "",
+                    readOnly,
+                    CHECKBOX_FIELD_TYPE.equals(definition.fieldType()),
+                    Set.copyOf(allowedValues));
+        }
+
+    }
+
+}
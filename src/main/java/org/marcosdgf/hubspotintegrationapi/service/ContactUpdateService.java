@@ -0,0 +1,92 @@
+package org.marcosdgf.hubspotintegrationapi.service;
+
+import feign.FeignException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.marcosdgf.hubspotintegrationapi.client.HubSpotCrmClient;
+import org.marcosdgf.hubspotintegrationapi.client.payload.ContactPayloadWriter;
+import org.marcosdgf.hubspotintegrationapi.service.fingerprint.ContactFingerprintStore;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Slf4j
+@Service
+public class ContactUpdateService {
+
+    private final HubSpotCrmClient hubSpotCrmClient;
+    private final ContactPayloadWriter contactPayloadWriter;
+    private final ContactFingerprintStore contactFingerprintStore;
+
+    private final Counter updatesSent;
+    private final Counter updatesSkipped;
+    private final Counter propertiesWritten;
+    private final Counter propertiesUnchanged;
+
+    public ContactUpdateService(final HubSpotCrmClient hubSpotCrmClient,
+                                final ContactPayloadWriter contactPayloadWriter,
+                                final ContactFingerprintStore contactFingerprintStore,
+                                final MeterRegistry meterRegistry) {
+        this.hubSpotCrmClient = hubSpotCrmClient;
+        this.contactPayloadWriter = contactPayloadWriter;
+        this.contactFingerprintStore = contactFingerprintStore;
+        this.updatesSent = Counter.builder("hubspot.contacts.updates")
+                .description("Contact update requests, by whether a HubSpot write was needed")
+                .tag("outcome", "sent").register(meterRegistry);
+        this.updatesSkipped = Counter.builder("hubspot.contacts.updates")
+                .description("Contact update requests, by whether a HubSpot write was needed")
+                .tag("outcome", "skipped").register(meterRegistry);
+        this.propertiesWritten = Counter.builder("hubspot.contacts.update.properties")
+                .description("Properties received in contact updates, by whether they were sent to HubSpot")
+                .tag("outcome", "written").register(meterRegistry);
+        this.propertiesUnchanged = Counter.builder("hubspot.contacts.update.properties")
+                .description("Properties received in contact updates, by whether they were sent to HubSpot")
+                .tag("outcome", "unchanged").register(meterRegistry);
+    }
+
+    public UpdateResult update(final long contactId, final Map<String, String> properties, final boolean force) {
+        final Map<String, String> changed = force
+                ? withoutNullValues(properties)
+                : contactFingerprintStore.changedProperties(contactId, properties);
+        propertiesUnchanged.increment(properties.size() - changed.size());
+
+        if (changed.isEmpty()) {
+            updatesSkipped.increment();
+            log.debug("Update of contact {} skipped, all {} properties unchanged.", contactId, properties.size());
+            return new UpdateResult(0, null);
+        }
+
+        try {
+            final String responseBody = hubSpotCrmClient.updateContact(
+                    String.valueOf(contactId), contactPayloadWriter.writeProperties(changed));
+            contactFingerprintStore.record(contactId, changed);
+            updatesSent.increment();
+            propertiesWritten.increment(changed.size());
+            return new UpdateResult(changed.size(), responseBody);
+        } catch (final FeignException.NotFound e) {
+            contactFingerprintStore.remove(contactId);
+            throw e;
+        }
+    }
+
+    private static Map<String, String> withoutNullValues(final Map<String, String> properties) {
+        final Map<String, String> present = new LinkedHashMap<>();
+        properties.forEach((name, value) -> {
+            if (value != null) {
+                present.put(name, value);
+            }
+        });
+        return present;
+    }
+
+    public record UpdateResult(int changedProperties, String responseBody) {
+
+        public boolean skipped() {
+            return changedProperties == 0;
+        }
+
+    }
+
+}
@@ -0,0 +1,111 @@
+package org.marcosdgf.hubspotintegrationapi.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import feign.FeignException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.marcosdgf.hubspotintegrationapi.client.HubSpotCrmClient;
+import org.marcosdgf.hubspotintegrationapi.client.payload.ContactPayloadWriter;
+import org.marcosdgf.hubspotintegrationapi.dto.request.ContactCreateRequest;
+import org.marcosdgf.hubspotintegrationapi.service.index.ContactEmailIndex;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ContactUpsertService {
+
+    private static final Pattern EXISTING_ID = Pattern.compile("Existing ID: (\\d+)");
+
+    private final HubSpotCrmClient hubSpotCrmClient;
+    private final ContactPayloadWriter contactPayloadWriter;
+    private final ContactEmailIndex contactEmailIndex;
+    private final ObjectMapper objectMapper;
+    private final ContactAssociationService contactAssociationService;
+
+    public UpsertResult upsert(final ContactCreateRequest contactRequest) {
+        // Once backfilled, a bloom filter miss means the email is new and the lookup can be skipped entirely.
+        if (contactEmailIndex.isReady() && !contactEmailIndex.mightContain(contactRequest.email())) {
+            return create(contactRequest, true);
+        }
+
+        final OptionalLong contactId = contactEmailIndex.find(contactRequest.email());
+        if (contactId.isPresent()) {
+            return update(contactRequest, contactId.getAsLong());
+        }
+        return create(contactRequest, true);
+    }
+
+    // Creates carry the associations inline; updates cannot, so they are batched once the patch succeeded.
+    private UpsertResult create(final ContactCreateRequest contactRequest, final boolean resolveConflict) {
+        final String email = contactRequest.email();
+        try {
+            final String responseBody = hubSpotCrmClient.createContact(contactPayloadWriter.write(contactRequest));
+            final long contactId = readId(responseBody);
+            if (contactId > 0) {
+                contactEmailIndex.put(email, contactId);
+            }
+            return new UpsertResult(Operation.CREATED, responseBody);
+        } catch (final FeignException.Conflict e) {
+            final long existingId = existingId(e.contentUTF8());
+            if (!resolveConflict || existingId < 0) {
+                throw e;
+            }
+            // The index was stale; HubSpot tells us which contact already owns the email.
+            log.debug("Create conflicted with existing contact {}, falling back to update.", existingId);
+            contactEmailIndex.put(email, existingId);
+            return update(contactRequest, existingId);
+        }
+    }
+
+    private UpsertResult update(final ContactCreateRequest contactRequest, final long contactId) {
+        final String responseBody;
+        try {
+            responseBody = hubSpotCrmClient.updateContact(String.valueOf(contactId), contactPayloadWriter.write(contactRequest, false));
+        } catch (final FeignException.NotFound e) {
+            log.debug("Indexed contact {} no longer exists, creating it again.", contactId);
+            contactEmailIndex.remove(contactId);
+            return create(contactRequest, false);
+        }
+        return new UpsertResult(Operation.UPDATED, responseBody,
+                contactAssociationService.associate(contactId, contactRequest.associations()));
+    }
+
+    private long readId(final String responseBody) {
+        try {
+            return objectMapper.readTree(responseBody).path("id").asLong(-1);
+        } catch (final JsonProcessingException e) {
+            log.warn("Could not read contact id from HubSpot response: {}", e.getMessage());
+            return -1;
+        }
+    }
+
+    private static long existingId(final String errorBody) {
+        if (errorBody == null) {
+            return -1;
+        }
+        final Matcher matcher = EXISTING_ID.matcher(errorBody);
+        return matcher.find() ? Long.parseLong(matcher.group(1)) : -1;
+    }
+
+    public enum Operation {
+        CREATED,
+        UPDATED
+    }
+
+    // associationFailures lists associations that could not be created after the contact itself was written.
+    public record UpsertResult(Operation operation, String responseBody, List<String> associationFailures) {
+
+        public UpsertResult(final Operation operation, final String responseBody) {
+            this(operation, responseBody, List.of());
+        }
+
+    }
+
+}
@@ -0,0 +1,84 @@
+package org.marcosdgf.hubspotintegrationapi.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+@Slf4j
+public abstract class FileCheckpointStore<T> {
+
+    private static final Pattern JOB_ID_PATTERN = Pattern.compile("[A-Za-z0-9-]{1,64}");
+
+    private final ObjectMapper objectMapper;
+    private final Path stateDirectory;
+    private final Class<T> checkpointType;
+
+    protected FileCheckpointStore(final ObjectMapper objectMapper, final Path stateDirectory, final Class<T> checkpointType) {
+        this.objectMapper = objectMapper;
+        this.stateDirectory = stateDirectory;
+        this.checkpointType = checkpointType;
+    }
+
+    // Every save writes its own temporary file, so concurrent saves of one job can never mix their bytes; callers are
+    // still responsible for ordering them.
+    protected void save(final String jobId, final T checkpoint) {
+        final Path target = resolve(jobId, ".json");
+        Path temporary = null;
+        try {
+            Files.createDirectories(stateDirectory);
+            temporary = Files.createTempFile(stateDirectory, jobId + ".", ".json.tmp");
+            Files.write(temporary, objectMapper.writeValueAsBytes(checkpoint));
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (final IOException e) {
+            deleteQuietly(temporary);
+            throw new UncheckedIOException("Failed to persist checkpoint for job " + jobId, e);
+        }
+    }
+
+    private static void deleteQuietly(final Path temporary) {
+        if (temporary == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(temporary);
+        } catch (final IOException e) {
+            log.debug("Could not delete temporary checkpoint {}: {}", temporary, e.getMessage());
+        }
+    }
+
+    public Optional<T> load(final String jobId) {
+        final Path path = resolve(jobId, ".json");
+        if (!Files.exists(path)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(objectMapper.readValue(path.toFile(), checkpointType));
+        } catch (final IOException e) {
+            log.warn("Could not read checkpoint for job {}: {}", jobId, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    public static boolean isValidJobId(final String jobId) {
+        return jobId != null && JOB_ID_PATTERN.matcher(jobId).matches();
+    }
+
+    protected Path resolve(final String jobId, final String suffix) {
+        if (!isValidJobId(jobId)) {
+            throw new IllegalArgumentException("Identificador de job inválido: " + jobId);
+        }
+        return stateDirectory.resolve(jobId + suffix);
+    }
+
+    protected Path stateDirectory() {
+        return stateDirectory;
+    }
+
+}
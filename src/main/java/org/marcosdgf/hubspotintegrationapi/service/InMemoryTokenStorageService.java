@@ -1,6 +1,7 @@
 package org.marcosdgf.hubspotintegrationapi.service;
 
 import feign.FeignException;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.marcosdgf.hubspotintegrationapi.client.HubSpotOAuthClient;
@@ -9,6 +10,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
+import java.util.concurrent.locks.ReentrantLock;
 
 @Slf4j
 @Service
@@ -16,6 +18,7 @@ import java.time.Duration;
 public class InMemoryTokenStorageService implements TokenStorageService {
 
     private final HubSpotOAuthClient hubSpotOAuthClient;
+    private final MeterRegistry meterRegistry;
 
     @Value("${hubspot.client.id}")
     private String hubspotClientId;
@@ -23,6 +26,9 @@ public class InMemoryTokenStorageService implements TokenStorageService {
     @Value("${hubspot.client.secret}")
     private String hubspotClientSecret;
 
+    // A lock rather than synchronized: the refresh call blocks on HTTP and must not pin a virtual thread's carrier.
+    private final ReentrantLock lock = new ReentrantLock();
+
     private String accessToken;
     private String refreshToken;
     private long expiresAtMillis;
@@ -30,48 +36,71 @@ public class InMemoryTokenStorageService implements TokenStorageService {
     private static final long EXPIRY_MARGIN_MILLIS = Duration.ofMinutes(5).toMillis();
 
     @Override
-    public synchronized void storeTokens(final HubSpotTokenResponse tokenResponse) {
-        this.accessToken = tokenResponse.accessToken();
-        if (tokenResponse.refreshToken() != null) {
-            this.refreshToken = tokenResponse.refreshToken();
+    public void storeTokens(final HubSpotTokenResponse tokenResponse) {
+        lock.lock();
+        try {
+            this.accessToken = tokenResponse.accessToken();
+            if (tokenResponse.refreshToken() != null) {
+                this.refreshToken = tokenResponse.refreshToken();
+            }
+            this.expiresAtMillis = System.currentTimeMillis() + (tokenResponse.expiresIn() * 1000L);
+
+            log.debug("Tokens stored in memory. Access token expires around: {}",
+                    new java.util.Date(this.expiresAtMillis));
+        } finally {
+            lock.unlock();
         }
-        this.expiresAtMillis = System.currentTimeMillis() + (tokenResponse.expiresIn() * 1000L);
+    }
 
-        log.debug("Tokens stored in memory. Access token expires around: {}",
-                new java.util.Date(this.expiresAtMillis));
+    @Override
+    public boolean hasTokens() {
+        lock.lock();
+        try {
+            return this.accessToken != null || this.refreshToken != null;
+        } finally {
+            lock.unlock();
+        }
     }
 
     @Override
-    public synchronized String getAccessToken() {
-        if (isTokenInvalidOrExpired()) {
-            log.warn("Access token is null or expired (or nearing expiry). Attempting refresh.");
-
-            if (this.refreshToken == null) {
-                log.error("Refresh token is null. Cannot refresh access token. Re-authentication required.");
-                invalidateTokens();
-                return null;
-            }
+    public String getAccessToken() {
+        lock.lock();
+        try {
+            if (isTokenInvalidOrExpired()) {
+                log.warn("Access token is null or expired (or nearing expiry). Attempting refresh.");
+
+                if (this.refreshToken == null) {
+                    log.error("Refresh token is null. Cannot refresh access token. Re-authentication required.");
+                    invalidateTokens("missing_refresh_token");
+                    return null;
+                }
 
-            try {
-                final HubSpotTokenResponse refreshedTokenResponse = attemptTokenRefreshWithFeign();
-                if (refreshedTokenResponse != null) {
-                    log.info("Token refreshed successfully via Feign.");
-                    storeTokens(refreshedTokenResponse);
-                    return this.accessToken;
-                } else {
-                    log.error("Token refresh attempt via Feign failed, response was null.");
-                    invalidateTokens();
+                try {
+                    final HubSpotTokenResponse refreshedTokenResponse = attemptTokenRefreshWithFeign();
+                    if (refreshedTokenResponse != null) {
+                        log.info("Token refreshed successfully via Feign.");
+                        meterRegistry.counter("hubspot.oauth.token.refreshes", "outcome", "success").increment();
+                        storeTokens(refreshedTokenResponse);
+                        return this.accessToken;
+                    } else {
+                        log.error("Token refresh attempt via Feign failed, response was null.");
+                        meterRegistry.counter("hubspot.oauth.token.refreshes", "outcome", "failure").increment();
+                        invalidateTokens("refresh_failed");
+                        return null;
+                    }
+                } catch (Exception e) {
+                    log.error("Exception occurred during token refresh process: {}", e.getMessage(), e);
+                    meterRegistry.counter("hubspot.oauth.token.refreshes", "outcome", "failure").increment();
+                    invalidateTokens("refresh_failed");
                     return null;
                 }
-            } catch (Exception e) {
-                log.error("Exception occurred during token refresh process: {}", e.getMessage(), e);
-                invalidateTokens();
-                return null;
             }
-        }
 
-        log.debug("Returning valid access token.");
-        return this.accessToken;
+            log.debug("Returning valid access token.");
+            return this.accessToken;
+        } finally {
+            lock.unlock();
+        }
     }
 
     private boolean isTokenInvalidOrExpired() {
@@ -93,7 +122,7 @@ public class InMemoryTokenStorageService implements TokenStorageService {
                     e.status(), e.contentUTF8(), e);
             if (e.status() >= 400 && e.status() < 500) {
                 log.error("Client error {} during refresh, likely invalid refresh token or client credentials. Re-authentication required.", e.status());
-                invalidateTokens();
+                invalidateTokens("client_error");
             }
             return null;
         } catch (final Exception e) {
@@ -102,8 +131,12 @@ public class InMemoryTokenStorageService implements TokenStorageService {
         }
     }
 
-    private void invalidateTokens() {
+    // Token events are rare, so counters are looked up on use rather than held in fields.
+    private void invalidateTokens(final String reason) {
         log.warn("Invalidating stored tokens due to refresh failure or client error.");
+        if (this.accessToken != null || this.refreshToken != null) {
+            meterRegistry.counter("hubspot.oauth.token.invalidations", "reason", reason).increment();
+        }
         this.accessToken = null;
         this.refreshToken = null;
         this.expiresAtMillis = 0;
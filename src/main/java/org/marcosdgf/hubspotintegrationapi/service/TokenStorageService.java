@@ -6,5 +6,7 @@ public interface TokenStorageService {
 
     void storeTokens(final HubSpotTokenResponse tokenResponse);
     String getAccessToken();
+    // True once the app has been authorized and the tokens were not invalidated since; never triggers a refresh.
+    boolean hasTokens();
 
 }
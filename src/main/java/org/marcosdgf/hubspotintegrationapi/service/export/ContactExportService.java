@@ -0,0 +1,203 @@
+package org.marcosdgf.hubspotintegrationapi.service.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import feign.Response;
+import lombok.extern.slf4j.Slf4j;
+import org.marcosdgf.hubspotintegrationapi.client.HubSpotCrmClient;
+import org.marcosdgf.hubspotintegrationapi.client.scheduling.Lane;
+import org.marcosdgf.hubspotintegrationapi.client.scheduling.LaneContext;
+import org.marcosdgf.hubspotintegrationapi.dto.response.ExportJobStatus;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+@Slf4j
+@Service
+public class ContactExportService {
+
+    private final HubSpotCrmClient hubSpotCrmClient;
+    private final ObjectMapper objectMapper;
+    private final ExportJobStore exportJobStore;
+    private final Executor prefetchExecutor;
+    private final Map<String, ExportJob> activeExports = new ConcurrentHashMap<>();
+
+    private final int pageSize;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+
+    public ContactExportService(final HubSpotCrmClient hubSpotCrmClient,
+                                final ObjectMapper objectMapper,
+                                final ExportJobStore exportJobStore,
+                                @Qualifier("applicationTaskExecutor") final Executor prefetchExecutor,
+                                @Value("${hubspot.export.page-size:100}") final int pageSize,
+                                @Value("${hubspot.export.max-attempts:4}") final int maxAttempts,
+                                @Value("${hubspot.export.retry-backoff:PT1S}") final Duration retryBackoff) {
+        this.hubSpotCrmClient = hubSpotCrmClient;
+        this.objectMapper = objectMapper;
+        this.exportJobStore = exportJobStore;
+        this.prefetchExecutor = prefetchExecutor;
+        this.pageSize = Math.min(pageSize, 100);
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+    }
+
+    public String start(final String resumeExportId, final String after) {
+        final ExportJob job;
+        if (resumeExportId != null) {
+            final ExportJobStatus checkpoint = exportJobStore.load(resumeExportId).orElseThrow(() ->
+                    new ExportNotFoundException("Exportação não encontrada: " + resumeExportId));
+            if (checkpoint.state() == ExportJobStatus.State.COMPLETED) {
+                throw new ExportAlreadyCompletedException("Exportação já concluída: " + resumeExportId);
+            }
+            if (checkpoint.allPagesWritten()) {
+                // Stopped after its last page was written but before it was marked completed.
+                exportJobStore.save(checkpoint.withState(ExportJobStatus.State.COMPLETED));
+                throw new ExportAlreadyCompletedException("Exportação já concluída: " + resumeExportId);
+            }
+            job = new ExportJob(resumeExportId, checkpoint.startCursor(), checkpoint);
+        } else {
+            job = new ExportJob(UUID.randomUUID().toString(), after, null);
+        }
+
+        if (activeExports.putIfAbsent(job.exportId(), job) != null) {
+            throw new ExportAlreadyRunningException("Exportação já está em execução: " + job.exportId());
+        }
+        exportJobStore.save(job.status());
+        log.info("Export {} started from cursor {}.", job.exportId(), job.cursor());
+        return job.exportId();
+    }
+
+    public ExportJobStatus stream(final String exportId, final String properties, final OutputStream out) throws IOException {
+        final ExportJob job = activeExports.get(exportId);
+        if (job == null) {
+            throw new IllegalArgumentException("Exportação não iniciada: " + exportId);
+        }
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+
+            Page page = fetchPage(job.cursor(), properties);
+            while (true) {
+                final String nextCursor = page.nextCursor();
+                // Page N+1 is fetched while page N is being written to the client.
+                final CompletableFuture<Page> prefetch = nextCursor != null
+                        ? CompletableFuture.supplyAsync(() -> fetchPage(nextCursor, properties), prefetchExecutor)
+                        : null;
+
+                try {
+                    int records = 0;
+                    for (final JsonNode record : page.results()) {
+                        objectMapper.writeTree(generator, record);
+                        generator.writeRaw('\n');
+                        records++;
+                    }
+                    generator.flush();
+                    job.pageWritten(records, nextCursor);
+                    exportJobStore.save(job.status());
+                } catch (final IOException | RuntimeException e) {
+                    if (prefetch != null) {
+                        prefetch.cancel(true);
+                    }
+                    throw e;
+                }
+
+                if (prefetch == null) {
+                    break;
+                }
+                page = join(prefetch);
+            }
+
+            job.finish(ExportJobStatus.State.COMPLETED, null);
+            log.info("Export {} completed: {}", exportId, job.status());
+        } catch (final IOException | RuntimeException e) {
+            job.finish(ExportJobStatus.State.FAILED, e.getMessage());
+            log.error("Export {} failed at cursor {}: {}", exportId, job.cursor(), e.getMessage());
+            throw e;
+        } finally {
+            exportJobStore.save(job.status());
+            activeExports.remove(exportId);
+        }
+        return job.status();
+    }
+
+    public Optional<ExportJobStatus> getStatus(final String exportId) {
+        final ExportJob active = activeExports.get(exportId);
+        if (active != null) {
+            return Optional.of(active.status());
+        }
+        return exportJobStore.load(exportId).map(status -> {
+            if (status.state() != ExportJobStatus.State.RUNNING) {
+                return status;
+            }
+            return status.withState(status.allPagesWritten()
+                    ? ExportJobStatus.State.COMPLETED
+                    : ExportJobStatus.State.INTERRUPTED);
+        });
+    }
+
+    private Page fetchPage(final String after, final String properties) {
+        for (int attempt = 1; ; attempt++) {
+            try (Response response = LaneContext.callAs(Lane.BULK,
+                    () -> hubSpotCrmClient.listContacts(pageSize, after, properties))) {
+                final int status = response.status();
+                if (status >= 200 && status < 300 && response.body() != null) {
+                    final JsonNode root;
+                    try (InputStream in = response.body().asInputStream()) {
+                        root = objectMapper.readTree(in);
+                    }
+                    return new Page(root.path("results"), root.path("paging").path("next").path("after").asText(null));
+                }
+                if ((status == 429 || status >= 500) && attempt < maxAttempts) {
+                    log.warn("Listing contacts after cursor {} failed with status {}, retrying.", after, status);
+                    sleep(retryBackoff.toMillis() << (attempt - 1));
+                    continue;
+                }
+                throw new IllegalStateException("HubSpot retornou status " + status + " ao listar contatos");
+            } catch (final IOException e) {
+                throw new UncheckedIOException("Falha ao ler página de contatos do HubSpot", e);
+            }
+        }
+    }
+
+    private static Page join(final CompletableFuture<Page> prefetch) throws IOException {
+        try {
+            return prefetch.join();
+        } catch (final CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw e;
+        }
+    }
+
+    private static void sleep(final long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Exportação interrompida", e);
+        }
+    }
+
+    private record Page(JsonNode results, String nextCursor) {}
+
+}
@@ -0,0 +1,9 @@
+package org.marcosdgf.hubspotintegrationapi.service.export;
+
+public class ExportAlreadyCompletedException extends RuntimeException {
+
+    public ExportAlreadyCompletedException(final String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,9 @@
+package org.marcosdgf.hubspotintegrationapi.service.export;
+
+public class ExportAlreadyRunningException extends RuntimeException {
+
+    public ExportAlreadyRunningException(final String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,56 @@
+package org.marcosdgf.hubspotintegrationapi.service.export;
+
+import org.marcosdgf.hubspotintegrationapi.dto.response.ExportJobStatus;
+
+import java.time.Instant;
+
+class ExportJob {
+
+    private final String exportId;
+    private final String startCursor;
+    private final Instant startedAt;
+
+    private volatile String cursor;
+    private volatile long pagesWritten;
+    private volatile long recordsWritten;
+    private volatile ExportJobStatus.State state = ExportJobStatus.State.RUNNING;
+    private volatile String failureReason;
+    private volatile Instant updatedAt;
+
+    ExportJob(final String exportId, final String startCursor, final ExportJobStatus checkpoint) {
+        this.exportId = exportId;
+        this.startCursor = startCursor;
+        this.cursor = checkpoint != null ? checkpoint.resumeCursor() : startCursor;
+        this.startedAt = checkpoint != null ? checkpoint.startedAt() : Instant.now();
+        this.pagesWritten = checkpoint != null ? checkpoint.pagesWritten() : 0;
+        this.recordsWritten = checkpoint != null ? checkpoint.recordsWritten() : 0;
+        this.updatedAt = Instant.now();
+    }
+
+    String exportId() {
+        return exportId;
+    }
+
+    String cursor() {
+        return cursor;
+    }
+
+    // Only called by the streaming thread, after the page has been flushed to the client.
+    void pageWritten(final int records, final String nextCursor) {
+        this.cursor = nextCursor;
+        this.pagesWritten++;
+        this.recordsWritten += records;
+        this.updatedAt = Instant.now();
+    }
+
+    void finish(final ExportJobStatus.State finalState, final String reason) {
+        this.state = finalState;
+        this.failureReason = reason;
+        this.updatedAt = Instant.now();
+    }
+
+    ExportJobStatus status() {
+        return new ExportJobStatus(exportId, state, startCursor, cursor, pagesWritten, recordsWritten, startedAt, updatedAt, failureReason);
+    }
+
+}
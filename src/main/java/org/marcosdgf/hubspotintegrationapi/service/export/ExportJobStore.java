@@ -0,0 +1,23 @@
+package org.marcosdgf.hubspotintegrationapi.service.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.marcosdgf.hubspotintegrationapi.dto.response.ExportJobStatus;
+import org.marcosdgf.hubspotintegrationapi.service.FileCheckpointStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+@Component
+public class ExportJobStore extends FileCheckpointStore<ExportJobStatus> {
+
+    public ExportJobStore(final ObjectMapper objectMapper,
+                          @Value("${hubspot.export.state-dir:data/exports}") final String stateDirectory) {
+        super(objectMapper, Path.of(stateDirectory), ExportJobStatus.class);
+    }
+
+    public void save(final ExportJobStatus checkpoint) {
+        save(checkpoint.exportId(), checkpoint);
+    }
+
+}
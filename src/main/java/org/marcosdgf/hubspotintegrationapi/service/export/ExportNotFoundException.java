@@ -0,0 +1,9 @@
+package org.marcosdgf.hubspotintegrationapi.service.export;
+
+public class ExportNotFoundException extends RuntimeException {
+
+    public ExportNotFoundException(final String message) {
+        super(message);
+    }
+
+}
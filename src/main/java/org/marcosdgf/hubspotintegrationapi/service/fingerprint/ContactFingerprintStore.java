@@ -0,0 +1,109 @@
+package org.marcosdgf.hubspotintegrationapi.service.fingerprint;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+// Remembers a hash of the last value known to HubSpot for each property of each contact. Every contact is
+// a single long[] of (nameHash, valueHash) pairs sorted by nameHash, and arrays are replaced, never mutated.
+@Slf4j
+@Service
+public class ContactFingerprintStore {
+
+    private static final long[] EMPTY = new long[0];
+
+    private final ConcurrentMap<Long, long[]> fingerprints = new ConcurrentHashMap<>();
+    private final int maxContacts;
+
+    public ContactFingerprintStore(@Value("${hubspot.fingerprint.max-contacts:100000}") final int maxContacts) {
+        this.maxContacts = maxContacts;
+    }
+
+    public Map<String, String> changedProperties(final long contactId, final Map<String, String> properties) {
+        final long[] known = fingerprints.getOrDefault(contactId, EMPTY);
+        final Map<String, String> changed = new LinkedHashMap<>();
+        properties.forEach((name, value) -> {
+            if (value == null) {
+                return;
+            }
+            final int slot = find(known, PropertyHash.of(name));
+            if (slot < 0 || known[slot + 1] != PropertyHash.of(value)) {
+                changed.put(name, value);
+            }
+        });
+        return changed;
+    }
+
+    public void record(final long contactId, final Map<String, String> written) {
+        if (written.isEmpty() || (!fingerprints.containsKey(contactId) && fingerprints.size() >= maxContacts)) {
+            return;
+        }
+        fingerprints.compute(contactId, (id, known) -> {
+            long[] updated = known == null ? EMPTY : known;
+            for (final Map.Entry<String, String> property : written.entrySet()) {
+                if (property.getValue() != null) {
+                    updated = with(updated, PropertyHash.of(property.getKey()), PropertyHash.of(property.getValue()));
+                }
+            }
+            return updated;
+        });
+    }
+
+    // Changes made in HubSpot (including our own writes echoed back) arrive through propertyChange webhooks.
+    public void recordRemoteChange(final long contactId, final String name, final String value) {
+        fingerprints.computeIfPresent(contactId, (id, known) ->
+                with(known, PropertyHash.of(name), PropertyHash.of(value == null ? "" : value)));
+    }
+
+    public void remove(final long contactId) {
+        fingerprints.remove(contactId);
+    }
+
+    public int size() {
+        return fingerprints.size();
+    }
+
+    private static long[] with(final long[] known, final long nameHash, final long valueHash) {
+        final int slot = find(known, nameHash);
+        if (slot >= 0) {
+            if (known[slot + 1] == valueHash) {
+                return known;
+            }
+            final long[] updated = known.clone();
+            updated[slot + 1] = valueHash;
+            return updated;
+        }
+
+        final int insertAt = -(slot + 1);
+        final long[] updated = new long[known.length + 2];
+        System.arraycopy(known, 0, updated, 0, insertAt);
+        updated[insertAt] = nameHash;
+        updated[insertAt + 1] = valueHash;
+        System.arraycopy(known, insertAt, updated, insertAt + 2, known.length - insertAt);
+        return updated;
+    }
+
+    // Binary search over the pairs; returns the index of the name hash, or -(insertion index + 1).
+    private static int find(final long[] known, final long nameHash) {
+        int low = 0;
+        int high = known.length / 2 - 1;
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            final long candidate = known[mid * 2];
+            if (candidate < nameHash) {
+                low = mid + 1;
+            } else if (candidate > nameHash) {
+                high = mid - 1;
+            } else {
+                return mid * 2;
+            }
+        }
+        return -(low * 2 + 1);
+    }
+
+}
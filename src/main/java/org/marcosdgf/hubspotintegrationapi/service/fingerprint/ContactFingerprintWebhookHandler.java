@@ -0,0 +1,33 @@
+package org.marcosdgf.hubspotintegrationapi.service.fingerprint;
+
+import lombok.RequiredArgsConstructor;
+import org.marcosdgf.hubspotintegrationapi.dto.webhook.ContactChangeSet;
+import org.marcosdgf.hubspotintegrationapi.dto.webhook.HubSpotEvent;
+import org.marcosdgf.hubspotintegrationapi.dto.webhook.SubscriptionType;
+import org.marcosdgf.hubspotintegrationapi.service.webhook.HubSpotEventHandler;
+import org.marcosdgf.hubspotintegrationapi.service.webhook.PropertyChangeSetHandler;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class ContactFingerprintWebhookHandler implements HubSpotEventHandler, PropertyChangeSetHandler {
+
+    private final ContactFingerprintStore contactFingerprintStore;
+
+    @Override
+    public boolean supports(final HubSpotEvent event) {
+        return event.hasObjectId() && event.is(SubscriptionType.CONTACT_DELETION);
+    }
+
+    @Override
+    public void handle(final HubSpotEvent event) {
+        contactFingerprintStore.remove(event.objectId());
+    }
+
+    @Override
+    public void handle(final ContactChangeSet changeSet) {
+        changeSet.changes().forEach((name, change) ->
+                contactFingerprintStore.recordRemoteChange(changeSet.objectId(), name, change.value()));
+    }
+
+}
@@ -0,0 +1,26 @@
+package org.marcosdgf.hubspotintegrationapi.service.fingerprint;
+
+// 64-bit FNV-1a with a final avalanche step, computed without allocating.
+final class PropertyHash {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private PropertyHash() {
+    }
+
+    static long of(final CharSequence value) {
+        long hash = FNV_OFFSET;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+}
@@ -0,0 +1,383 @@
+package org.marcosdgf.hubspotintegrationapi.service.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import feign.FeignException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.marcosdgf.hubspotintegrationapi.client.HubSpotCrmClient;
+import org.marcosdgf.hubspotintegrationapi.client.fanout.StructuredFanOut;
+import org.marcosdgf.hubspotintegrationapi.client.payload.ContactPayloadWriter;
+import org.marcosdgf.hubspotintegrationapi.client.scheduling.Lane;
+import org.marcosdgf.hubspotintegrationapi.client.scheduling.LaneContext;
+import org.marcosdgf.hubspotintegrationapi.dto.request.ContactCreateRequest;
+import org.marcosdgf.hubspotintegrationapi.dto.response.ImportJobStatus;
+import org.marcosdgf.hubspotintegrationapi.service.ContactPropertySchemaService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Slf4j
+@Service
+public class ContactImportService {
+
+    private static final Duration WORKER_SHUTDOWN_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HubSpotCrmClient hubSpotCrmClient;
+    private final ContactPayloadWriter contactPayloadWriter;
+    private final ContactPropertySchemaService contactPropertySchemaService;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final ImportJobStore importJobStore;
+    private final Map<String, ImportJob> activeJobs = new ConcurrentHashMap<>();
+
+    private final int batchSize;
+    private final int workers;
+    private final int maxInFlightBatches;
+    private final int maxRecordLength;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+
+    public ContactImportService(final HubSpotCrmClient hubSpotCrmClient,
+                                final ContactPayloadWriter contactPayloadWriter,
+                                final ContactPropertySchemaService contactPropertySchemaService,
+                                final Validator validator,
+                                final ObjectMapper objectMapper,
+                                final ImportJobStore importJobStore,
+                                @Value("${hubspot.import.batch-size:100}") final int batchSize,
+                                @Value("${hubspot.import.workers:4}") final int workers,
+                                @Value("${hubspot.import.max-in-flight-batches:8}") final int maxInFlightBatches,
+                                @Value("${hubspot.import.max-record-length:65536}") final int maxRecordLength,
+                                @Value("${hubspot.import.max-attempts:4}") final int maxAttempts,
+                                @Value("${hubspot.import.retry-backoff:PT1S}") final Duration retryBackoff) {
+        this.hubSpotCrmClient = hubSpotCrmClient;
+        this.contactPayloadWriter = contactPayloadWriter;
+        this.contactPropertySchemaService = contactPropertySchemaService;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.importJobStore = importJobStore;
+        this.batchSize = Math.min(batchSize, 100);
+        this.workers = workers;
+        this.maxInFlightBatches = maxInFlightBatches;
+        this.maxRecordLength = maxRecordLength;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+    }
+
+    public ImportJobStatus importContacts(final InputStream upload, final ImportFormat format, final String resumeJobId)
+            throws IOException, InterruptedException {
+        final ImportJob job = startJob(format, resumeJobId);
+        final ExecutorService executor = Executors.newFixedThreadPool(workers);
+        // Permits bound the batches queued or in flight; the upload is not read while none are free.
+        final Semaphore inFlight = new Semaphore(maxInFlightBatches);
+
+        try (ContactRowReader reader = format.open(upload, objectMapper, maxRecordLength);
+             BufferedWriter errorReport = importJobStore.openErrorReport(job.jobId())) {
+
+            final ErrorReport errors = new ErrorReport(errorReport);
+            try {
+                List<ImportRow> batch = new ArrayList<>(batchSize);
+                long sequence = 0;
+
+                ImportRow row;
+                while ((row = reader.next()) != null) {
+                    job.rowRead();
+                    if (job.isAlreadyCommitted(row.rowNumber())) {
+                        job.rowSkipped();
+                        continue;
+                    }
+
+                    batch.add(row.isValid() ? validate(row) : row);
+                    if (batch.size() == batchSize) {
+                        submit(job, sequence++, batch, errors, executor, inFlight);
+                        batch = new ArrayList<>(batchSize);
+                    }
+                }
+                if (!batch.isEmpty()) {
+                    submit(job, sequence, batch, errors, executor, inFlight);
+                }
+
+                inFlight.acquire(maxInFlightBatches);
+            } finally {
+                // Workers write to the error report and advance the checkpoint, so they must be gone before the
+                // report is closed and the final checkpoint is saved.
+                stopWorkers(job, executor);
+            }
+            job.finish(ImportJobStatus.State.COMPLETED, null);
+            log.info("Import job {} completed: {}", job.jobId(), job.status());
+        } catch (final IOException | RuntimeException | InterruptedException e) {
+            job.finish(ImportJobStatus.State.FAILED, e.getMessage());
+            log.error("Import job {} failed: {}", job.jobId(), e.getMessage(), e);
+            throw e;
+        } finally {
+            executor.shutdownNow();
+            job.saveCheckpoint(importJobStore::save);
+            activeJobs.remove(job.jobId());
+        }
+        return job.status();
+    }
+
+    public Optional<ImportJobStatus> getStatus(final String jobId) {
+        final ImportJob active = activeJobs.get(jobId);
+        if (active != null) {
+            return Optional.of(active.status());
+        }
+        return importJobStore.load(jobId).map(status -> status.state() == ImportJobStatus.State.RUNNING
+                ? status.withState(ImportJobStatus.State.INTERRUPTED)
+                : status);
+    }
+
+    private ImportJob startJob(final ImportFormat format, final String resumeJobId) {
+        final String jobId = resumeJobId != null ? resumeJobId : UUID.randomUUID().toString();
+        final ImportJobStatus checkpoint = resumeJobId != null
+                ? importJobStore.load(resumeJobId).orElseThrow(() ->
+                        new ImportJobNotFoundException("Job de importação não encontrado: " + resumeJobId))
+                : null;
+
+        final ImportJob job = new ImportJob(jobId, format, checkpoint);
+        if (activeJobs.putIfAbsent(jobId, job) != null) {
+            throw new ImportJobAlreadyRunningException("Job de importação já está em execução: " + jobId);
+        }
+        job.saveCheckpoint(importJobStore::save);
+        log.info("Import job {} started ({}), resuming after row {}.", jobId, format,
+                checkpoint != null ? checkpoint.committedRows() : 0);
+        return job;
+    }
+
+    private static void stopWorkers(final ImportJob job, final ExecutorService executor) {
+        executor.shutdownNow();
+        try {
+            if (!executor.awaitTermination(WORKER_SHUTDOWN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("Import job {}: workers still running after {}.", job.jobId(), WORKER_SHUTDOWN_TIMEOUT);
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private ImportRow validate(final ImportRow row) {
+        final List<String> errors = new ArrayList<>();
+        for (final ConstraintViolation<ContactCreateRequest> violation : validator.validate(row.contact())) {
+            errors.add(violation.getPropertyPath() + ": " + violation.getMessage());
+        }
+        errors.addAll(contactPropertySchemaService.validate(row.contact()));
+        return errors.isEmpty() ? row : ImportRow.invalid(row.rowNumber(), row.contact(), errors);
+    }
+
+    private void submit(final ImportJob job, final long sequence, final List<ImportRow> batch, final ErrorReport errors,
+                        final ExecutorService executor, final Semaphore inFlight) throws InterruptedException {
+        inFlight.acquire();
+        try {
+            executor.execute(() -> {
+                try {
+                    LaneContext.runAs(Lane.BULK, () -> process(job, sequence, batch, errors));
+                } finally {
+                    inFlight.release();
+                }
+            });
+        } catch (final RuntimeException e) {
+            inFlight.release();
+            throw e;
+        }
+    }
+
+    private void process(final ImportJob job, final long sequence, final List<ImportRow> batch, final ErrorReport errors) {
+        final List<ImportRow> valid = new ArrayList<>(batch.size());
+        final List<ImportRow> invalid = new ArrayList<>();
+        for (final ImportRow row : batch) {
+            if (row.isValid()) {
+                valid.add(row);
+            } else {
+                invalid.add(row);
+            }
+        }
+
+        int imported = 0;
+        int failed = invalid.size();
+        if (!valid.isEmpty()) {
+            final BatchOutcome outcome = send(job, valid, errors);
+            if (outcome.aborted()) {
+                // Never completed, so the committed prefix stops before this batch and a resume sends it again.
+                log.warn("Import job {}: batch {} aborted before HubSpot confirmed it.", job.jobId(), sequence);
+                return;
+            }
+            imported = outcome.imported();
+            failed += outcome.failed();
+        }
+        for (final ImportRow row : invalid) {
+            errors.record(row, row.errors());
+        }
+
+        job.complete(sequence, batch.get(batch.size() - 1).rowNumber(), imported, failed, checkpoint -> {
+            errors.flush();
+            importJobStore.save(checkpoint);
+        });
+    }
+
+    private BatchOutcome send(final ImportJob job, final List<ImportRow> rows, final ErrorReport errors) {
+        final List<ContactCreateRequest> contacts = new ArrayList<>(rows.size());
+        for (final ImportRow row : rows) {
+            contacts.add(row.contact());
+        }
+        final byte[] payload = contactPayloadWriter.writeBatch(contacts);
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                job.batchSent();
+                hubSpotCrmClient.batchCreateContacts(payload);
+                return new BatchOutcome(rows.size(), 0);
+            } catch (final FeignException e) {
+                if (Thread.currentThread().isInterrupted()) {
+                    return BatchOutcome.ABORTED;
+                }
+                if (isRetryable(e) && attempt < maxAttempts) {
+                    if (!backOff(attempt)) {
+                        return BatchOutcome.ABORTED;
+                    }
+                    log.warn("Import job {}: batch attempt {} failed with status {}, retrying.", job.jobId(), attempt, e.status());
+                    continue;
+                }
+                if (isRetryable(e)) {
+                    return failAll(rows, errors, "HubSpot indisponível (status " + e.status() + ")");
+                }
+                // A single invalid or duplicate contact rejects the whole batch, so rows are isolated one by one.
+                return sendIndividually(rows, errors);
+            } catch (final RuntimeException e) {
+                // The rate scheduler reports an interrupt as an IllegalStateException with the flag restored.
+                if (Thread.currentThread().isInterrupted()) {
+                    return BatchOutcome.ABORTED;
+                }
+                return failAll(rows, errors, "Erro inesperado: " + e.getMessage());
+            }
+        }
+    }
+
+    // Rows are sent concurrently; the scheduler still paces them on the bulk lane.
+    private BatchOutcome sendIndividually(final List<ImportRow> rows, final ErrorReport errors) {
+        final List<Callable<Boolean>> sends = new ArrayList<>(rows.size());
+        for (final ImportRow row : rows) {
+            sends.add(() -> sendIndividually(row, errors));
+        }
+
+        final List<Boolean> sent;
+        try {
+            sent = StructuredFanOut.invokeAll("importação individual de contatos", sends);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return BatchOutcome.ABORTED;
+        }
+        if (Thread.currentThread().isInterrupted()) {
+            return BatchOutcome.ABORTED;
+        }
+
+        int imported = 0;
+        for (final boolean ok : sent) {
+            if (ok) {
+                imported++;
+            }
+        }
+        return new BatchOutcome(imported, rows.size() - imported);
+    }
+
+    private boolean sendIndividually(final ImportRow row, final ErrorReport errors) {
+        try {
+            hubSpotCrmClient.createContact(contactPayloadWriter.write(row.contact()));
+            return true;
+        } catch (final FeignException e) {
+            errors.record(row, List.of("HubSpot status " + e.status() + ": " + e.contentUTF8()));
+        } catch (final RuntimeException e) {
+            errors.record(row, List.of("Erro inesperado: " + e.getMessage()));
+        }
+        return false;
+    }
+
+    private static BatchOutcome failAll(final List<ImportRow> rows, final ErrorReport errors, final String reason) {
+        for (final ImportRow row : rows) {
+            errors.record(row, List.of(reason));
+        }
+        return new BatchOutcome(0, rows.size());
+    }
+
+    private static boolean isRetryable(final FeignException e) {
+        return e.status() == 429 || e.status() >= 500 || e.status() < 0;
+    }
+
+    private boolean backOff(final int attempt) {
+        try {
+            Thread.sleep(retryBackoff.toMillis() << (attempt - 1));
+            return true;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private record BatchOutcome(int imported, int failed, boolean aborted) {
+
+        private static final BatchOutcome ABORTED = new BatchOutcome(0, 0, true);
+
+        private BatchOutcome(final int imported, final int failed) {
+            this(imported, failed, false);
+        }
+
+    }
+
+    private final class ErrorReport {
+
+        private final BufferedWriter writer;
+        // Entries are written to disk while held, so a lock keeps virtual threads from pinning their carrier.
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private ErrorReport(final BufferedWriter writer) {
+            this.writer = writer;
+        }
+
+        private void record(final ImportRow row, final List<String> rowErrors) {
+            final Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("row", row.rowNumber());
+            if (row.contact() != null && row.contact().email() != null) {
+                entry.put("email", row.contact().email());
+            }
+            entry.put("errors", rowErrors);
+            lock.lock();
+            try {
+                writer.write(objectMapper.writeValueAsString(entry));
+                writer.newLine();
+            } catch (final IOException e) {
+                log.warn("Could not write import error report entry for row {}: {}", row.rowNumber(), e.getMessage());
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void flush() {
+            lock.lock();
+            try {
+                writer.flush();
+            } catch (final IOException e) {
+                log.warn("Could not flush import error report: {}", e.getMessage());
+            } finally {
+                lock.unlock();
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,11 @@
+package org.marcosdgf.hubspotintegrationapi.service.importer;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+public interface ContactRowReader extends Closeable {
+
+    // Returns null once the upload has been fully consumed.
+    ImportRow next() throws IOException;
+
+}
@@ -0,0 +1,170 @@
+package org.marcosdgf.hubspotintegrationapi.service.importer;
+
+import org.marcosdgf.hubspotintegrationapi.dto.request.ContactCreateRequest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// RFC 4180 reader that keeps at most one record in memory; the first record is the header.
+class CsvContactRowReader implements ContactRowReader {
+
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+    private final BufferedReader reader;
+    private final int maxRecordLength;
+    private final StringBuilder field = new StringBuilder();
+    private final List<String> fields = new ArrayList<>();
+
+    private String[] header;
+    private long rowNumber;
+    private int recordLength;
+    private boolean recordOverflow;
+
+    CsvContactRowReader(final InputStream in, final int maxRecordLength) {
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        this.maxRecordLength = maxRecordLength;
+    }
+
+    @Override
+    public ImportRow next() throws IOException {
+        if (header == null && !readHeader()) {
+            return null;
+        }
+
+        List<String> values;
+        do {
+            values = readRecord();
+            if (values == null) {
+                return null;
+            }
+        } while (values.size() == 1 && values.get(0).isBlank());
+
+        rowNumber++;
+        if (recordOverflow) {
+            return ImportRow.invalid(rowNumber, null, List.of("Registro excede o tamanho máximo de " + maxRecordLength + " caracteres"));
+        }
+        if (values.size() != header.length) {
+            return ImportRow.invalid(rowNumber, null,
+                    List.of("Registro com " + values.size() + " colunas, esperado " + header.length));
+        }
+        return ImportRow.valid(rowNumber, toContact(values));
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private boolean readHeader() throws IOException {
+        final List<String> values = readRecord();
+        if (values == null) {
+            return false;
+        }
+        header = new String[values.size()];
+        for (int i = 0; i < values.size(); i++) {
+            String name = values.get(i).trim();
+            if (i == 0 && !name.isEmpty() && name.charAt(0) == BYTE_ORDER_MARK) {
+                name = name.substring(1);
+            }
+            header[i] = name.toLowerCase(Locale.ROOT);
+        }
+        return true;
+    }
+
+    private ContactCreateRequest toContact(final List<String> values) {
+        String email = null;
+        String firstname = null;
+        String lastname = null;
+        String phone = null;
+        String website = null;
+        Map<String, String> custom = null;
+
+        for (int i = 0; i < header.length; i++) {
+            final String value = values.get(i).isEmpty() ? null : values.get(i);
+            switch (header[i]) {
+                case "email" -> email = value;
+                case "firstname" -> firstname = value;
+                case "lastname" -> lastname = value;
+                case "phone" -> phone = value;
+                case "website" -> website = value;
+                default -> {
+                    if (value != null && !header[i].isEmpty()) {
+                        if (custom == null) {
+                            custom = new LinkedHashMap<>();
+                        }
+                        custom.put(header[i], value);
+                    }
+                }
+            }
+        }
+        return new ContactCreateRequest(email, firstname, lastname, phone, website, custom);
+    }
+
+    private List<String> readRecord() throws IOException {
+        fields.clear();
+        field.setLength(0);
+        recordLength = 0;
+        recordOverflow = false;
+
+        boolean inQuotes = false;
+        boolean consumedAny = false;
+        int c;
+        while ((c = reader.read()) != -1) {
+            consumedAny = true;
+            if (inQuotes) {
+                if (c == '"') {
+                    reader.mark(1);
+                    final int next = reader.read();
+                    if (next == '"') {
+                        append('"');
+                    } else {
+                        inQuotes = false;
+                        if (next != -1) {
+                            reader.reset();
+                        }
+                    }
+                } else {
+                    append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                inQuotes = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c == '\r') {
+                reader.mark(1);
+                if (reader.read() != '\n') {
+                    reader.reset();
+                }
+                break;
+            } else {
+                append((char) c);
+            }
+        }
+
+        if (!consumedAny) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private void append(final char c) {
+        if (++recordLength > maxRecordLength) {
+            recordOverflow = true;
+            return;
+        }
+        field.append(c);
+    }
+
+}
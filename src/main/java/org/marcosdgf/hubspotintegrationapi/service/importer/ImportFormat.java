@@ -0,0 +1,42 @@
+package org.marcosdgf.hubspotintegrationapi.service.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+
+import java.io.InputStream;
+
+public enum ImportFormat {
+
+    CSV("text/csv"),
+    NDJSON("application/x-ndjson");
+
+    private final MediaType mediaType;
+
+    ImportFormat(final String mediaType) {
+        this.mediaType = MediaType.parseMediaType(mediaType);
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    public ContactRowReader open(final InputStream in, final ObjectMapper objectMapper, final int maxRecordLength) {
+        return switch (this) {
+            case CSV -> new CsvContactRowReader(in, maxRecordLength);
+            case NDJSON -> new NdjsonContactRowReader(in, objectMapper, maxRecordLength);
+        };
+    }
+
+    public static ImportFormat fromContentType(final String contentType) {
+        if (contentType != null) {
+            final MediaType requested = MediaType.parseMediaType(contentType);
+            for (final ImportFormat format : values()) {
+                if (format.mediaType.isCompatibleWith(requested)) {
+                    return format;
+                }
+            }
+        }
+        throw new IllegalArgumentException("Formato de importação não suportado: " + contentType);
+    }
+
+}
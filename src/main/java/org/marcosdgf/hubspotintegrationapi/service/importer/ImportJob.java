@@ -0,0 +1,117 @@
+package org.marcosdgf.hubspotintegrationapi.service.importer;
+
+import org.marcosdgf.hubspotintegrationapi.dto.response.ImportJobStatus;
+
+import java.time.Instant;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+class ImportJob {
+
+    private final String jobId;
+    private final ImportFormat format;
+    private final Instant startedAt;
+    private final long resumeAfterRow;
+
+    private final AtomicLong rowsRead = new AtomicLong();
+    private final AtomicLong rowsSkipped = new AtomicLong();
+    private final AtomicLong rowsImported;
+    private final AtomicLong rowsFailed;
+    private final AtomicLong batchesSent = new AtomicLong();
+
+    // Batches may finish out of order; the checkpoint only advances over a contiguous prefix of batches.
+    private final TreeMap<Long, CompletedBatch> completedBatches = new TreeMap<>();
+    private long nextBatchToCommit;
+    private long committedRows;
+    private long committedImported;
+    private long committedFailed;
+
+    private volatile ImportJobStatus.State state = ImportJobStatus.State.RUNNING;
+    private volatile String failureReason;
+    private volatile Instant updatedAt;
+
+    ImportJob(final String jobId, final ImportFormat format, final ImportJobStatus checkpoint) {
+        this.jobId = jobId;
+        this.format = format;
+        this.startedAt = checkpoint != null ? checkpoint.startedAt() : Instant.now();
+        this.resumeAfterRow = checkpoint != null ? checkpoint.committedRows() : 0;
+        this.committedRows = resumeAfterRow;
+        this.committedImported = checkpoint != null ? checkpoint.rowsImported() : 0;
+        this.committedFailed = checkpoint != null ? checkpoint.rowsFailed() : 0;
+        this.rowsImported = new AtomicLong(committedImported);
+        this.rowsFailed = new AtomicLong(committedFailed);
+        this.updatedAt = Instant.now();
+    }
+
+    String jobId() {
+        return jobId;
+    }
+
+    boolean isAlreadyCommitted(final long rowNumber) {
+        return rowNumber <= resumeAfterRow;
+    }
+
+    void rowRead() {
+        rowsRead.incrementAndGet();
+    }
+
+    void rowSkipped() {
+        rowsSkipped.incrementAndGet();
+    }
+
+    void batchSent() {
+        batchesSent.incrementAndGet();
+    }
+
+    // onAdvance receives the new checkpoint while the lock is still held, so checkpoints are persisted one at a time
+    // and in the order the committed prefix advanced.
+    synchronized boolean complete(final long sequence, final long lastRowNumber, final int imported, final int failed,
+                                  final Consumer<ImportJobStatus> onAdvance) {
+        rowsImported.addAndGet(imported);
+        rowsFailed.addAndGet(failed);
+        updatedAt = Instant.now();
+        completedBatches.put(sequence, new CompletedBatch(lastRowNumber, imported, failed));
+
+        boolean advanced = false;
+        CompletedBatch next;
+        while ((next = completedBatches.remove(nextBatchToCommit)) != null) {
+            committedRows = next.lastRowNumber();
+            committedImported += next.imported();
+            committedFailed += next.failed();
+            nextBatchToCommit++;
+            advanced = true;
+        }
+        if (advanced) {
+            onAdvance.accept(checkpoint());
+        }
+        return advanced;
+    }
+
+    synchronized void saveCheckpoint(final Consumer<ImportJobStatus> store) {
+        store.accept(checkpoint());
+    }
+
+    void finish(final ImportJobStatus.State finalState, final String reason) {
+        this.state = finalState;
+        this.failureReason = reason;
+        this.updatedAt = Instant.now();
+    }
+
+    ImportJobStatus status() {
+        return new ImportJobStatus(jobId, format.name(), state, rowsRead.get(), rowsSkipped.get(), rowsImported.get(),
+                rowsFailed.get(), batchesSent.get(), committedRows(), startedAt, updatedAt, failureReason);
+    }
+
+    synchronized ImportJobStatus checkpoint() {
+        return new ImportJobStatus(jobId, format.name(), state, rowsRead.get(), rowsSkipped.get(), committedImported,
+                committedFailed, batchesSent.get(), committedRows, startedAt, updatedAt, failureReason);
+    }
+
+    private synchronized long committedRows() {
+        return committedRows;
+    }
+
+    private record CompletedBatch(long lastRowNumber, int imported, int failed) {}
+
+}
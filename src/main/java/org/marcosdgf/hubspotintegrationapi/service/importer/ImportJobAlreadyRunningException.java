@@ -0,0 +1,9 @@
+package org.marcosdgf.hubspotintegrationapi.service.importer;
+
+public class ImportJobAlreadyRunningException extends RuntimeException {
+
+    public ImportJobAlreadyRunningException(final String message) {
+        super(message);
+    }
+
+}
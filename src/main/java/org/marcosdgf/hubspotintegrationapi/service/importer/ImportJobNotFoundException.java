@@ -0,0 +1,9 @@
+package org.marcosdgf.hubspotintegrationapi.service.importer;
+
+public class ImportJobNotFoundException extends RuntimeException {
+
+    public ImportJobNotFoundException(final String message) {
+        super(message);
+    }
+
+}
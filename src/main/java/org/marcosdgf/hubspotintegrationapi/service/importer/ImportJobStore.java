@@ -0,0 +1,38 @@
+package org.marcosdgf.hubspotintegrationapi.service.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.marcosdgf.hubspotintegrationapi.dto.response.ImportJobStatus;
+import org.marcosdgf.hubspotintegrationapi.service.FileCheckpointStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+@Component
+public class ImportJobStore extends FileCheckpointStore<ImportJobStatus> {
+
+    public ImportJobStore(final ObjectMapper objectMapper,
+                          @Value("${hubspot.import.state-dir:data/imports}") final String stateDirectory) {
+        super(objectMapper, Path.of(stateDirectory), ImportJobStatus.class);
+    }
+
+    public void save(final ImportJobStatus checkpoint) {
+        save(checkpoint.jobId(), checkpoint);
+    }
+
+    public BufferedWriter openErrorReport(final String jobId) throws IOException {
+        final Path report = errorReportPath(jobId);
+        Files.createDirectories(stateDirectory());
+        return Files.newBufferedWriter(report, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    public Path errorReportPath(final String jobId) {
+        return resolve(jobId, ".errors.ndjson");
+    }
+
+}
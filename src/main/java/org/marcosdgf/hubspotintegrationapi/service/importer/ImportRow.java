@@ -0,0 +1,21 @@
+package org.marcosdgf.hubspotintegrationapi.service.importer;
+
+import org.marcosdgf.hubspotintegrationapi.dto.request.ContactCreateRequest;
+
+import java.util.List;
+
+public record ImportRow(long rowNumber, ContactCreateRequest contact, List<String> errors) {
+
+    public static ImportRow valid(final long rowNumber, final ContactCreateRequest contact) {
+        return new ImportRow(rowNumber, contact, List.of());
+    }
+
+    public static ImportRow invalid(final long rowNumber, final ContactCreateRequest contact, final List<String> errors) {
+        return new ImportRow(rowNumber, contact, errors);
+    }
+
+    public boolean isValid() {
+        return errors.isEmpty();
+    }
+
+}
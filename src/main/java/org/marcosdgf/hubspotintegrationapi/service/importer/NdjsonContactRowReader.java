@@ -0,0 +1,78 @@
+package org.marcosdgf.hubspotintegrationapi.service.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.marcosdgf.hubspotintegrationapi.dto.request.ContactCreateRequest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+class NdjsonContactRowReader implements ContactRowReader {
+
+    private final BufferedReader reader;
+    private final ObjectReader contactReader;
+    private final int maxRecordLength;
+    private final StringBuilder line = new StringBuilder();
+
+    private long rowNumber;
+    private boolean lineOverflow;
+
+    NdjsonContactRowReader(final InputStream in, final ObjectMapper objectMapper, final int maxRecordLength) {
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        this.contactReader = objectMapper.readerFor(ContactCreateRequest.class);
+        this.maxRecordLength = maxRecordLength;
+    }
+
+    @Override
+    public ImportRow next() throws IOException {
+        do {
+            if (!readLine()) {
+                return null;
+            }
+        } while (!lineOverflow && line.toString().isBlank());
+
+        rowNumber++;
+        if (lineOverflow) {
+            return ImportRow.invalid(rowNumber, null, List.of("Registro excede o tamanho máximo de " + maxRecordLength + " caracteres"));
+        }
+        try {
+            return ImportRow.valid(rowNumber, contactReader.readValue(line.toString()));
+        } catch (final JsonProcessingException e) {
+            return ImportRow.invalid(rowNumber, null, List.of("JSON inválido: " + e.getOriginalMessage()));
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private boolean readLine() throws IOException {
+        line.setLength(0);
+        lineOverflow = false;
+
+        boolean consumedAny = false;
+        int c;
+        while ((c = reader.read()) != -1) {
+            consumedAny = true;
+            if (c == '\n') {
+                break;
+            }
+            if (c == '\r') {
+                continue;
+            }
+            if (line.length() >= maxRecordLength) {
+                lineOverflow = true;
+            } else {
+                line.append((char) c);
+            }
+        }
+        return consumedAny;
+    }
+
+}
@@ -0,0 +1,51 @@
+package org.marcosdgf.hubspotintegrationapi.service.index;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+final class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashFunctions;
+    private final long expectedInsertions;
+
+    BloomFilter(final long expectedInsertions, final double falsePositiveRate) {
+        final long n = Math.max(1, expectedInsertions);
+        final long m = Math.max(64, (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2))));
+        this.bitCount = (m + 63) / 64 * 64;
+        this.bits = new AtomicLongArray(Math.toIntExact(bitCount / 64));
+        this.hashFunctions = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+        this.expectedInsertions = n;
+    }
+
+    // Kirsch-Mitzenmacher: the k probes are derived from two base hashes.
+    void add(final long hash1, final long hash2) {
+        for (int i = 0; i < hashFunctions; i++) {
+            final long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+            final int word = (int) (bit >>> 6);
+            final long mask = 1L << bit;
+            long current;
+            do {
+                current = bits.get(word);
+                if ((current & mask) != 0) {
+                    break;
+                }
+            } while (!bits.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    boolean mightContain(final long hash1, final long hash2) {
+        for (int i = 0; i < hashFunctions; i++) {
+            final long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    long expectedInsertions() {
+        return expectedInsertions;
+    }
+
+}
@@ -0,0 +1,107 @@
+package org.marcosdgf.hubspotintegrationapi.service.index;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.OptionalLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Slf4j
+@Service
+public class ContactEmailIndex {
+
+    private final double falsePositiveRate;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final LongLongHashMap idsByEmailHash;
+    private final LongLongHashMap emailHashesById;
+
+    private volatile BloomFilter bloomFilter;
+    private volatile boolean ready;
+
+    public ContactEmailIndex(@Value("${hubspot.index.expected-contacts:100000}") final int expectedContacts,
+                             @Value("${hubspot.index.bloom-false-positive-rate:0.01}") final double falsePositiveRate) {
+        this.falsePositiveRate = falsePositiveRate;
+        this.idsByEmailHash = new LongLongHashMap(expectedContacts);
+        this.emailHashesById = new LongLongHashMap(expectedContacts);
+        this.bloomFilter = new BloomFilter(expectedContacts, falsePositiveRate);
+    }
+
+    // A negative answer is definitive only once the index has been fully backfilled.
+    public boolean mightContain(final String email) {
+        return bloomFilter.mightContain(EmailHash.primary(email), EmailHash.secondary(email));
+    }
+
+    public OptionalLong find(final String email) {
+        final long emailHash = emailHash(email);
+        lock.readLock().lock();
+        try {
+            final long id = idsByEmailHash.get(emailHash);
+            return id == LongLongHashMap.NO_VALUE ? OptionalLong.empty() : OptionalLong.of(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void put(final String email, final long contactId) {
+        final long emailHash = emailHash(email);
+        lock.writeLock().lock();
+        try {
+            final long previousEmailHash = emailHashesById.put(contactId, emailHash);
+            if (previousEmailHash != LongLongHashMap.NO_VALUE && previousEmailHash != emailHash) {
+                idsByEmailHash.remove(previousEmailHash);
+            }
+            idsByEmailHash.put(emailHash, contactId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        bloomFilter.add(EmailHash.primary(email), EmailHash.secondary(email));
+    }
+
+    public void remove(final long contactId) {
+        lock.writeLock().lock();
+        try {
+            final long emailHash = emailHashesById.remove(contactId);
+            if (emailHash != LongLongHashMap.NO_VALUE && idsByEmailHash.get(emailHash) == contactId) {
+                idsByEmailHash.remove(emailHash);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void markReady() {
+        this.ready = true;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return idsByEmailHash.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // A bloom filter cannot grow; once saturated it is replaced by a larger empty one and negative answers are
+    // distrusted until the backfill that follows has repopulated it.
+    public void prepareForBackfill() {
+        final int size = size();
+        if (size > bloomFilter.expectedInsertions()) {
+            log.info("Contact email index holds {} entries, resizing bloom filter before backfill.", size);
+            this.ready = false;
+            this.bloomFilter = new BloomFilter(size * 2L, falsePositiveRate);
+        }
+    }
+
+    private static long emailHash(final String email) {
+        final long hash = EmailHash.primary(email);
+        return hash == LongLongHashMap.NO_VALUE ? hash - 1 : hash;
+    }
+
+}
@@ -0,0 +1,97 @@
+package org.marcosdgf.hubspotintegrationapi.service.index;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import feign.Response;
+import lombok.extern.slf4j.Slf4j;
+import org.marcosdgf.hubspotintegrationapi.client.HubSpotCrmClient;
+import org.marcosdgf.hubspotintegrationapi.client.scheduling.Lane;
+import org.marcosdgf.hubspotintegrationapi.client.scheduling.LaneContext;
+import org.marcosdgf.hubspotintegrationapi.service.TokenStorageService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.Instant;
+
+@Slf4j
+@Component
+public class ContactEmailIndexBackfill {
+
+    private static final int PAGE_SIZE = 100;
+
+    private final HubSpotCrmClient hubSpotCrmClient;
+    private final ObjectMapper objectMapper;
+    private final ContactEmailIndex contactEmailIndex;
+    private final TokenStorageService tokenStorageService;
+    private final Duration backfillInterval;
+
+    private volatile Instant lastCompletedAt;
+
+    public ContactEmailIndexBackfill(final HubSpotCrmClient hubSpotCrmClient,
+                                     final ObjectMapper objectMapper,
+                                     final ContactEmailIndex contactEmailIndex,
+                                     final TokenStorageService tokenStorageService,
+                                     @Value("${hubspot.index.backfill-interval:PT6H}") final Duration backfillInterval) {
+        this.hubSpotCrmClient = hubSpotCrmClient;
+        this.objectMapper = objectMapper;
+        this.contactEmailIndex = contactEmailIndex;
+        this.tokenStorageService = tokenStorageService;
+        this.backfillInterval = backfillInterval;
+    }
+
+    @Scheduled(fixedDelayString = "${hubspot.index.backfill-check-interval:PT1M}")
+    public void backfillIfDue() {
+        final Instant completedAt = lastCompletedAt;
+        if (completedAt != null && completedAt.plus(backfillInterval).isAfter(Instant.now())) {
+            return;
+        }
+        if (!tokenStorageService.hasTokens()) {
+            log.debug("Skipping contact email index backfill: the app has not been authorized yet.");
+            return;
+        }
+        try {
+            backfill();
+        } catch (final Exception e) {
+            log.warn("Contact email index backfill failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    void backfill() throws IOException {
+        contactEmailIndex.prepareForBackfill();
+        final long started = System.nanoTime();
+        int indexed = 0;
+        String after = null;
+        do {
+            final JsonNode root;
+            final String cursor = after;
+            try (Response response = LaneContext.callAs(Lane.BULK,
+                    () -> hubSpotCrmClient.listContacts(PAGE_SIZE, cursor, "email"))) {
+                if (response.status() < 200 || response.status() >= 300 || response.body() == null) {
+                    throw new IOException("HubSpot returned status " + response.status() + " while listing contacts");
+                }
+                try (InputStream in = response.body().asInputStream()) {
+                    root = objectMapper.readTree(in);
+                }
+            }
+            for (final JsonNode contact : root.path("results")) {
+                final String email = contact.path("properties").path("email").asText(null);
+                final long id = contact.path("id").asLong(-1);
+                if (email != null && !email.isBlank() && id > 0) {
+                    contactEmailIndex.put(email, id);
+                    indexed++;
+                }
+            }
+            after = root.path("paging").path("next").path("after").asText(null);
+        } while (after != null);
+
+        contactEmailIndex.markReady();
+        lastCompletedAt = Instant.now();
+        log.info("Contact email index backfilled with {} contacts in {} ms.", indexed,
+                Duration.ofNanos(System.nanoTime() - started).toMillis());
+    }
+
+}
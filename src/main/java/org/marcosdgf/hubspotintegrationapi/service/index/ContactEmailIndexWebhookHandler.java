@@ -0,0 +1,134 @@
+package org.marcosdgf.hubspotintegrationapi.service.index;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.marcosdgf.hubspotintegrationapi.client.HubSpotCrmClient;
+import org.marcosdgf.hubspotintegrationapi.client.scheduling.Lane;
+import org.marcosdgf.hubspotintegrationapi.client.scheduling.LaneContext;
+import org.marcosdgf.hubspotintegrationapi.dto.response.HubSpotObjectResponse;
+import org.marcosdgf.hubspotintegrationapi.dto.webhook.ContactChangeSet;
+import org.marcosdgf.hubspotintegrationapi.dto.webhook.HubSpotEvent;
+import org.marcosdgf.hubspotintegrationapi.dto.webhook.SubscriptionType;
+import org.marcosdgf.hubspotintegrationapi.service.webhook.HubSpotEventHandler;
+import org.marcosdgf.hubspotintegrationapi.service.webhook.PropertyChangeSetHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+// Keeps the email index in step with HubSpot between backfills.
+@Slf4j
+@Component
+public class ContactEmailIndexWebhookHandler implements HubSpotEventHandler, PropertyChangeSetHandler {
+
+    private static final Set<SubscriptionType> SUBSCRIPTIONS = EnumSet.of(
+            SubscriptionType.CONTACT_CREATION, SubscriptionType.CONTACT_RESTORE, SubscriptionType.CONTACT_DELETION);
+
+    private final ContactEmailIndex contactEmailIndex;
+    private final HubSpotCrmClient hubSpotCrmClient;
+
+    // Lookups get a bounded pool of their own, so a creation burst cannot flood the shared application executor.
+    // A contact already waiting for its lookup is not queued twice; lookups beyond the queue are dropped and the
+    // next backfill picks those contacts up.
+    private final ThreadPoolExecutor lookupExecutor;
+    private final Set<Long> pendingLookups = ConcurrentHashMap.newKeySet();
+    private final Counter lookupsQueued;
+    private final Counter lookupsCoalesced;
+    private final Counter lookupsDropped;
+
+    public ContactEmailIndexWebhookHandler(final ContactEmailIndex contactEmailIndex,
+                                           final HubSpotCrmClient hubSpotCrmClient,
+                                           final MeterRegistry meterRegistry,
+                                           @Value("${hubspot.index.lookup.workers:2}") final int workers,
+                                           @Value("${hubspot.index.lookup.queue-capacity:1000}") final int queueCapacity) {
+        this.contactEmailIndex = contactEmailIndex;
+        this.hubSpotCrmClient = hubSpotCrmClient;
+        this.lookupExecutor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("email-index-lookup-", 0).daemon().factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.lookupsQueued = lookupCounter(meterRegistry, "queued");
+        this.lookupsCoalesced = lookupCounter(meterRegistry, "coalesced");
+        this.lookupsDropped = lookupCounter(meterRegistry, "dropped");
+    }
+
+    @Override
+    public boolean supports(final HubSpotEvent event) {
+        return event.hasObjectId() && SUBSCRIPTIONS.contains(event.subscriptionType());
+    }
+
+    @Override
+    public void handle(final HubSpotEvent event) {
+        final long contactId = event.objectId();
+        switch (event.subscriptionType()) {
+            case CONTACT_DELETION -> contactEmailIndex.remove(contactId);
+            // Creation events carry no properties, so the email is looked up off the webhook thread.
+            default -> scheduleLookup(contactId);
+        }
+    }
+
+    @Override
+    public void handle(final ContactChangeSet changeSet) {
+        final ContactChangeSet.PropertyChange emailChange = changeSet.changes().get("email");
+        if (emailChange != null) {
+            updateEmail(changeSet.objectId(), emailChange.value());
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        lookupExecutor.shutdownNow();
+    }
+
+    private void scheduleLookup(final long contactId) {
+        if (!pendingLookups.add(contactId)) {
+            lookupsCoalesced.increment();
+            return;
+        }
+        try {
+            lookupExecutor.execute(() -> {
+                pendingLookups.remove(contactId);
+                lookupEmail(contactId);
+            });
+            lookupsQueued.increment();
+        } catch (final RejectedExecutionException e) {
+            pendingLookups.remove(contactId);
+            lookupsDropped.increment();
+            log.debug("Email lookup queue full, dropping lookup for contact {}.", contactId);
+        }
+    }
+
+    private void lookupEmail(final long contactId) {
+        try {
+            final HubSpotObjectResponse contact = LaneContext.callAs(Lane.WEBHOOK_FOLLOWUP,
+                    () -> hubSpotCrmClient.getContact(String.valueOf(contactId), "email"));
+            updateEmail(contactId, contact.properties() == null ? null : contact.properties().get("email"));
+        } catch (final Exception e) {
+            log.warn("Could not look up email for contact {}: {}", contactId, e.getMessage());
+        }
+    }
+
+    private void updateEmail(final long contactId, final String email) {
+        if (email == null || email.isBlank()) {
+            contactEmailIndex.remove(contactId);
+        } else {
+            contactEmailIndex.put(email, contactId);
+        }
+    }
+
+    private static Counter lookupCounter(final MeterRegistry meterRegistry, final String outcome) {
+        return Counter.builder("hubspot.index.lookups")
+                .description("Email lookups requested by contact.creation/contact.restore webhooks")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+}
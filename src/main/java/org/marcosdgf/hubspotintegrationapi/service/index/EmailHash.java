@@ -0,0 +1,57 @@
+package org.marcosdgf.hubspotintegrationapi.service.index;
+
+// Two independent 64-bit hashes of the trimmed, lower-cased email, computed without allocating.
+final class EmailHash {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private EmailHash() {
+    }
+
+    static long primary(final CharSequence email) {
+        long hash = FNV_OFFSET;
+        final int end = trimmedEnd(email);
+        for (int i = trimmedStart(email); i < end; i++) {
+            hash ^= Character.toLowerCase(email.charAt(i));
+            hash *= FNV_PRIME;
+        }
+        return mix(hash);
+    }
+
+    static long secondary(final CharSequence email) {
+        long hash = GOLDEN_GAMMA;
+        final int end = trimmedEnd(email);
+        for (int i = trimmedStart(email); i < end; i++) {
+            hash = Long.rotateLeft(hash ^ (Character.toLowerCase(email.charAt(i)) * GOLDEN_GAMMA), 31) * 0xbf58476d1ce4e5b9L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private static int trimmedStart(final CharSequence email) {
+        int start = 0;
+        while (start < email.length() && Character.isWhitespace(email.charAt(start))) {
+            start++;
+        }
+        return start;
+    }
+
+    private static int trimmedEnd(final CharSequence email) {
+        int end = email.length();
+        while (end > 0 && Character.isWhitespace(email.charAt(end - 1))) {
+            end--;
+        }
+        return end;
+    }
+
+}
@@ -0,0 +1,128 @@
+package org.marcosdgf.hubspotintegrationapi.service.index;
+
+// Open-addressing map of primitive longs (~16 bytes per slot instead of two boxed Longs and an entry).
+final class LongLongHashMap {
+
+    static final long NO_VALUE = -1L;
+
+    private static final long EMPTY = 0L;
+    private static final long REMOVED = Long.MIN_VALUE;
+    private static final double MAX_LOAD = 0.6;
+
+    private long[] keys;
+    private long[] values;
+    private int size;
+    private int occupied;
+
+    LongLongHashMap(final int initialCapacity) {
+        allocate(Integer.highestOneBit(Math.max(16, initialCapacity) * 2 - 1));
+    }
+
+    long get(final long key) {
+        final long k = normalize(key);
+        final int mask = keys.length - 1;
+        for (int slot = slot(k, mask); ; slot = (slot + 1) & mask) {
+            final long current = keys[slot];
+            if (current == EMPTY) {
+                return NO_VALUE;
+            }
+            if (current == k) {
+                return values[slot];
+            }
+        }
+    }
+
+    long put(final long key, final long value) {
+        if (occupied + 1 > keys.length * MAX_LOAD) {
+            rehash(size + 1 > keys.length * MAX_LOAD / 2 ? keys.length * 2 : keys.length);
+        }
+        final long k = normalize(key);
+        final int mask = keys.length - 1;
+        int tombstone = -1;
+        for (int slot = slot(k, mask); ; slot = (slot + 1) & mask) {
+            final long current = keys[slot];
+            if (current == k) {
+                final long previous = values[slot];
+                values[slot] = value;
+                return previous;
+            }
+            if (current == REMOVED && tombstone < 0) {
+                tombstone = slot;
+            } else if (current == EMPTY) {
+                final int target = tombstone >= 0 ? tombstone : slot;
+                if (target == slot) {
+                    occupied++;
+                }
+                keys[target] = k;
+                values[target] = value;
+                size++;
+                return NO_VALUE;
+            }
+        }
+    }
+
+    long remove(final long key) {
+        final long k = normalize(key);
+        final int mask = keys.length - 1;
+        for (int slot = slot(k, mask); ; slot = (slot + 1) & mask) {
+            final long current = keys[slot];
+            if (current == EMPTY) {
+                return NO_VALUE;
+            }
+            if (current == k) {
+                final long previous = values[slot];
+                keys[slot] = REMOVED;
+                values[slot] = 0;
+                size--;
+                return previous;
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    void forEach(final EntryConsumer action) {
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != EMPTY && keys[slot] != REMOVED) {
+                action.accept(keys[slot], values[slot]);
+            }
+        }
+    }
+
+    private void rehash(final int capacity) {
+        final long[] oldKeys = keys;
+        final long[] oldValues = values;
+        allocate(capacity);
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldKeys[slot] != EMPTY && oldKeys[slot] != REMOVED) {
+                put(oldKeys[slot], oldValues[slot]);
+            }
+        }
+    }
+
+    private void allocate(final int capacity) {
+        keys = new long[capacity];
+        values = new long[capacity];
+        size = 0;
+        occupied = 0;
+    }
+
+    private static int slot(final long key, final int mask) {
+        return (int) (key ^ (key >>> 32)) * 0x9e3779b9 & mask;
+    }
+
+    // EMPTY and REMOVED are reserved markers, so keys that collide with them are nudged by one.
+    private static long normalize(final long key) {
+        return key == EMPTY || key == REMOVED ? key + 1 : key;
+    }
+
+    @FunctionalInterface
+    interface EntryConsumer {
+
+        void accept(long key, long value);
+
+    }
+
+}
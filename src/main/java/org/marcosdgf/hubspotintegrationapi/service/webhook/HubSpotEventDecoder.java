@@ -0,0 +1,85 @@
+package org.marcosdgf.hubspotintegrationapi.service.webhook;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.marcosdgf.hubspotintegrationapi.dto.webhook.HubSpotEvent;
+import org.marcosdgf.hubspotintegrationapi.dto.webhook.SubscriptionType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+// Streams a webhook body straight into compact HubSpotEvents: no intermediate tree or bean, known subscription
+// types resolved to enum constants and property names taken from the shared dictionary.
+@Component
+public class HubSpotEventDecoder {
+
+    private final JsonFactory jsonFactory;
+    private final PropertyNameDictionary propertyNames;
+
+    public HubSpotEventDecoder(final ObjectMapper objectMapper,
+                               @Value("${hubspot.webhook.property-dictionary.max-size:4096}") final int dictionaryMaxSize) {
+        this.jsonFactory = objectMapper.getFactory();
+        this.propertyNames = new PropertyNameDictionary(dictionaryMaxSize);
+    }
+
+    public List<HubSpotEvent> decode(final String body) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new JsonParseException(parser, "Corpo do webhook deve ser um array de eventos");
+            }
+            final List<HubSpotEvent> events = new ArrayList<>();
+            JsonToken token;
+            while ((token = parser.nextToken()) == JsonToken.START_OBJECT) {
+                events.add(readEvent(parser));
+            }
+            if (token != JsonToken.END_ARRAY) {
+                throw new JsonParseException(parser, "Evento de webhook inválido: " + token);
+            }
+            return events;
+        }
+    }
+
+    private HubSpotEvent readEvent(final JsonParser parser) throws IOException {
+        long objectId = 0;
+        long eventId = 0;
+        int portalId = 0;
+        long occurredAt = 0;
+        SubscriptionType subscriptionType = SubscriptionType.UNKNOWN;
+        String propertyName = null;
+        String propertyValue = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            // Jackson canonicalizes field names, so this switch compares interned strings.
+            final String field = parser.currentName();
+            final JsonToken value = parser.nextToken();
+            if (value.isStructStart()) {
+                parser.skipChildren();
+                continue;
+            }
+            switch (field) {
+                case "objectId" -> objectId = parser.getValueAsLong();
+                case "eventId" -> eventId = parser.getValueAsLong();
+                case "portalId" -> portalId = parser.getValueAsInt();
+                case "occurredAt" -> occurredAt = parser.getValueAsLong();
+                case "subscriptionType" -> subscriptionType = value == JsonToken.VALUE_STRING
+                        ? SubscriptionType.of(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength())
+                        : SubscriptionType.UNKNOWN;
+                case "propertyName" -> propertyName = value == JsonToken.VALUE_STRING
+                        ? propertyNames.canonical(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength())
+                        : null;
+                case "propertyValue" -> propertyValue = value == JsonToken.VALUE_NULL ? null : parser.getValueAsString();
+                default -> {
+                    // Fields we do not use, such as subscriptionId, attemptNumber or changeSource.
+                }
+            }
+        }
+        return new HubSpotEvent(objectId, subscriptionType, eventId, portalId, occurredAt, propertyName, propertyValue);
+    }
+
+}
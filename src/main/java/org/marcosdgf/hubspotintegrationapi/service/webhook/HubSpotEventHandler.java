@@ -0,0 +1,11 @@
+package org.marcosdgf.hubspotintegrationapi.service.webhook;
+
+import org.marcosdgf.hubspotintegrationapi.dto.webhook.HubSpotEvent;
+
+public interface HubSpotEventHandler {
+
+    boolean supports(HubSpotEvent event);
+
+    void handle(HubSpotEvent event);
+
+}
@@ -0,0 +1,285 @@
+package org.marcosdgf.hubspotintegrationapi.service.webhook;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.marcosdgf.hubspotintegrationapi.dto.webhook.HubSpotEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Per-portal bulkheads between webhook acknowledgement and dispatch. Each portal has a bounded queue, portals
+// with pending events take turns (round-robin, batch-size events per turn) and a portal is served by at most
+// one worker at a time, so a flood from one tenant fills its own queue instead of delaying everyone else's.
+@Slf4j
+@Component
+public class PortalEventQueues {
+
+    private final WebhookEventDispatcher webhookEventDispatcher;
+    private final MeterRegistry meterRegistry;
+    private final int capacity;
+    private final int batchSize;
+    private final int maxTaggedPortals;
+
+    private final Map<Integer, PortalQueue> portals = new HashMap<>();
+    private final ArrayDeque<PortalQueue> ready = new ArrayDeque<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition eventsReady = lock.newCondition();
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running;
+    private int taggedPortals;
+
+    public PortalEventQueues(final WebhookEventDispatcher webhookEventDispatcher,
+                             final MeterRegistry meterRegistry,
+                             @Value("${hubspot.webhook.portal-queues.enabled:true}") final boolean enabled,
+                             @Value("${hubspot.webhook.portal-queues.capacity:2000}") final int capacity,
+                             @Value("${hubspot.webhook.portal-queues.workers:4}") final int workers,
+                             @Value("${hubspot.webhook.portal-queues.batch-size:50}") final int batchSize,
+                             @Value("${hubspot.webhook.portal-queues.max-tagged-portals:100}") final int maxTaggedPortals) {
+        this.webhookEventDispatcher = webhookEventDispatcher;
+        this.meterRegistry = meterRegistry;
+        this.capacity = capacity;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxTaggedPortals = maxTaggedPortals;
+
+        for (int i = 0; i < workers; i++) {
+            final Thread worker = new Thread(this::drainLoop, "webhook-portal-" + i);
+            worker.setDaemon(true);
+            this.workers.add(worker);
+        }
+        if (enabled) {
+            running = true;
+            this.workers.forEach(Thread::start);
+        }
+    }
+
+    // All or nothing: a delivery is either queued whole or rejected, so HubSpot's retry does not duplicate events.
+    public boolean submit(final List<HubSpotEvent> events) {
+        final Map<Integer, List<HubSpotEvent>> byPortal = new LinkedHashMap<>();
+        for (final HubSpotEvent event : events) {
+            byPortal.computeIfAbsent(event.portalId(), portalId -> new ArrayList<>()).add(event);
+        }
+
+        final long enqueuedAt = System.nanoTime();
+        lock.lock();
+        try {
+            // Checked under the lock, so nothing is queued after the workers have drained and exited.
+            if (running) {
+                return enqueue(byPortal, events.size(), enqueuedAt);
+            }
+        } finally {
+            lock.unlock();
+        }
+        webhookEventDispatcher.dispatch(events);
+        return true;
+    }
+
+    // Called with the lock held.
+    private boolean enqueue(final Map<Integer, List<HubSpotEvent>> byPortal, final int deliverySize, final long enqueuedAt) {
+        for (final Map.Entry<Integer, List<HubSpotEvent>> entry : byPortal.entrySet()) {
+            final PortalQueue portal = portal(entry.getKey());
+            if (portal.events.size() + entry.getValue().size() > capacity) {
+                portal.rejected.increment(entry.getValue().size());
+                log.warn("Queue for portal {} is full ({} events), rejecting delivery of {} event(s).",
+                        portal.portalId, portal.events.size(), deliverySize);
+                for (final Integer portalId : byPortal.keySet()) {
+                    final PortalQueue checked = portals.get(portalId);
+                    if (checked != null) {
+                        releaseIfIdle(checked);
+                    }
+                }
+                return false;
+            }
+        }
+        for (final Map.Entry<Integer, List<HubSpotEvent>> entry : byPortal.entrySet()) {
+            final PortalQueue portal = portals.get(entry.getKey());
+            for (final HubSpotEvent event : entry.getValue()) {
+                portal.events.addLast(new QueuedEvent(event, enqueuedAt));
+            }
+            portal.depth = portal.events.size();
+            if (!portal.scheduled) {
+                portal.scheduled = true;
+                ready.addLast(portal);
+                eventsReady.signal();
+            }
+        }
+        return true;
+    }
+
+    // Workers finish what is already queued before exiting.
+    @PreDestroy
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        lock.lock();
+        try {
+            running = false;
+            eventsReady.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        for (final Thread worker : workers) {
+            try {
+                worker.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void drainLoop() {
+        while (true) {
+            final PortalQueue portal;
+            final List<QueuedEvent> batch = new ArrayList<>(batchSize);
+            lock.lock();
+            try {
+                while (ready.isEmpty()) {
+                    if (!running) {
+                        return;
+                    }
+                    eventsReady.await();
+                }
+                portal = ready.pollFirst();
+                while (batch.size() < batchSize && !portal.events.isEmpty()) {
+                    batch.add(portal.events.pollFirst());
+                }
+                portal.depth = portal.events.size();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                lock.unlock();
+            }
+
+            deliver(portal, batch);
+
+            lock.lock();
+            try {
+                // Back to the end of the line, behind portals that were waiting while this batch ran.
+                if (portal.events.isEmpty()) {
+                    portal.scheduled = false;
+                    releaseIfIdle(portal);
+                } else {
+                    ready.addLast(portal);
+                    eventsReady.signal();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void deliver(final PortalQueue portal, final List<QueuedEvent> batch) {
+        final long now = System.nanoTime();
+        final long nowMillis = System.currentTimeMillis();
+        final List<HubSpotEvent> events = new ArrayList<>(batch.size());
+        for (final QueuedEvent queued : batch) {
+            portal.queueWait.record(now - queued.enqueuedAt(), TimeUnit.NANOSECONDS);
+            if (queued.event().occurredAt() > 0) {
+                portal.lag.record(Math.max(0, nowMillis - queued.event().occurredAt()), TimeUnit.MILLISECONDS);
+            }
+            events.add(queued.event());
+        }
+        portal.dispatched.increment(events.size());
+        try {
+            webhookEventDispatcher.dispatch(events);
+        } catch (final RuntimeException e) {
+            log.error("Dispatch failed for {} event(s) of portal {}: {}", events.size(), portal.portalId, e.getMessage(), e);
+        }
+    }
+
+    // Called with the lock held. Past max-tagged-portals, new portals still get their own queue but share metrics.
+    // Those queues only live while they hold events, so the map is bounded by the tagged portals plus the untagged
+    // portals with work pending, not by every portal seen since startup.
+    private PortalQueue portal(final int portalId) {
+        PortalQueue portal = portals.get(portalId);
+        if (portal == null) {
+            final boolean tagged = taggedPortals < maxTaggedPortals;
+            if (tagged) {
+                taggedPortals++;
+            }
+            portal = new PortalQueue(portalId, tagged, tagged ? String.valueOf(portalId) : "other", meterRegistry);
+            if (tagged) {
+                Gauge.builder("hubspot.webhooks.portal.queue", portal, p -> p.depth)
+                        .description("Webhook events waiting in the portal's queue")
+                        .tag("portal", portal.tag)
+                        .register(meterRegistry);
+            }
+            portals.put(portalId, portal);
+        }
+        return portal;
+    }
+
+    // Called with the lock held. Tagged queues stay, since their gauge holds on to them.
+    private void releaseIfIdle(final PortalQueue portal) {
+        if (!portal.tagged && !portal.scheduled && portal.events.isEmpty()) {
+            portals.remove(portal.portalId);
+        }
+    }
+
+    int portalQueues() {
+        lock.lock();
+        try {
+            return portals.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private record QueuedEvent(HubSpotEvent event, long enqueuedAt) {}
+
+    private static final class PortalQueue {
+
+        private final int portalId;
+        private final boolean tagged;
+        private final String tag;
+        private final ArrayDeque<QueuedEvent> events = new ArrayDeque<>();
+        // Mirrors events.size() so the gauge can be read without the lock.
+        private volatile int depth;
+        private boolean scheduled;
+
+        private final Counter dispatched;
+        private final Counter rejected;
+        private final Timer queueWait;
+        private final Timer lag;
+
+        private PortalQueue(final int portalId, final boolean tagged, final String tag, final MeterRegistry meterRegistry) {
+            this.portalId = portalId;
+            this.tagged = tagged;
+            this.tag = tag;
+            this.dispatched = Counter.builder("hubspot.webhooks.portal.events")
+                    .description("Webhook events dispatched from the portal's queue")
+                    .tag("portal", tag)
+                    .register(meterRegistry);
+            this.rejected = Counter.builder("hubspot.webhooks.portal.rejected")
+                    .description("Webhook events rejected because the portal's queue was full")
+                    .tag("portal", tag)
+                    .register(meterRegistry);
+            this.queueWait = Timer.builder("hubspot.webhooks.portal.queue.wait")
+                    .description("Time webhook events spent in the portal's queue")
+                    .tag("portal", tag)
+                    .register(meterRegistry);
+            this.lag = Timer.builder("hubspot.webhooks.portal.lag")
+                    .description("Time between the change in HubSpot and its dispatch, per portal")
+                    .tag("portal", tag)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+        }
+
+    }
+
+}
@@ -0,0 +1,191 @@
+package org.marcosdgf.hubspotintegrationapi.service.webhook;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.marcosdgf.hubspotintegrationapi.dto.webhook.ContactChangeSet;
+import org.marcosdgf.hubspotintegrationapi.dto.webhook.HubSpotEvent;
+import org.marcosdgf.hubspotintegrationapi.dto.webhook.SubscriptionType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+// Turns contact.propertyChange events into ContactChangeSets. When coalescing is enabled, events for the same
+// object are merged for hubspot.webhook.coalescing.window before the change set is handed downstream.
+@Slf4j
+@Component
+public class PropertyChangeCoalescer implements HubSpotEventHandler {
+
+    private final List<PropertyChangeSetHandler> handlers;
+    private final TaskScheduler taskScheduler;
+    private final boolean enabled;
+    private final Duration window;
+    private final int maxPendingObjects;
+    private final ConcurrentMap<Long, PendingChangeSet> pending = new ConcurrentHashMap<>();
+
+    private final Counter eventsReceived;
+    private final Counter changeSetsEmitted;
+    private final DistributionSummary eventsPerChangeSet;
+
+    // Window flushes get a scheduler of their own: Boot's shared one has a single thread that also runs the email
+    // index backfill and the schema refresh, and a PT1S window must not wait minutes behind a backfill.
+    @Autowired
+    public PropertyChangeCoalescer(final List<PropertyChangeSetHandler> handlers,
+                                   final MeterRegistry meterRegistry,
+                                   @Value("${hubspot.webhook.coalescing.enabled:false}") final boolean enabled,
+                                   @Value("${hubspot.webhook.coalescing.window:PT1S}") final Duration window,
+                                   @Value("${hubspot.webhook.coalescing.max-pending-objects:10000}") final int maxPendingObjects) {
+        this(handlers, flushScheduler(), meterRegistry, enabled, window, maxPendingObjects);
+    }
+
+    PropertyChangeCoalescer(final List<PropertyChangeSetHandler> handlers,
+                            final TaskScheduler taskScheduler,
+                            final MeterRegistry meterRegistry,
+                            final boolean enabled,
+                            final Duration window,
+                            final int maxPendingObjects) {
+        this.handlers = handlers;
+        this.taskScheduler = taskScheduler;
+        this.enabled = enabled;
+        this.window = window;
+        this.maxPendingObjects = maxPendingObjects;
+        this.eventsReceived = Counter.builder("hubspot.webhooks.coalescer.events")
+                .description("contact.propertyChange events received")
+                .register(meterRegistry);
+        this.changeSetsEmitted = Counter.builder("hubspot.webhooks.coalescer.change-sets")
+                .description("Change sets handed to downstream handlers")
+                .register(meterRegistry);
+        this.eventsPerChangeSet = DistributionSummary.builder("hubspot.webhooks.coalescer.events-per-change-set")
+                .description("Coalescing ratio: events merged into each change set")
+                .register(meterRegistry);
+        Gauge.builder("hubspot.webhooks.coalescer.pending", pending, Map::size)
+                .description("Objects with a change set waiting for its window to close")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean supports(final HubSpotEvent event) {
+        return event.hasObjectId()
+                && (event.is(SubscriptionType.CONTACT_PROPERTY_CHANGE) || event.is(SubscriptionType.CONTACT_DELETION));
+    }
+
+    @Override
+    public void handle(final HubSpotEvent event) {
+        final long objectId = event.objectId();
+        if (event.is(SubscriptionType.CONTACT_DELETION)) {
+            // Changes still waiting for a deleted object must not resurrect it downstream.
+            pending.remove(objectId);
+            return;
+        }
+        if (event.propertyName() == null) {
+            return;
+        }
+        eventsReceived.increment();
+
+        if (!enabled || (pending.size() >= maxPendingObjects && !pending.containsKey(objectId))) {
+            final PendingChangeSet single = new PendingChangeSet(event.portalId());
+            single.merge(event);
+            emit(objectId, single);
+            return;
+        }
+
+        final boolean[] opened = new boolean[1];
+        pending.compute(objectId, (id, changeSet) -> {
+            final PendingChangeSet target = changeSet != null ? changeSet : new PendingChangeSet(event.portalId());
+            opened[0] = changeSet == null;
+            target.merge(event);
+            return target;
+        });
+        if (opened[0]) {
+            try {
+                taskScheduler.schedule(() -> flush(objectId), Instant.now().plus(window));
+            } catch (final TaskRejectedException e) {
+                // Shutting down: nothing will close the window, so close it now.
+                flush(objectId);
+            }
+        }
+    }
+
+    void flush(final long objectId) {
+        // Once removed, the change set can no longer be merged into; later events open a new window.
+        final PendingChangeSet changeSet = pending.remove(objectId);
+        if (changeSet != null) {
+            emit(objectId, changeSet);
+        }
+    }
+
+    @PreDestroy
+    void flushAll() {
+        if (taskScheduler instanceof ThreadPoolTaskScheduler scheduler) {
+            scheduler.shutdown();
+        }
+        for (final Long objectId : List.copyOf(pending.keySet())) {
+            flush(objectId);
+        }
+    }
+
+    private static ThreadPoolTaskScheduler flushScheduler() {
+        final ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("webhook-coalescer-");
+        scheduler.setDaemon(true);
+        scheduler.initialize();
+        return scheduler;
+    }
+
+    private void emit(final long objectId, final PendingChangeSet pendingChangeSet) {
+        final ContactChangeSet changeSet = pendingChangeSet.toChangeSet(objectId);
+        changeSetsEmitted.increment();
+        eventsPerChangeSet.record(changeSet.eventCount());
+        log.debug("Emitting change set for object {}: {} event(s), {} propert(ies).",
+                objectId, changeSet.eventCount(), changeSet.changes().size());
+
+        for (final PropertyChangeSetHandler handler : handlers) {
+            try {
+                handler.handle(changeSet);
+            } catch (final Exception e) {
+                log.error("Handler {} failed for change set of object {}: {}",
+                        handler.getClass().getSimpleName(), objectId, e.getMessage(), e);
+            }
+        }
+    }
+
+    // Only mutated inside ConcurrentHashMap.compute, so access is serialized per object.
+    private static final class PendingChangeSet {
+
+        private final int portalId;
+        private final Map<String, ContactChangeSet.PropertyChange> changes = new HashMap<>();
+        private int eventCount;
+
+        private PendingChangeSet(final int portalId) {
+            this.portalId = portalId;
+        }
+
+        private void merge(final HubSpotEvent event) {
+            eventCount++;
+            changes.merge(event.propertyName(),
+                    new ContactChangeSet.PropertyChange(event.propertyValue(), event.occurredAt()),
+                    (current, candidate) -> candidate.occurredAt() >= current.occurredAt() ? candidate : current);
+        }
+
+        private ContactChangeSet toChangeSet(final long objectId) {
+            return new ContactChangeSet(objectId, portalId != 0 ? portalId : null, Map.copyOf(changes), eventCount);
+        }
+
+    }
+
+}
@@ -0,0 +1,9 @@
+package org.marcosdgf.hubspotintegrationapi.service.webhook;
+
+import org.marcosdgf.hubspotintegrationapi.dto.webhook.ContactChangeSet;
+
+public interface PropertyChangeSetHandler {
+
+    void handle(ContactChangeSet changeSet);
+
+}
@@ -0,0 +1,106 @@
+package org.marcosdgf.hubspotintegrationapi.service.webhook;
+
+// Canonical String instances for property names, looked up straight from a parser's character buffer. Portals
+// use a few hundred property names at most, so buffered events share them instead of each holding a copy.
+// Lookups are lock-free; inserts are serialized and stop at maxSize, after which unknown names are not kept.
+public class PropertyNameDictionary {
+
+    private final int maxSize;
+    private volatile String[] table = new String[256];
+    private int size;
+
+    public PropertyNameDictionary(final int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public String canonical(final char[] chars, final int offset, final int length) {
+        final int hash = hash(chars, offset, length);
+        final String found = find(table, hash, chars, offset, length);
+        return found != null ? found : insert(hash, chars, offset, length);
+    }
+
+    public String canonical(final String name) {
+        return name == null ? null : canonical(name.toCharArray(), 0, name.length());
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private synchronized String insert(final int hash, final char[] chars, final int offset, final int length) {
+        final String found = find(table, hash, chars, offset, length);
+        if (found != null) {
+            return found;
+        }
+        final String name = new String(chars, offset, length);
+        if (size >= maxSize) {
+            return name;
+        }
+        String[] current = table;
+        if ((size + 1) * 2 > current.length) {
+            current = resize(current);
+        }
+        place(current, hash, name);
+        size++;
+        table = current;
+        return name;
+    }
+
+    private static String[] resize(final String[] current) {
+        final String[] larger = new String[current.length * 2];
+        for (final String name : current) {
+            if (name != null) {
+                place(larger, name.hashCode(), name);
+            }
+        }
+        return larger;
+    }
+
+    private static void place(final String[] table, final int hash, final String name) {
+        final int mask = table.length - 1;
+        int slot = spread(hash) & mask;
+        while (table[slot] != null) {
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = name;
+    }
+
+    private static String find(final String[] table, final int hash, final char[] chars, final int offset, final int length) {
+        final int mask = table.length - 1;
+        for (int slot = spread(hash) & mask; ; slot = (slot + 1) & mask) {
+            final String candidate = table[slot];
+            if (candidate == null) {
+                return null;
+            }
+            if (candidate.hashCode() == hash && matches(candidate, chars, offset, length)) {
+                return candidate;
+            }
+        }
+    }
+
+    private static boolean matches(final String candidate, final char[] chars, final int offset, final int length) {
+        if (candidate.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (candidate.charAt(i) != chars[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Same value as String.hashCode(), so stored names can be rehashed without their characters.
+    private static int hash(final char[] chars, final int offset, final int length) {
+        int hash = 0;
+        for (int i = 0; i < length; i++) {
+            hash = 31 * hash + chars[offset + i];
+        }
+        return hash;
+    }
+
+    private static int spread(final int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+}
@@ -0,0 +1,66 @@
+package org.marcosdgf.hubspotintegrationapi.service.webhook;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.marcosdgf.hubspotintegrationapi.dto.webhook.HubSpotEvent;
+import org.marcosdgf.hubspotintegrationapi.dto.webhook.SubscriptionType;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class WebhookEventDispatcher {
+
+    private final List<HubSpotEventHandler> handlers;
+    private final MeterRegistry meterRegistry;
+    private final Map<SubscriptionType, Timer> deliveryLagTimers = new ConcurrentHashMap<>();
+
+    public void dispatch(final List<HubSpotEvent> events) {
+        final long receivedAt = System.currentTimeMillis();
+        for (final HubSpotEvent event : events) {
+            recordDeliveryLag(event, receivedAt);
+            log.debug("Dispatching event: subscriptionType={}, objectId={}", event.subscriptionType(), event.objectId());
+
+            boolean handled = false;
+            for (final HubSpotEventHandler handler : handlers) {
+                if (!handler.supports(event)) {
+                    continue;
+                }
+                handled = true;
+                // One failing handler must not keep the others from seeing the event.
+                try {
+                    handler.handle(event);
+                } catch (final Exception e) {
+                    log.error("Handler {} failed for event {} ({}): {}", handler.getClass().getSimpleName(),
+                            event.eventId(), event.subscriptionType(), e.getMessage(), e);
+                }
+            }
+            if (!handled) {
+                log.debug("Event ignored, no handler for {}", event.subscriptionType());
+            }
+        }
+    }
+
+    // How long HubSpot took to deliver the event; one timer per subscription type, resolved once.
+    private void recordDeliveryLag(final HubSpotEvent event, final long receivedAt) {
+        if (event.occurredAt() <= 0) {
+            return;
+        }
+        final Timer timer = deliveryLagTimers.computeIfAbsent(event.subscriptionType(), type ->
+                Timer.builder("hubspot.webhooks.delivery.lag")
+                        .description("Time between the change in HubSpot and the webhook reaching us")
+                        .tag("subscription", type.wireName().toLowerCase(Locale.ROOT))
+                        .publishPercentileHistogram()
+                        .register(meterRegistry));
+        timer.record(Math.max(0, receivedAt - event.occurredAt()), TimeUnit.MILLISECONDS);
+    }
+
+}
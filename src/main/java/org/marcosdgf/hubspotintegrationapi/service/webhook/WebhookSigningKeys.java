@@ -0,0 +1,83 @@
+package org.marcosdgf.hubspotintegrationapi.service.webhook;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+// HMAC keys for webhook signatures, one per HubSpot app. Each app's Mac is initialized once at startup and
+// requests work on a clone, which copies the prepared key state instead of deriving it again.
+@Slf4j
+@Component
+public class WebhookSigningKeys {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final AppKey defaultKey;
+    private final Map<String, AppKey> appKeys;
+
+    public WebhookSigningKeys(@Value("${hubspot.client.secret}") final String clientSecret,
+                              @Value("${hubspot.webhook.app-secrets:}") final String appSecrets) {
+        this.defaultKey = AppKey.of(clientSecret);
+        final Map<String, AppKey> keys = new HashMap<>();
+        for (final String entry : appSecrets.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            final int separator = entry.indexOf(':');
+            if (separator <= 0 || separator == entry.length() - 1) {
+                throw new IllegalArgumentException(
+                        "hubspot.webhook.app-secrets deve seguir o formato appId:secret[,appId:secret]");
+            }
+            keys.put(entry.substring(0, separator).trim(), AppKey.of(entry.substring(separator + 1).trim()));
+        }
+        this.appKeys = Map.copyOf(keys);
+        if (!appKeys.isEmpty()) {
+            log.info("Webhook signatures accepted for {} additional app(s): {}", appKeys.size(), appKeys.keySet());
+        }
+    }
+
+    // A null appId selects the app behind hubspot.client.secret.
+    public Optional<Mac> forApp(final String appId) {
+        final AppKey key = appId == null ? defaultKey : appKeys.get(appId);
+        return key == null ? Optional.empty() : Optional.of(key.newMac());
+    }
+
+    private record AppKey(SecretKeySpec spec, Mac prototype) {
+
+        static AppKey of(final String secret) {
+            final SecretKeySpec spec = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+            try {
+                final Mac prototype = Mac.getInstance(ALGORITHM);
+                prototype.init(spec);
+                return new AppKey(spec, prototype);
+            } catch (final GeneralSecurityException e) {
+                throw new IllegalStateException("Não foi possível inicializar a chave " + ALGORITHM, e);
+            }
+        }
+
+        // The prototype is never updated after init, so concurrent clones only read it.
+        Mac newMac() {
+            try {
+                return (Mac) prototype.clone();
+            } catch (final CloneNotSupportedException e) {
+                try {
+                    final Mac mac = Mac.getInstance(ALGORITHM);
+                    mac.init(spec);
+                    return mac;
+                } catch (final GeneralSecurityException inner) {
+                    throw new IllegalStateException("Não foi possível inicializar a chave " + ALGORITHM, inner);
+                }
+            }
+        }
+
+    }
+
+}
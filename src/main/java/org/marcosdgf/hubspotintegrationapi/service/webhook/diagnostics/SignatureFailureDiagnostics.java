@@ -0,0 +1,143 @@
+package org.marcosdgf.hubspotintegrationapi.service.webhook.diagnostics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Rejected webhooks must not cost more than accepted ones. Each failure increments a pre-registered counter and
+// overwrites a preallocated slot in a ring of recent failures (references to strings the request already holds,
+// nothing formatted); at most one WARN line is written per log-interval, carrying the count it stood in for.
+@Slf4j
+@Component
+public class SignatureFailureDiagnostics {
+
+    private static final int SIGNATURE_PREFIX_LENGTH = 12;
+
+    private final Map<SignatureFailureReason, Counter> counters = new EnumMap<>(SignatureFailureReason.class);
+    private final long logIntervalNanos;
+    private final AtomicLong nextLogAt = new AtomicLong(System.nanoTime());
+    private final AtomicLong suppressedSinceLastLog = new AtomicLong();
+    private final AtomicLong suppressedTotal = new AtomicLong();
+
+    private final Slot[] slots;
+    private final ReentrantLock lock = new ReentrantLock();
+    private long written;
+
+    public SignatureFailureDiagnostics(final MeterRegistry meterRegistry,
+                                       @Value("${hubspot.webhook.signature-diagnostics.log-interval:PT10S}") final Duration logInterval,
+                                       @Value("${hubspot.webhook.signature-diagnostics.recent-failures:64}") final int recentFailures) {
+        this.logIntervalNanos = logInterval.toNanos();
+        for (final SignatureFailureReason reason : SignatureFailureReason.values()) {
+            counters.put(reason, Counter.builder("hubspot.webhooks.signature.failures")
+                    .description("Webhook deliveries rejected before their events were read")
+                    .tag("reason", reason.tag())
+                    .register(meterRegistry));
+        }
+        this.slots = new Slot[Math.max(1, recentFailures)];
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = new Slot();
+        }
+    }
+
+    public void record(final SignatureFailureReason reason,
+                       final String appId,
+                       final String signatureHeader,
+                       final Long signedTimestamp,
+                       final int bodyLength,
+                       final HttpServletRequest request) {
+        counters.get(reason).increment();
+
+        final long receivedAt = System.currentTimeMillis();
+        final String requestUri = request.getRequestURI();
+        final String remoteAddress = request.getRemoteAddr();
+        lock.lock();
+        try {
+            final Slot slot = slots[(int) (written++ % slots.length)];
+            slot.receivedAt = receivedAt;
+            slot.reason = reason;
+            slot.appId = appId;
+            slot.requestUri = requestUri;
+            slot.remoteAddress = remoteAddress;
+            slot.signatureHeader = signatureHeader;
+            slot.signedTimestamp = signedTimestamp;
+            slot.bodyLength = bodyLength;
+        } finally {
+            lock.unlock();
+        }
+
+        final long now = System.nanoTime();
+        final long logAt = nextLogAt.get();
+        if (now - logAt >= 0 && nextLogAt.compareAndSet(logAt, now + logIntervalNanos)) {
+            log.warn("Webhook rejected ({}): app={}, uri={}, remote={}, bodyLength={}. {} other rejection(s) not logged since the last one.",
+                    reason.tag(), appId, requestUri, remoteAddress, bodyLength, suppressedSinceLastLog.getAndSet(0));
+        } else {
+            suppressedSinceLastLog.incrementAndGet();
+            suppressedTotal.incrementAndGet();
+        }
+    }
+
+    // Newest first. Allocates, so it is only meant for the diagnostics endpoint.
+    public Snapshot snapshot() {
+        final List<RecentFailure> recent = new ArrayList<>(slots.length);
+        lock.lock();
+        try {
+            final long available = Math.min(written, slots.length);
+            for (long i = 1; i <= available; i++) {
+                final Slot slot = slots[(int) ((written - i) % slots.length)];
+                recent.add(new RecentFailure(Instant.ofEpochMilli(slot.receivedAt), slot.reason.tag(), slot.appId,
+                        slot.requestUri, slot.remoteAddress, slot.signedTimestamp, slot.bodyLength,
+                        prefix(slot.signatureHeader)));
+            }
+        } finally {
+            lock.unlock();
+        }
+        final Map<String, Long> totals = new LinkedHashMap<>();
+        counters.forEach((reason, counter) -> totals.put(reason.tag(), (long) counter.count()));
+        return new Snapshot(totals, suppressedTotal.get(), recent);
+    }
+
+    private static String prefix(final String signatureHeader) {
+        if (signatureHeader == null || signatureHeader.length() <= SIGNATURE_PREFIX_LENGTH) {
+            return signatureHeader;
+        }
+        return signatureHeader.substring(0, SIGNATURE_PREFIX_LENGTH) + "…";
+    }
+
+    public record Snapshot(Map<String, Long> failures, long logLinesSuppressed, List<RecentFailure> recent) {}
+
+    public record RecentFailure(Instant receivedAt,
+                                String reason,
+                                String appId,
+                                String requestUri,
+                                String remoteAddress,
+                                Long signedTimestamp,
+                                int bodyLength,
+                                String signaturePrefix) {}
+
+    private static final class Slot {
+
+        private long receivedAt;
+        private SignatureFailureReason reason;
+        private String appId;
+        private String requestUri;
+        private String remoteAddress;
+        private String signatureHeader;
+        private Long signedTimestamp;
+        private int bodyLength;
+
+    }
+
+}
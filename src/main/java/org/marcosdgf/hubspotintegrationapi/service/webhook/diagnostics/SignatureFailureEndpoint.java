@@ -0,0 +1,22 @@
+package org.marcosdgf.hubspotintegrationapi.service.webhook.diagnostics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+// GET /actuator/webhooksignatures: rejection totals per reason and the most recent rejected deliveries.
+// Not in the public actuator paths, so it requires authentication like the rest of the API.
+@Component
+@Endpoint(id = "webhooksignatures")
+@RequiredArgsConstructor
+public class SignatureFailureEndpoint {
+
+    private final SignatureFailureDiagnostics signatureFailureDiagnostics;
+
+    @ReadOperation
+    public SignatureFailureDiagnostics.Snapshot recentFailures() {
+        return signatureFailureDiagnostics.snapshot();
+    }
+
+}
@@ -0,0 +1,18 @@
+package org.marcosdgf.hubspotintegrationapi.service.webhook.diagnostics;
+
+import java.util.Locale;
+
+public enum SignatureFailureReason {
+
+    EXPIRED_TIMESTAMP,
+    UNKNOWN_APP,
+    MALFORMED_SIGNATURE,
+    INVALID_SIGNATURE;
+
+    private final String tag = name().toLowerCase(Locale.ROOT);
+
+    public String tag() {
+        return tag;
+    }
+
+}
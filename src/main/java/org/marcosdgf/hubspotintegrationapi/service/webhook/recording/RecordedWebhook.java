@@ -0,0 +1,4 @@
+package org.marcosdgf.hubspotintegrationapi.service.webhook.recording;
+
+// A verified webhook delivery: when it arrived, the X-HubSpot-Request-Timestamp it was signed with, and its raw body.
+public record RecordedWebhook(long receivedAtMillis, long signedTimestamp, String body) {}
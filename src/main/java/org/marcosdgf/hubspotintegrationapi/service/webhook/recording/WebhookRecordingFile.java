@@ -0,0 +1,91 @@
+package org.marcosdgf.hubspotintegrationapi.service.webhook.recording;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+// Gzipped sequence of length-prefixed records behind a magic header. Every flush is a gzip sync flush, so a file
+// still being written, or cut short by a crash, reads back up to its last complete record.
+public final class WebhookRecordingFile {
+
+    private static final int MAGIC = 0x48535752; // "HSWR"
+    private static final int VERSION = 1;
+
+    private WebhookRecordingFile() {
+    }
+
+    public static Writer create(final Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                new GZIPOutputStream(Files.newOutputStream(file), 8192, true)));
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.flush();
+        return new Writer(out);
+    }
+
+    public static List<RecordedWebhook> read(final Path file) throws IOException {
+        final List<RecordedWebhook> records = new ArrayList<>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(file))))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a webhook recording: " + file);
+            }
+            final int version = in.readInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported webhook recording version " + version + ": " + file);
+            }
+            while (true) {
+                final long receivedAt = in.readLong();
+                final long signedTimestamp = in.readLong();
+                final byte[] body = new byte[in.readInt()];
+                in.readFully(body);
+                records.add(new RecordedWebhook(receivedAt, signedTimestamp, new String(body, StandardCharsets.UTF_8)));
+            }
+        } catch (final EOFException e) {
+            // End of the recording, or a record cut short while it was being written.
+        }
+        return records;
+    }
+
+    public static final class Writer implements Closeable {
+
+        private final DataOutputStream out;
+
+        private Writer(final DataOutputStream out) {
+            this.out = out;
+        }
+
+        public void write(final RecordedWebhook webhook) throws IOException {
+            final byte[] body = webhook.body().getBytes(StandardCharsets.UTF_8);
+            out.writeLong(webhook.receivedAtMillis());
+            out.writeLong(webhook.signedTimestamp());
+            out.writeInt(body.length);
+            out.write(body);
+        }
+
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+
+    }
+
+}
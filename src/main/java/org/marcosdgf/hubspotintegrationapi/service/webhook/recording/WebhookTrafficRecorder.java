@@ -0,0 +1,107 @@
+package org.marcosdgf.hubspotintegrationapi.service.webhook.recording;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+// Opt-in capture of verified webhook deliveries for offline replay. Deliveries are queued and written by a
+// background thread, so recording never delays the acknowledgement; when the queue is full they are dropped.
+@Slf4j
+@Component
+public class WebhookTrafficRecorder {
+
+    private final Path file;
+    private final BlockingQueue<RecordedWebhook> queue;
+    private final Thread writer;
+    private volatile boolean running;
+
+    private final Counter recorded;
+    private final Counter dropped;
+
+    public WebhookTrafficRecorder(final MeterRegistry meterRegistry,
+                                  @Value("${hubspot.webhook.recorder.enabled:false}") final boolean enabled,
+                                  @Value("${hubspot.webhook.recorder.dir:data/webhook-recordings}") final String directory,
+                                  @Value("${hubspot.webhook.recorder.queue-capacity:10000}") final int queueCapacity) {
+        this.file = Path.of(directory).resolve("webhooks-" + System.currentTimeMillis() + ".hswr.gz");
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.recorded = Counter.builder("hubspot.webhooks.recorder.deliveries")
+                .tag("outcome", "recorded")
+                .description("Webhook deliveries written to the traffic recording")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("hubspot.webhooks.recorder.deliveries")
+                .tag("outcome", "dropped")
+                .description("Webhook deliveries not recorded because the queue was full")
+                .register(meterRegistry);
+
+        this.writer = new Thread(this::writeLoop, "webhook-recorder");
+        this.writer.setDaemon(true);
+        if (enabled) {
+            running = true;
+            writer.start();
+            log.info("Recording verified webhook deliveries to {}", file);
+        }
+    }
+
+    public Path file() {
+        return file;
+    }
+
+    public void record(final long signedTimestamp, final String rawBody) {
+        if (!running) {
+            return;
+        }
+        if (!queue.offer(new RecordedWebhook(System.currentTimeMillis(), signedTimestamp, rawBody))) {
+            dropped.increment();
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void writeLoop() {
+        final List<RecordedWebhook> batch = new ArrayList<>();
+        try (WebhookRecordingFile.Writer out = WebhookRecordingFile.create(file)) {
+            while (running || !queue.isEmpty()) {
+                final RecordedWebhook first = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch);
+                for (final RecordedWebhook webhook : batch) {
+                    out.write(webhook);
+                }
+                out.flush();
+                recorded.increment(batch.size());
+                batch.clear();
+            }
+        } catch (final IOException e) {
+            running = false;
+            log.error("Webhook recording to {} stopped: {}", file, e.getMessage(), e);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -0,0 +1,207 @@
+package org.marcosdgf.hubspotintegrationapi.web.compression;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.zip.GZIPInputStream;
+
+// Accepts gzip request bodies (Content-Encoding: gzip), mainly for bulk imports. Responses are compressed by
+// Tomcat (server.compression.*). Inflated bodies are capped at max-inflated-size, except imports, which are
+// streamed row by row and bounded by their own per-record limit.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 30)
+public class GzipRequestFilter extends OncePerRequestFilter {
+
+    private static final String GZIP = "gzip";
+
+    private final boolean enabled;
+    private final long maxInflatedBytes;
+    private final DistributionSummary ratio;
+
+    public GzipRequestFilter(final MeterRegistry meterRegistry,
+                             @Value("${hubspot.compression.request.enabled:true}") final boolean enabled,
+                             @Value("${hubspot.compression.request.max-inflated-size:10MB}") final DataSize maxInflatedSize) {
+        this.enabled = enabled;
+        this.maxInflatedBytes = maxInflatedSize.toBytes();
+        this.ratio = DistributionSummary.builder("hubspot.compression.ratio")
+                .description("Uncompressed size divided by compressed size of gzipped payloads")
+                .tag("leg", "api-request")
+                .register(meterRegistry);
+    }
+
+    // Webhook signatures are computed over the body exactly as sent, and HubSpot does not compress it.
+    @Override
+    protected boolean shouldNotFilter(final HttpServletRequest request) {
+        final String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !enabled || request.getHeader(HttpHeaders.CONTENT_ENCODING) == null || path.startsWith("/webhooks/");
+    }
+
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request,
+                                    final HttpServletResponse response,
+                                    final FilterChain filterChain) throws ServletException, IOException {
+        final String encoding = request.getHeader(HttpHeaders.CONTENT_ENCODING).trim();
+        if (!GZIP.equalsIgnoreCase(encoding) && !"x-gzip".equalsIgnoreCase(encoding)) {
+            response.setStatus(HttpStatus.UNSUPPORTED_MEDIA_TYPE.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            response.getWriter().write("{\"error\":\"Content-Encoding não suportado\",\"details\":\"Use gzip\"}");
+            return;
+        }
+
+        final String path = request.getRequestURI().substring(request.getContextPath().length());
+        final GzipRequest gzipRequest = new GzipRequest(request,
+                path.startsWith("/contacts/import") ? Long.MAX_VALUE : maxInflatedBytes);
+        try {
+            filterChain.doFilter(gzipRequest, response);
+        } finally {
+            gzipRequest.recordRatio(ratio);
+        }
+    }
+
+    private static final class GzipRequest extends HttpServletRequestWrapper {
+
+        private final long maxInflatedBytes;
+        private CountingInputStream compressed;
+        private CountingInputStream inflated;
+        private ServletInputStream stream;
+
+        private GzipRequest(final HttpServletRequest request, final long maxInflatedBytes) {
+            super(request);
+            this.maxInflatedBytes = maxInflatedBytes;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if (stream == null) {
+                compressed = new CountingInputStream(super.getInputStream());
+                inflated = new CountingInputStream(new GZIPInputStream(compressed, 8192));
+                stream = new InflatingServletInputStream(inflated, maxInflatedBytes);
+            }
+            return stream;
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            final String charset = getCharacterEncoding() != null ? getCharacterEncoding() : StandardCharsets.UTF_8.name();
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+
+        // The inflated length is unknown up front.
+        @Override
+        public int getContentLength() {
+            return -1;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return -1;
+        }
+
+        @Override
+        public String getHeader(final String name) {
+            return isHidden(name) ? null : super.getHeader(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(final String name) {
+            return isHidden(name) ? Collections.emptyEnumeration() : super.getHeaders(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaderNames() {
+            return Collections.enumeration(Collections.list(super.getHeaderNames()).stream()
+                    .filter(name -> !isHidden(name))
+                    .toList());
+        }
+
+        private void recordRatio(final DistributionSummary ratio) {
+            if (compressed != null && compressed.count() > 0) {
+                ratio.record((double) inflated.count() / compressed.count());
+            }
+        }
+
+        private static boolean isHidden(final String name) {
+            return HttpHeaders.CONTENT_ENCODING.equalsIgnoreCase(name) || HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name);
+        }
+
+    }
+
+    private static final class InflatingServletInputStream extends ServletInputStream {
+
+        private final CountingInputStream inflated;
+        private final long maxInflatedBytes;
+        private boolean finished;
+
+        private InflatingServletInputStream(final CountingInputStream inflated, final long maxInflatedBytes) {
+            this.inflated = inflated;
+            this.maxInflatedBytes = maxInflatedBytes;
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int b = inflated.read();
+            checked(b);
+            return b;
+        }
+
+        @Override
+        public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+            return checked(inflated.read(buffer, offset, length));
+        }
+
+        @Override
+        public boolean isFinished() {
+            return finished;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        // The servlet contract for a request that is not in async mode; async reads are not offered for gzip bodies.
+        @Override
+        public void setReadListener(final ReadListener readListener) {
+            throw new IllegalStateException("Leitura assíncrona não suportada para corpos gzip");
+        }
+
+        @Override
+        public void close() throws IOException {
+            inflated.close();
+        }
+
+        private int checked(final int read) throws IOException {
+            if (read == -1) {
+                finished = true;
+            } else if (inflated.count() > maxInflatedBytes) {
+                throw new IOException("Corpo descompactado excede o limite de " + maxInflatedBytes + " bytes");
+            }
+            return read;
+        }
+
+    }
+
+}
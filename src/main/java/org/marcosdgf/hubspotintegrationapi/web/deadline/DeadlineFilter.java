@@ -0,0 +1,75 @@
+package org.marcosdgf.hubspotintegrationapi.web.deadline;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.marcosdgf.hubspotintegrationapi.client.deadline.Deadline;
+import org.marcosdgf.hubspotintegrationapi.client.deadline.DeadlineContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+// Gives each inbound request a deadline from X-Request-Timeout (milliseconds) or the endpoint default.
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+public class DeadlineFilter extends OncePerRequestFilter {
+
+    public static final String REQUEST_TIMEOUT_HEADER = "X-Request-Timeout";
+
+    private final Duration defaultTimeout;
+    private final Duration webhookTimeout;
+    private final Duration maxTimeout;
+
+    public DeadlineFilter(@Value("${hubspot.deadline.default-timeout:PT10S}") final Duration defaultTimeout,
+                          @Value("${hubspot.deadline.webhook-timeout:PT4S}") final Duration webhookTimeout,
+                          @Value("${hubspot.deadline.max-timeout:PT30S}") final Duration maxTimeout) {
+        this.defaultTimeout = defaultTimeout;
+        this.webhookTimeout = webhookTimeout;
+        this.maxTimeout = maxTimeout;
+    }
+
+    // Import and export streams run for as long as the upload or download lasts, so they get no deadline.
+    @Override
+    protected boolean shouldNotFilter(final HttpServletRequest request) {
+        final String path = request.getRequestURI().substring(request.getContextPath().length());
+        return path.startsWith("/contacts/import") || path.startsWith("/contacts/export");
+    }
+
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request,
+                                    final HttpServletResponse response,
+                                    final FilterChain filterChain) throws ServletException, IOException {
+        DeadlineContext.set(Deadline.after(timeoutFor(request)));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            DeadlineContext.clear();
+        }
+    }
+
+    Duration timeoutFor(final HttpServletRequest request) {
+        final String header = request.getHeader(REQUEST_TIMEOUT_HEADER);
+        if (header != null) {
+            try {
+                final long millis = Long.parseLong(header.trim());
+                if (millis > 0) {
+                    final Duration requested = Duration.ofMillis(millis);
+                    return requested.compareTo(maxTimeout) > 0 ? maxTimeout : requested;
+                }
+            } catch (final NumberFormatException e) {
+                log.debug("Ignoring invalid {} header: {}", REQUEST_TIMEOUT_HEADER, header);
+            }
+        }
+        final String path = request.getRequestURI().substring(request.getContextPath().length());
+        return path.startsWith("/webhooks/") ? webhookTimeout : defaultTimeout;
+    }
+
+}
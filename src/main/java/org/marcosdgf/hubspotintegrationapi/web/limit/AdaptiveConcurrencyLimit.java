@@ -0,0 +1,93 @@
+package org.marcosdgf.hubspotintegrationapi.web.limit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Gradient-style limit: it grows while short-term latency stays close to the long-term baseline and shrinks
+// as latency rises above it (queueing). Failed or timed-out requests cut the limit multiplicatively (AIMD).
+public final class AdaptiveConcurrencyLimit {
+
+    private static final double LONG_WINDOW = 600;
+    private static final double SHORT_WINDOW = 10;
+    private static final double RTT_TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ReentrantLock updateLock = new ReentrantLock();
+
+    private volatile double estimatedLimit;
+    private double longRtt;
+    private double shortRtt;
+
+    public AdaptiveConcurrencyLimit(final int initialLimit, final int minLimit, final int maxLimit) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.estimatedLimit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            final int current = inFlight.get();
+            if (current >= limit()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release(final long rttNanos, final boolean dropped) {
+        final int inFlightAtCompletion = inFlight.getAndDecrement();
+        // Samples are best-effort: under contention one is simply skipped instead of queueing on the lock.
+        if (!updateLock.tryLock()) {
+            return;
+        }
+        try {
+            update(rttNanos, inFlightAtCompletion, dropped);
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    public int limit() {
+        return (int) estimatedLimit;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    private void update(final long rttNanos, final int inFlightAtCompletion, final boolean dropped) {
+        final double limit = estimatedLimit;
+        if (dropped) {
+            estimatedLimit = Math.max(minLimit, limit * BACKOFF_RATIO);
+            return;
+        }
+
+        if (longRtt == 0) {
+            longRtt = rttNanos;
+            shortRtt = rttNanos;
+            return;
+        }
+        shortRtt += (rttNanos - shortRtt) / SHORT_WINDOW;
+        longRtt += (rttNanos - longRtt) / LONG_WINDOW;
+        // Let the baseline follow a sustained drop in latency quickly, or the limit stays pinned at its maximum.
+        if (longRtt / shortRtt > 2) {
+            longRtt *= 0.95;
+        }
+
+        // Growing while most of the limit is unused would only measure idle latency.
+        if (inFlightAtCompletion < limit / 2) {
+            return;
+        }
+
+        final double gradient = Math.max(0.5, Math.min(1.0, RTT_TOLERANCE * longRtt / shortRtt));
+        final double newLimit = limit * gradient + Math.sqrt(limit);
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, limit * (1 - SMOOTHING) + newLimit * SMOOTHING));
+    }
+
+}
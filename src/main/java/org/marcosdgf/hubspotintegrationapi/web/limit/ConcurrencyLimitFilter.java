@@ -0,0 +1,113 @@
+package org.marcosdgf.hubspotintegrationapi.web.limit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+// Runs ahead of Spring Security so shed requests cost as little as possible.
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final boolean enabled;
+    private final String retryAfterSeconds;
+    private final Map<LimitGroup, AdaptiveConcurrencyLimit> limits = new EnumMap<>(LimitGroup.class);
+    private final Map<LimitGroup, Counter> accepted = new EnumMap<>(LimitGroup.class);
+    private final Map<LimitGroup, Counter> rejected = new EnumMap<>(LimitGroup.class);
+
+    public ConcurrencyLimitFilter(final MeterRegistry meterRegistry,
+                                  @Value("${hubspot.limiter.enabled:true}") final boolean enabled,
+                                  @Value("${hubspot.limiter.retry-after:PT1S}") final Duration retryAfter,
+                                  @Value("${hubspot.limiter.interactive.initial-limit:20}") final int interactiveInitialLimit,
+                                  @Value("${hubspot.limiter.interactive.min-limit:4}") final int interactiveMinLimit,
+                                  @Value("${hubspot.limiter.interactive.max-limit:200}") final int interactiveMaxLimit,
+                                  @Value("${hubspot.limiter.webhook.initial-limit:20}") final int webhookInitialLimit,
+                                  @Value("${hubspot.limiter.webhook.min-limit:4}") final int webhookMinLimit,
+                                  @Value("${hubspot.limiter.webhook.max-limit:200}") final int webhookMaxLimit) {
+        this.enabled = enabled;
+        this.retryAfterSeconds = String.valueOf(Math.max(1, retryAfter.toSeconds()));
+        limits.put(LimitGroup.INTERACTIVE,
+                new AdaptiveConcurrencyLimit(interactiveInitialLimit, interactiveMinLimit, interactiveMaxLimit));
+        limits.put(LimitGroup.WEBHOOK,
+                new AdaptiveConcurrencyLimit(webhookInitialLimit, webhookMinLimit, webhookMaxLimit));
+
+        limits.forEach((group, limit) -> {
+            final String tag = group.name().toLowerCase();
+            Gauge.builder("hubspot.limiter.limit", limit, AdaptiveConcurrencyLimit::limit)
+                    .description("Current adaptive concurrency limit")
+                    .tag("group", tag).register(meterRegistry);
+            Gauge.builder("hubspot.limiter.inflight", limit, AdaptiveConcurrencyLimit::inFlight)
+                    .description("Requests currently in flight")
+                    .tag("group", tag).register(meterRegistry);
+            accepted.put(group, Counter.builder("hubspot.limiter.requests")
+                    .tag("group", tag).tag("outcome", "accepted").register(meterRegistry));
+            rejected.put(group, Counter.builder("hubspot.limiter.requests")
+                    .tag("group", tag).tag("outcome", "rejected").register(meterRegistry));
+        });
+    }
+
+    @Override
+    protected boolean shouldNotFilter(final HttpServletRequest request) {
+        return !enabled || LimitGroup.of(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request,
+                                    final HttpServletResponse response,
+                                    final FilterChain filterChain) throws ServletException, IOException {
+        final LimitGroup group = LimitGroup.of(request);
+        final AdaptiveConcurrencyLimit limit = limits.get(group);
+        if (!limit.tryAcquire()) {
+            rejected.get(group).increment();
+            log.debug("Shedding {} {} ({} limit {} reached).", request.getMethod(), request.getRequestURI(), group, limit.limit());
+            reject(group, response);
+            return;
+        }
+        accepted.get(group).increment();
+
+        final long started = System.nanoTime();
+        boolean dropped = true;
+        try {
+            filterChain.doFilter(request, response);
+            dropped = response.getStatus() >= 500;
+        } finally {
+            limit.release(System.nanoTime() - started, dropped);
+        }
+    }
+
+    AdaptiveConcurrencyLimit limit(final LimitGroup group) {
+        return limits.get(group);
+    }
+
+    // HubSpot retries webhook deliveries on 5xx, while interactive callers understand 429.
+    private void reject(final LimitGroup group, final HttpServletResponse response) throws IOException {
+        final HttpStatus status = group == LimitGroup.WEBHOOK ? HttpStatus.SERVICE_UNAVAILABLE : HttpStatus.TOO_MANY_REQUESTS;
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write("{\"error\":\"Servidor sobrecarregado\",\"details\":\"Tente novamente em "
+                + retryAfterSeconds + "s\"}");
+    }
+
+}
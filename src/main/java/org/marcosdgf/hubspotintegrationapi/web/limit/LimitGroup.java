@@ -0,0 +1,26 @@
+package org.marcosdgf.hubspotintegrationapi.web.limit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpMethod;
+
+// Each group gets its own limit, so a webhook storm cannot starve interactive writes and vice versa.
+public enum LimitGroup {
+
+    INTERACTIVE,
+    WEBHOOK;
+
+    // Import and export are long-lived streams bounded by their own pipelines, so they are left out.
+    static LimitGroup of(final HttpServletRequest request) {
+        final String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (path.startsWith("/webhooks/")) {
+            return WEBHOOK;
+        }
+        if (path.startsWith("/contacts")
+                && !path.startsWith("/contacts/import") && !path.startsWith("/contacts/export")
+                && (HttpMethod.POST.matches(request.getMethod()) || HttpMethod.PATCH.matches(request.getMethod()))) {
+            return INTERACTIVE;
+        }
+        return null;
+    }
+
+}
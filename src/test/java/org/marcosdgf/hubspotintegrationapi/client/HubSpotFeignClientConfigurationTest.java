@@ -0,0 +1,40 @@
+package org.marcosdgf.hubspotintegrationapi.client;
+
+import feign.RequestInterceptor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.marcosdgf.hubspotintegrationapi.client.interceptor.HubSpotAuthRequestInterceptor;
+import org.marcosdgf.hubspotintegrationapi.client.interceptor.HubSpotRateSchedulingInterceptor;
+import org.marcosdgf.hubspotintegrationapi.client.scheduling.WeightedFairRateScheduler;
+import org.marcosdgf.hubspotintegrationapi.service.TokenStorageService;
+import org.springframework.core.annotation.AnnotationAwareOrderComparator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class HubSpotFeignClientConfigurationTest {
+
+    private final HubSpotFeignClientConfiguration configuration = new HubSpotFeignClientConfiguration();
+
+    @Test
+    @DisplayName("Should sort the auth interceptor before the rate scheduling one the way OpenFeign does")
+    void interceptors_whenSortedLikeOpenFeign_shouldPutAuthFirst() {
+        assertAuthSortsFirst(true);
+        assertAuthSortsFirst(false);
+    }
+
+    private void assertAuthSortsFirst(final boolean schedulerEnabled) {
+        final List<RequestInterceptor> interceptors = new ArrayList<>(List.of(
+                configuration.hubSpotRateSchedulingInterceptor(mock(WeightedFairRateScheduler.class), schedulerEnabled),
+                configuration.hubSpotAuthRequestInterceptor(mock(TokenStorageService.class))));
+
+        AnnotationAwareOrderComparator.sort(interceptors);
+
+        assertThat(interceptors).hasExactlyElementsOfTypes(
+                HubSpotAuthRequestInterceptor.class, HubSpotRateSchedulingInterceptor.class);
+    }
+
+}
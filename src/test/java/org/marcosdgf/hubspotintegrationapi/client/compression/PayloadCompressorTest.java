@@ -0,0 +1,84 @@
+package org.marcosdgf.hubspotintegrationapi.client.compression;
+
+import feign.Request;
+import feign.Response;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PayloadCompressorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PayloadCompressor compressor = new PayloadCompressor(meterRegistry, true, true, 64);
+
+    @Test
+    @DisplayName("Should gzip request bodies from the size threshold up and ask for gzip responses")
+    void prepare_whenBodyLarge_shouldCompress() throws IOException {
+        final byte[] body = "{\"inputs\":[{\"properties\":{\"email\":\"contato@example.com\"}}]}".repeat(10)
+                .getBytes(StandardCharsets.UTF_8);
+
+        final Request prepared = compressor.prepare(request(body));
+
+        assertThat(prepared.headers().get(HttpHeaders.CONTENT_ENCODING)).containsExactly("gzip");
+        assertThat(prepared.headers().get(HttpHeaders.ACCEPT_ENCODING)).containsExactly("gzip");
+        assertThat(prepared.body().length).isLessThan(body.length);
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(prepared.body()))) {
+            assertThat(in.readAllBytes()).isEqualTo(body);
+        }
+        assertThat(meterRegistry.get("hubspot.compression.ratio").tag("leg", "hubspot-request").summary().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should leave small request bodies uncompressed")
+    void prepare_whenBodySmall_shouldNotCompress() {
+        final byte[] body = "{\"properties\":{}}".getBytes(StandardCharsets.UTF_8);
+
+        final Request prepared = compressor.prepare(request(body));
+
+        assertThat(prepared.headers()).doesNotContainKey(HttpHeaders.CONTENT_ENCODING);
+        assertThat(prepared.body()).isEqualTo(body);
+    }
+
+    @Test
+    @DisplayName("Should inflate gzip responses and drop the encoding headers")
+    void decode_whenGzipResponse_shouldInflate() throws IOException {
+        final String json = "{\"results\":[],\"paging\":{}}";
+        final byte[] gzipped = PayloadCompressor.gzip(json.getBytes(StandardCharsets.UTF_8));
+        final Response response = Response.builder()
+                .status(200)
+                .request(request(null))
+                .headers(Map.<String, Collection<String>>of(
+                        HttpHeaders.CONTENT_ENCODING, List.of("gzip"),
+                        HttpHeaders.CONTENT_LENGTH, List.of(String.valueOf(gzipped.length))))
+                .body(gzipped)
+                .build();
+
+        final Response decoded = compressor.decode(response);
+
+        assertThat(decoded.headers()).doesNotContainKeys(HttpHeaders.CONTENT_ENCODING, HttpHeaders.CONTENT_LENGTH);
+        try (InputStream in = decoded.body().asInputStream()) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(json);
+        }
+        assertThat(meterRegistry.get("hubspot.compression.ratio").tag("leg", "hubspot-response").summary().count())
+                .isEqualTo(1);
+    }
+
+    private static Request request(final byte[] body) {
+        return Request.create(Request.HttpMethod.POST, "https://api.hubapi.com/crm/v3/objects/contacts/batch/create",
+                Map.of(), body, StandardCharsets.UTF_8, null);
+    }
+
+}
@@ -0,0 +1,87 @@
+package org.marcosdgf.hubspotintegrationapi.client.deadline;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class DeadlineAwareClientTest {
+
+    private static final Request REQUEST = Request.create(
+            Request.HttpMethod.GET, "https://api.hubapi.com/crm/v3/objects/contacts", Collections.emptyMap(),
+            null, StandardCharsets.UTF_8, null);
+    private static final Request.Options OPTIONS =
+            new Request.Options(10, TimeUnit.SECONDS, 60, TimeUnit.SECONDS, true);
+
+    private final Client delegate = mock(Client.class);
+    private final DeadlineAwareClient client = new DeadlineAwareClient(delegate);
+
+    @AfterEach
+    void clearDeadline() {
+        DeadlineContext.clear();
+    }
+
+    @Test
+    @DisplayName("Should bound connect and read timeouts by the time left before the deadline")
+    void execute_whenDeadlineSet_shouldShrinkTimeouts() throws Exception {
+        DeadlineContext.set(Deadline.after(Duration.ofSeconds(2)));
+        when(delegate.execute(any(Request.class), any(Request.Options.class)))
+                .thenReturn(Response.builder().status(200).request(REQUEST).headers(Collections.emptyMap()).build());
+
+        client.execute(REQUEST, OPTIONS);
+
+        final ArgumentCaptor<Request.Options> options = ArgumentCaptor.forClass(Request.Options.class);
+        verify(delegate).execute(any(Request.class), options.capture());
+        assertThat(options.getValue().readTimeoutMillis()).isBetween(1, 2_000);
+        assertThat(options.getValue().connectTimeoutMillis()).isBetween(1, 2_000);
+    }
+
+    @Test
+    @DisplayName("Should pass the configured options through when there is no deadline")
+    void execute_whenNoDeadline_shouldKeepOptions() throws Exception {
+        client.execute(REQUEST, OPTIONS);
+
+        verify(delegate).execute(REQUEST, OPTIONS);
+    }
+
+    @Test
+    @DisplayName("Should not call HubSpot once the deadline has passed")
+    void execute_whenExpired_shouldFailFast() {
+        DeadlineContext.set(new Deadline(System.nanoTime() - 1));
+
+        assertThatThrownBy(() -> client.execute(REQUEST, OPTIONS)).isInstanceOf(DeadlineExceededException.class);
+        verifyNoInteractions(delegate);
+    }
+
+    @Test
+    @DisplayName("Should report a timeout that ran into the deadline as a deadline failure")
+    void execute_whenTimeoutHitsDeadline_shouldThrowDeadlineExceeded() throws Exception {
+        DeadlineContext.set(Deadline.after(Duration.ofMillis(20)));
+        when(delegate.execute(any(Request.class), any(Request.Options.class))).thenAnswer(invocation -> {
+            Thread.sleep(40);
+            throw new SocketTimeoutException("Read timed out");
+        });
+
+        assertThatThrownBy(() -> client.execute(REQUEST, OPTIONS))
+                .isInstanceOf(DeadlineExceededException.class)
+                .hasCauseInstanceOf(SocketTimeoutException.class);
+    }
+
+}
@@ -0,0 +1,96 @@
+package org.marcosdgf.hubspotintegrationapi.client.fanout;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.marcosdgf.hubspotintegrationapi.client.deadline.Deadline;
+import org.marcosdgf.hubspotintegrationapi.client.deadline.DeadlineContext;
+import org.marcosdgf.hubspotintegrationapi.client.deadline.DeadlineExceededException;
+import org.marcosdgf.hubspotintegrationapi.client.scheduling.Lane;
+import org.marcosdgf.hubspotintegrationapi.client.scheduling.LaneContext;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StructuredFanOutTest {
+
+    @AfterEach
+    void clearDeadline() {
+        DeadlineContext.clear();
+    }
+
+    @Test
+    @DisplayName("Should return results in task order and run each task on a virtual thread")
+    void invokeAll_shouldReturnResultsInOrder() throws Exception {
+        final List<Callable<String>> tasks = List.of(
+                () -> { Thread.sleep(30); return "a:" + Thread.currentThread().isVirtual(); },
+                () -> "b:" + Thread.currentThread().isVirtual());
+
+        assertThat(StructuredFanOut.invokeAll("teste", tasks)).containsExactly("a:true", "b:true");
+    }
+
+    @Test
+    @DisplayName("Should propagate the caller's lane and deadline to every task")
+    void invokeAll_shouldPropagateContext() throws Exception {
+        final Deadline deadline = Deadline.after(Duration.ofSeconds(5));
+        DeadlineContext.set(deadline);
+
+        final List<Callable<Object>> tasks = List.of(LaneContext::current, DeadlineContext::current);
+
+        final List<Object> seen = LaneContext.callAs(Lane.BULK, () -> StructuredFanOut.invokeAll("teste", tasks));
+
+        assertThat(seen).containsExactly(Lane.BULK, Optional.of(deadline));
+    }
+
+    @Test
+    @DisplayName("Should cancel sibling tasks when one fails")
+    void invokeAll_whenTaskFails_shouldCancelSiblings() {
+        final CountDownLatch siblingInterrupted = new CountDownLatch(1);
+        final List<Callable<String>> tasks = List.of(
+                () -> {
+                    try {
+                        Thread.sleep(10_000);
+                        return "slow";
+                    } catch (final InterruptedException e) {
+                        siblingInterrupted.countDown();
+                        throw e;
+                    }
+                },
+                () -> { throw new IllegalArgumentException("boom"); });
+
+        assertThatThrownBy(() -> StructuredFanOut.invokeAll("teste", tasks))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("boom");
+        assertThat(siblingInterrupted.getCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should cancel all tasks and fail once the caller's deadline passes")
+    void invokeAll_whenDeadlinePasses_shouldCancelTasks() {
+        DeadlineContext.set(Deadline.after(Duration.ofMillis(50)));
+        final CountDownLatch interrupted = new CountDownLatch(1);
+        final List<Callable<String>> tasks = List.of(() -> {
+            try {
+                Thread.sleep(10_000);
+                return "slow";
+            } catch (final InterruptedException e) {
+                interrupted.countDown();
+                throw e;
+            }
+        });
+
+        final long start = System.nanoTime();
+        assertThatThrownBy(() -> StructuredFanOut.invokeAll("teste", tasks))
+                .isInstanceOf(DeadlineExceededException.class);
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(5_000);
+        assertThat(interrupted.getCount()).isZero();
+    }
+
+}
@@ -0,0 +1,104 @@
+package org.marcosdgf.hubspotintegrationapi.client.hedging;
+
+import feign.Client;
+import feign.Request;
+import feign.RequestTemplate;
+import feign.Response;
+import feign.Target;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.marcosdgf.hubspotintegrationapi.client.HubSpotCrmClient;
+import org.marcosdgf.hubspotintegrationapi.client.scheduling.WeightedFairRateScheduler;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestHedgerTest {
+
+    private static final Request.Options OPTIONS = new Request.Options(1, TimeUnit.SECONDS, 5, TimeUnit.SECONDS, true);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RequestHedger hedger = new RequestHedger(
+            new WeightedFairRateScheduler(meterRegistry, 1_000, 10, 6, 3, 1), meterRegistry,
+            true, 0.5, 32, 32, Duration.ofMillis(1), 1.0, 5);
+
+    @AfterEach
+    void shutdown() {
+        hedger.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should send a hedge for a slow read and return the first response")
+    void execute_whenPrimaryIsSlow_shouldReturnHedge() throws Exception {
+        final AtomicInteger calls = new AtomicInteger();
+        final Client client = (request, options) -> {
+            final boolean slow = calls.incrementAndGet() == 33;
+            if (slow) {
+                sleep(500);
+            }
+            return Response.builder().status(200).reason(slow ? "slow" : "fast").request(request)
+                    .headers(Collections.emptyMap()).build();
+        };
+        final Request request = crmGet();
+
+        for (int i = 0; i < 32; i++) {
+            hedger.execute(client, request, OPTIONS).close();
+        }
+        try (Response response = hedger.execute(client, request, OPTIONS)) {
+            assertThat(response.reason()).isEqualTo("fast");
+        }
+
+        assertThat(meterRegistry.get("hubspot.hedging.hedges").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("hubspot.hedging.wins").tag("winner", "hedge").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should only hedge GET requests made through the CRM client")
+    void appliesTo_shouldSelectIdempotentCrmReads() {
+        final RequestTemplate post = new RequestTemplate();
+        post.feignTarget(new Target.HardCodedTarget<>(HubSpotCrmClient.class, "hubspot-crm", "https://api.hubapi.com"));
+
+        assertThat(hedger.appliesTo(crmGet())).isTrue();
+        assertThat(hedger.appliesTo(Request.create(Request.HttpMethod.POST, "https://api.hubapi.com/crm/v3/objects/contacts",
+                Collections.emptyMap(), "{}".getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8, post))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should grant hedges only in proportion to traffic")
+    void hedgeBudget_shouldLimitHedgesToRatio() {
+        final HedgeBudget budget = new HedgeBudget(0.1, 5);
+
+        for (int i = 0; i < 9; i++) {
+            budget.onRequest();
+        }
+        assertThat(budget.tryHedge()).isFalse();
+
+        budget.onRequest();
+        assertThat(budget.tryHedge()).isTrue();
+        assertThat(budget.tryHedge()).isFalse();
+    }
+
+    private static Request crmGet() {
+        final RequestTemplate template = new RequestTemplate();
+        template.feignTarget(new Target.HardCodedTarget<>(HubSpotCrmClient.class, "hubspot-crm", "https://api.hubapi.com"));
+        template.uri("/crm/v3/objects/contacts/1");
+        return Request.create(Request.HttpMethod.GET, "https://api.hubapi.com/crm/v3/objects/contacts/1",
+                Collections.emptyMap(), null, StandardCharsets.UTF_8, template);
+    }
+
+    private static void sleep(final long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
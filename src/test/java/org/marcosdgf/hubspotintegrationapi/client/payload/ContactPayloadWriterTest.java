@@ -0,0 +1,92 @@
+package org.marcosdgf.hubspotintegrationapi.client.payload;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.marcosdgf.hubspotintegrationapi.dto.request.ContactAssociation;
+import org.marcosdgf.hubspotintegrationapi.dto.request.ContactCreateRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ContactPayloadWriterTest {
+
+    private final ContactPayloadWriter writer = new ContactPayloadWriter(new ObjectMapper(), 2);
+
+    @Test
+    @DisplayName("Should write the HubSpot properties wire format, skipping null properties")
+    void write_shouldSkipNullProperties() {
+        final byte[] payload = writer.write(new ContactCreateRequest("john@example.com", "John", "Doe", null, "www.johndoe.com"));
+
+        assertThat(new String(payload, StandardCharsets.UTF_8)).isEqualTo(
+                "{\"properties\":{\"email\":\"john@example.com\",\"firstname\":\"John\",\"lastname\":\"Doe\",\"website\":\"www.johndoe.com\"}}");
+    }
+
+    @Test
+    @DisplayName("Should produce independent payloads when the pooled generator is reused")
+    void write_whenGeneratorReused_shouldNotLeakPreviousPayload() {
+        writer.write(new ContactCreateRequest("first@example.com", "First", "User", "123", null));
+
+        final byte[] payload = writer.write(new ContactCreateRequest("second@example.com", "Second", "User", null, null));
+
+        assertThat(new String(payload, StandardCharsets.UTF_8)).isEqualTo(
+                "{\"properties\":{\"email\":\"second@example.com\",\"firstname\":\"Second\",\"lastname\":\"User\"}}");
+    }
+
+    @Test
+    @DisplayName("Should write batch payloads as HubSpot inputs")
+    void writeBatch_shouldWrapContactsInInputs() {
+        final byte[] payload = writer.writeBatch(List.of(
+                new ContactCreateRequest("one@example.com", "One", "User", null, null),
+                new ContactCreateRequest("two@example.com", "Two", "User", "123", null)));
+
+        assertThat(new String(payload, StandardCharsets.UTF_8)).isEqualTo(
+                "{\"inputs\":["
+                        + "{\"properties\":{\"email\":\"one@example.com\",\"firstname\":\"One\",\"lastname\":\"User\"}},"
+                        + "{\"properties\":{\"email\":\"two@example.com\",\"firstname\":\"Two\",\"lastname\":\"User\",\"phone\":\"123\"}}"
+                        + "]}");
+    }
+
+    @Test
+    @DisplayName("Should write custom properties without letting them override standard fields")
+    void write_whenCustomProperties_shouldAppendThemAfterStandardFields() {
+        final Map<String, String> custom = new LinkedHashMap<>();
+        custom.put("email", "override@example.com");
+        custom.put("lifecyclestage", "lead");
+        custom.put("company", null);
+
+        final byte[] payload = writer.write(new ContactCreateRequest("john@example.com", "John", "Doe", null, null, custom));
+
+        assertThat(new String(payload, StandardCharsets.UTF_8)).isEqualTo(
+                "{\"properties\":{\"email\":\"john@example.com\",\"firstname\":\"John\",\"lastname\":\"Doe\",\"lifecyclestage\":\"lead\"}}");
+    }
+
+    @Test
+    @DisplayName("Should write associations inline in the create-with-associations form")
+    void write_whenAssociations_shouldWriteThemAfterProperties() {
+        final byte[] payload = writer.write(new ContactCreateRequest("john@example.com", "John", "Doe", null, null, null,
+                List.of(new ContactAssociation("companies", "901"), new ContactAssociation("deals", "902", "USER_DEFINED", 12))));
+
+        assertThat(new String(payload, StandardCharsets.UTF_8)).isEqualTo(
+                "{\"properties\":{\"email\":\"john@example.com\",\"firstname\":\"John\",\"lastname\":\"Doe\"},"
+                        + "\"associations\":["
+                        + "{\"to\":{\"id\":\"901\"},\"types\":[{\"associationCategory\":\"HUBSPOT_DEFINED\",\"associationTypeId\":279}]},"
+                        + "{\"to\":{\"id\":\"902\"},\"types\":[{\"associationCategory\":\"USER_DEFINED\",\"associationTypeId\":12}]}"
+                        + "]}");
+    }
+
+    @Test
+    @DisplayName("Should write v4 batch association inputs from the contact")
+    void writeAssociationBatch_shouldWriteFromAndTo() {
+        final byte[] payload = writer.writeAssociationBatch(55L, List.of(new ContactAssociation("companies", "901")));
+
+        assertThat(new String(payload, StandardCharsets.UTF_8)).isEqualTo(
+                "{\"inputs\":[{\"from\":{\"id\":\"55\"},\"to\":{\"id\":\"901\"},"
+                        + "\"types\":[{\"associationCategory\":\"HUBSPOT_DEFINED\",\"associationTypeId\":279}]}]}");
+    }
+
+}
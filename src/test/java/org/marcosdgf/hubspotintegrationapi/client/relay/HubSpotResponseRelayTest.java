@@ -0,0 +1,76 @@
+package org.marcosdgf.hubspotintegrationapi.client.relay;
+
+import feign.Request;
+import feign.Response;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HubSpotResponseRelayTest {
+
+    private final HubSpotResponseRelay relay = new HubSpotResponseRelay(16, 2);
+
+    @Test
+    @DisplayName("Should stream status, relevant headers and body bytes to the servlet response")
+    void relay_shouldCopyStatusHeadersAndBody() throws Exception {
+        final String body = "{\"id\":\"12345\",\"properties\":{\"email\":\"test@example.com\"}}";
+        final Response upstream = response(201, body, Map.of(
+                HttpHeaders.CONTENT_TYPE, List.of(MediaType.APPLICATION_JSON_VALUE),
+                "X-HubSpot-RateLimit-Remaining", List.of("99"),
+                "Set-Cookie", List.of("hubspot=internal")));
+        final MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+
+        relay.relay(upstream, servletResponse);
+
+        assertThat(servletResponse.getStatus()).isEqualTo(201);
+        assertThat(servletResponse.getContentType()).isEqualTo(MediaType.APPLICATION_JSON_VALUE);
+        assertThat(servletResponse.getHeader("X-HubSpot-RateLimit-Remaining")).isEqualTo("99");
+        assertThat(servletResponse.getHeader("Set-Cookie")).isNull();
+        assertThat(servletResponse.getContentLength()).isEqualTo(body.getBytes(StandardCharsets.UTF_8).length);
+        assertThat(servletResponse.getContentAsString(StandardCharsets.UTF_8)).isEqualTo(body);
+    }
+
+    @Test
+    @DisplayName("Should relay error bodies the same way as successful ones")
+    void relay_whenErrorStatus_shouldCopyErrorBody() throws Exception {
+        final String body = "{\"status\":\"error\",\"message\":\"Contact already exists.\"}";
+        final MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+
+        relay.relay(response(409, body, Map.of(HttpHeaders.CONTENT_TYPE, List.of(MediaType.APPLICATION_JSON_VALUE))),
+                servletResponse);
+
+        assertThat(servletResponse.getStatus()).isEqualTo(409);
+        assertThat(servletResponse.getContentAsString(StandardCharsets.UTF_8)).isEqualTo(body);
+    }
+
+    @Test
+    @DisplayName("Should return copy buffers to the pool after relaying")
+    void relay_shouldReuseBuffers() throws Exception {
+        relay.relay(response(200, "a body larger than a single sixteen byte buffer", Map.of()), new MockHttpServletResponse());
+        relay.relay(response(200, "another body", Map.of()), new MockHttpServletResponse());
+
+        assertThat(relay.bufferPool().pooled()).isEqualTo(1);
+    }
+
+    private static Response response(final int status, final String body, final Map<String, Collection<String>> headers) {
+        final Request request = Request.create(
+                Request.HttpMethod.POST, "url", Collections.emptyMap(), null, StandardCharsets.UTF_8, null);
+        return Response.builder()
+                .status(status)
+                .request(request)
+                .headers(headers)
+                .body(body, StandardCharsets.UTF_8)
+                .build();
+    }
+
+}
@@ -0,0 +1,80 @@
+package org.marcosdgf.hubspotintegrationapi.client.scheduling;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WeightedFairRateSchedulerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Should grant immediately while the burst budget lasts")
+    void acquire_whenBudgetAvailable_shouldNotWait() throws Exception {
+        final WeightedFairRateScheduler scheduler = new WeightedFairRateScheduler(meterRegistry, 1, 3, 6, 3, 1);
+
+        for (int i = 0; i < 3; i++) {
+            scheduler.acquire(Lane.BULK);
+        }
+
+        assertThat(meterRegistry.get("hubspot.scheduler.wait").tag("lane", "bulk").timer().count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should favour the interactive lane over a bulk backlog according to the weights")
+    void acquire_whenLanesContend_shouldShareByWeight() throws Exception {
+        final WeightedFairRateScheduler scheduler = new WeightedFairRateScheduler(meterRegistry, 20, 1, 3, 1, 1);
+        scheduler.acquire(Lane.BULK);
+
+        final List<Lane> grants = new CopyOnWriteArrayList<>();
+        final int perLane = 8;
+        final CountDownLatch done = new CountDownLatch(perLane * 2);
+        final ExecutorService executor = Executors.newFixedThreadPool(perLane * 2);
+        try {
+            for (int i = 0; i < perLane; i++) {
+                for (final Lane lane : List.of(Lane.BULK, Lane.INTERACTIVE)) {
+                    executor.execute(() -> {
+                        try {
+                            scheduler.acquire(lane);
+                            grants.add(lane);
+                        } catch (final InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        } finally {
+                            done.countDown();
+                        }
+                    });
+                }
+            }
+            assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // With a 3:1 weight, most of the first grants go to the interactive lane.
+        final long interactiveFirst = grants.subList(0, perLane).stream().filter(Lane.INTERACTIVE::equals).count();
+        assertThat(interactiveFirst).isGreaterThanOrEqualTo(5);
+        assertThat(grants).hasSize(perLane * 2);
+    }
+
+    @Test
+    @DisplayName("Should default untagged calls to the interactive lane and restore the previous lane")
+    void laneContext_shouldScopeLane() {
+        assertThat(LaneContext.current()).isEqualTo(Lane.INTERACTIVE);
+
+        final Lane inside = LaneContext.callAs(Lane.BULK, () ->
+                LaneContext.callAs(Lane.WEBHOOK_FOLLOWUP, LaneContext::current));
+
+        assertThat(inside).isEqualTo(Lane.WEBHOOK_FOLLOWUP);
+        assertThat(LaneContext.current()).isEqualTo(Lane.INTERACTIVE);
+    }
+
+}
@@ -6,28 +6,48 @@ import feign.Request;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.marcosdgf.hubspotintegrationapi.client.HubSpotCrmClient;
+import org.marcosdgf.hubspotintegrationapi.client.deadline.DeadlineExceededException;
+import org.marcosdgf.hubspotintegrationapi.client.payload.ContactPayloadWriter;
+import org.marcosdgf.hubspotintegrationapi.client.relay.HubSpotResponseRelay;
+import org.marcosdgf.hubspotintegrationapi.dto.request.ContactBatchCreateRequest;
 import org.marcosdgf.hubspotintegrationapi.dto.request.ContactCreateRequest;
+import org.marcosdgf.hubspotintegrationapi.service.ContactPropertySchemaService;
+import org.marcosdgf.hubspotintegrationapi.service.ContactUpdateService;
+import org.marcosdgf.hubspotintegrationapi.service.ContactUpsertService;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.nio.charset.StandardCharsets;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(ContactController.class)
+@Import(ContactPayloadWriter.class)
 class ContactControllerTest {
 
     @Autowired
@@ -39,6 +59,18 @@ class ContactControllerTest {
     @MockBean
     private HubSpotCrmClient hubSpotCrmClient;
 
+    @MockBean
+    private HubSpotResponseRelay hubSpotResponseRelay;
+
+    @MockBean
+    private ContactPropertySchemaService contactPropertySchemaService;
+
+    @MockBean
+    private ContactUpsertService contactUpsertService;
+
+    @MockBean
+    private ContactUpdateService contactUpdateService;
+
     @Test
     @DisplayName("POST /contacts should create contact successfully")
     void createContact_whenValidRequest_shouldReturnCreated() throws Exception {
@@ -46,7 +78,7 @@ class ContactControllerTest {
                 new ContactCreateRequest("test@example.com", "Test", "User", "123456789", "example.com");
         final String hubspotSuccessResponse =
                 "{\"id\":\"12345\",\"properties\":{\"email\":\"test@example.com\"},\"createdAt\":\"...\"}";
-        when(hubSpotCrmClient.createContact(any(Map.class))).thenReturn(hubspotSuccessResponse);
+        when(hubSpotCrmClient.createContact(any(byte[].class))).thenReturn(hubspotSuccessResponse);
 
         mockMvc.perform(post("/contacts")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -57,7 +89,7 @@ class ContactControllerTest {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(content().json(hubspotSuccessResponse));
 
-        verify(hubSpotCrmClient).createContact(any(Map.class));
+        verify(hubSpotCrmClient).createContact(any(byte[].class));
     }
 
     @Test
@@ -86,7 +118,7 @@ class ContactControllerTest {
 
         final Request mockRequest = Request.create(
                 Request.HttpMethod.POST, "url", Collections.emptyMap(), null, StandardCharsets.UTF_8, null);
-        when(hubSpotCrmClient.createContact(any(Map.class)))
+        when(hubSpotCrmClient.createContact(any(byte[].class)))
                 .thenThrow(FeignException.errorStatus(
                         "createContact",
                         feign.Response.builder()
@@ -108,7 +140,184 @@ class ContactControllerTest {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(content().json(hubspotErrorResponse));
 
-        verify(hubSpotCrmClient).createContact(any(Map.class));
+        verify(hubSpotCrmClient).createContact(any(byte[].class));
+    }
+
+    @Test
+    @DisplayName("POST /contacts should send only the non-null properties to HubSpot")
+    void createContact_whenOptionalFieldsMissing_shouldSkipThemInPayload() throws Exception {
+        final ContactCreateRequest request = new ContactCreateRequest("test@example.com", "Test", "User", null, null);
+        when(hubSpotCrmClient.createContact(any(byte[].class))).thenReturn("{\"id\":\"12345\"}");
+
+        mockMvc.perform(post("/contacts")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+                        .with(user("test-user").roles("USER"))
+                        .with(csrf()))
+                .andExpect(status().isCreated());
+
+        final ArgumentCaptor<byte[]> payload = ArgumentCaptor.forClass(byte[].class);
+        verify(hubSpotCrmClient).createContact(payload.capture());
+        assertThat(new String(payload.getValue(), StandardCharsets.UTF_8))
+                .isEqualTo("{\"properties\":{\"email\":\"test@example.com\",\"firstname\":\"Test\",\"lastname\":\"User\"}}");
+    }
+
+    @Test
+    @DisplayName("POST /contacts/batch should create contacts in a single HubSpot call")
+    void batchCreateContacts_whenValidRequest_shouldReturnCreated() throws Exception {
+        final ContactBatchCreateRequest request = new ContactBatchCreateRequest(List.of(
+                new ContactCreateRequest("one@example.com", "One", "User", null, null),
+                new ContactCreateRequest("two@example.com", "Two", "User", "123456789", null)));
+        final String hubspotBatchResponse = "{\"status\":\"COMPLETE\",\"results\":[{\"id\":\"1\"},{\"id\":\"2\"}]}";
+        when(hubSpotCrmClient.batchCreateContacts(any(byte[].class)))
+                .thenReturn(ResponseEntity.status(HttpStatus.CREATED).body(hubspotBatchResponse));
+
+        mockMvc.perform(post("/contacts/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+                        .with(user("test-user").roles("USER"))
+                        .with(csrf()))
+                .andExpect(status().isCreated())
+                .andExpect(content().json(hubspotBatchResponse));
+
+        verify(hubSpotCrmClient).batchCreateContacts(any(byte[].class));
+    }
+
+    @Test
+    @DisplayName("POST /contacts/batch should keep HubSpot's 207 when only some contacts were created")
+    void batchCreateContacts_whenPartiallyCreated_shouldReturnMultiStatus() throws Exception {
+        final ContactBatchCreateRequest request = new ContactBatchCreateRequest(List.of(
+                new ContactCreateRequest("one@example.com", "One", "User", null, null),
+                new ContactCreateRequest("two@example.com", "Two", "User", null, null)));
+        final String hubspotBatchResponse = "{\"status\":\"COMPLETE\",\"results\":[{\"id\":\"1\"}],"
+                + "\"numErrors\":1,\"errors\":[{\"status\":\"error\",\"category\":\"CONFLICT\"}]}";
+        when(hubSpotCrmClient.batchCreateContacts(any(byte[].class)))
+                .thenReturn(ResponseEntity.status(HttpStatus.MULTI_STATUS).body(hubspotBatchResponse));
+
+        mockMvc.perform(post("/contacts/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+                        .with(user("test-user").roles("USER"))
+                        .with(csrf()))
+                .andExpect(status().isMultiStatus())
+                .andExpect(content().json(hubspotBatchResponse));
+    }
+
+    @Test
+    @DisplayName("POST /contacts/batch should validate every contact in the batch")
+    void batchCreateContacts_whenInvalidContact_shouldReturnBadRequest() throws Exception {
+        final ContactBatchCreateRequest request = new ContactBatchCreateRequest(List.of(
+                new ContactCreateRequest("one@example.com", "One", "User", null, null),
+                new ContactCreateRequest("invalid-email", null, "User", null, null)));
+
+        mockMvc.perform(post("/contacts/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+                        .with(user("test-user").roles("USER"))
+                        .with(csrf()))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("POST /contacts should reject properties that fail local schema validation without calling HubSpot")
+    void createContact_whenSchemaValidationFails_shouldReturnBadRequest() throws Exception {
+        final ContactCreateRequest request = new ContactCreateRequest(
+                "test@example.com", "Test", "User", null, null, Map.of("lifecyclestage", "not-a-stage"));
+        when(contactPropertySchemaService.validate(any(ContactCreateRequest.class)))
+                .thenReturn(List.of("Valor inválido para lifecyclestage: not-a-stage"));
+
+        mockMvc.perform(post("/contacts")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+                        .with(user("test-user").roles("USER"))
+                        .with(csrf()))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.details[0]").value("Valor inválido para lifecyclestage: not-a-stage"));
+
+        verify(hubSpotCrmClient, never()).createContact(any(byte[].class));
+    }
+
+    @Test
+    @DisplayName("POST /contacts/upsert should return 200 and the operation header when the contact was updated")
+    void upsertContact_whenContactExists_shouldReturnOk() throws Exception {
+        final ContactCreateRequest request =
+                new ContactCreateRequest("test@example.com", "Test", "User", null, null);
+        final String hubspotResponse = "{\"id\":\"12345\",\"properties\":{\"email\":\"test@example.com\"}}";
+        when(contactUpsertService.upsert(any(ContactCreateRequest.class)))
+                .thenReturn(new ContactUpsertService.UpsertResult(ContactUpsertService.Operation.UPDATED, hubspotResponse));
+
+        mockMvc.perform(post("/contacts/upsert")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+                        .with(user("test-user").roles("USER"))
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Upsert-Operation", "UPDATED"))
+                .andExpect(content().json(hubspotResponse));
+    }
+
+    @Test
+    @DisplayName("POST /contacts/upsert should reject requests without an email")
+    void upsertContact_whenEmailMissing_shouldReturnBadRequest() throws Exception {
+        final ContactCreateRequest request = new ContactCreateRequest(null, "Test", "User", null, null);
+
+        mockMvc.perform(post("/contacts/upsert")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+                        .with(user("test-user").roles("USER"))
+                        .with(csrf()))
+                .andExpect(status().isBadRequest());
+
+        verify(contactUpsertService, never()).upsert(any(ContactCreateRequest.class));
+    }
+
+    @Test
+    @DisplayName("PATCH /contacts/{id} should return 204 when no property changed")
+    void updateContact_whenNothingChanged_shouldReturnNoContent() throws Exception {
+        when(contactUpdateService.update(eq(42L), anyMap(), eq(false)))
+                .thenReturn(new ContactUpdateService.UpdateResult(0, null));
+
+        mockMvc.perform(patch("/contacts/42")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"properties\":{\"firstname\":\"John\"}}")
+                        .with(user("test-user").roles("USER"))
+                        .with(csrf()))
+                .andExpect(status().isNoContent())
+                .andExpect(header().string("X-Changed-Properties", "0"));
+    }
+
+    @Test
+    @DisplayName("PATCH /contacts/{id} should relay HubSpot's response when properties were written")
+    void updateContact_whenPropertiesChanged_shouldReturnOk() throws Exception {
+        final String hubspotResponse = "{\"id\":\"42\",\"properties\":{\"firstname\":\"Jane\"}}";
+        when(contactUpdateService.update(eq(42L), anyMap(), eq(false)))
+                .thenReturn(new ContactUpdateService.UpdateResult(1, hubspotResponse));
+
+        mockMvc.perform(patch("/contacts/42")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"properties\":{\"firstname\":\"Jane\"}}")
+                        .with(user("test-user").roles("USER"))
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Changed-Properties", "1"))
+                .andExpect(content().json(hubspotResponse));
+    }
+
+    @Test
+    @DisplayName("POST /contacts should return 504 when the request deadline runs out")
+    void createContact_whenDeadlineExceeded_shouldReturnGatewayTimeout() throws Exception {
+        final ContactCreateRequest request =
+                new ContactCreateRequest("test@example.com", "Test", "User", null, null);
+        when(hubSpotCrmClient.createContact(any(byte[].class)))
+                .thenThrow(new DeadlineExceededException("Prazo da requisição esgotado"));
+
+        mockMvc.perform(post("/contacts")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+                        .with(user("test-user").roles("USER"))
+                        .with(csrf()))
+                .andExpect(status().isGatewayTimeout())
+                .andExpect(jsonPath("$.error").value("Prazo da requisição esgotado"));
     }
 
 }
@@ -0,0 +1,66 @@
+package org.marcosdgf.hubspotintegrationapi.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.marcosdgf.hubspotintegrationapi.service.export.ContactExportService;
+import org.marcosdgf.hubspotintegrationapi.service.export.ExportAlreadyCompletedException;
+import org.marcosdgf.hubspotintegrationapi.service.export.ExportAlreadyRunningException;
+import org.marcosdgf.hubspotintegrationapi.service.export.ExportNotFoundException;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class ContactExportControllerTest {
+
+    private static final String PROPERTIES = "email";
+
+    private final ContactExportService contactExportService = mock(ContactExportService.class);
+    private final ContactExportController controller = new ContactExportController(contactExportService, new ObjectMapper());
+
+    @Test
+    @DisplayName("Should answer 400 for a malformed exportId without touching the export service")
+    void exportContacts_whenExportIdMalformed_shouldReturn400() throws Exception {
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+
+        controller.exportContacts(false, "../etc", null, PROPERTIES, response);
+
+        assertThat(response.getStatus()).isEqualTo(400);
+        assertThat(controller.getExportStatus("../etc").getStatusCode().value()).isEqualTo(400);
+        verifyNoInteractions(contactExportService);
+    }
+
+    @Test
+    @DisplayName("Should answer 404 only when the export to resume does not exist")
+    void exportContacts_whenExportMissing_shouldReturn404() throws Exception {
+        when(contactExportService.start("missing", null))
+                .thenThrow(new ExportNotFoundException("Exportação não encontrada: missing"));
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+
+        controller.exportContacts(false, "missing", null, PROPERTIES, response);
+
+        assertThat(response.getStatus()).isEqualTo(404);
+        assertThat(response.getContentAsString()).contains("missing");
+    }
+
+    @Test
+    @DisplayName("Should answer 409 when the export is already running or already completed")
+    void exportContacts_whenRunningOrCompleted_shouldReturn409() throws Exception {
+        when(contactExportService.start("running", null))
+                .thenThrow(new ExportAlreadyRunningException("Exportação já está em execução: running"));
+        when(contactExportService.start("done", null))
+                .thenThrow(new ExportAlreadyCompletedException("Exportação já concluída: done"));
+        final MockHttpServletResponse running = new MockHttpServletResponse();
+        final MockHttpServletResponse done = new MockHttpServletResponse();
+
+        controller.exportContacts(false, "running", null, PROPERTIES, running);
+        controller.exportContacts(false, "done", null, PROPERTIES, done);
+
+        assertThat(running.getStatus()).isEqualTo(409);
+        assertThat(done.getStatus()).isEqualTo(409);
+    }
+
+}
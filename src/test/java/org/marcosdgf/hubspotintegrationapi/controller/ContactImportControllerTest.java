@@ -0,0 +1,81 @@
+package org.marcosdgf.hubspotintegrationapi.controller;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.marcosdgf.hubspotintegrationapi.service.importer.ContactImportService;
+import org.marcosdgf.hubspotintegrationapi.service.importer.ImportFormat;
+import org.marcosdgf.hubspotintegrationapi.service.importer.ImportJobAlreadyRunningException;
+import org.marcosdgf.hubspotintegrationapi.service.importer.ImportJobNotFoundException;
+import org.marcosdgf.hubspotintegrationapi.service.importer.ImportJobStore;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.io.InputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ContactImportControllerTest {
+
+    @Mock
+    private ContactImportService contactImportService;
+
+    @Mock
+    private ImportJobStore importJobStore;
+
+    @InjectMocks
+    private ContactImportController controller;
+
+    @Test
+    @DisplayName("Should answer 415 for an unsupported Content-Type")
+    void importContacts_whenFormatUnsupported_shouldReturn415() {
+        final MockHttpServletRequest request = new MockHttpServletRequest("POST", "/contacts/import");
+        request.setContentType("application/xml");
+
+        assertThat(controller.importContacts(null, request).getStatusCode().value()).isEqualTo(415);
+        verifyNoInteractions(contactImportService);
+    }
+
+    @Test
+    @DisplayName("Should answer 400 for a malformed jobId")
+    void importContacts_whenJobIdMalformed_shouldReturn400() {
+        assertThat(controller.importContacts("../etc", csvRequest()).getStatusCode().value()).isEqualTo(400);
+        verifyNoInteractions(contactImportService);
+    }
+
+    @Test
+    @DisplayName("Should answer 404 only when the job to resume does not exist")
+    void importContacts_whenJobMissing_shouldReturn404() throws Exception {
+        when(contactImportService.importContacts(any(InputStream.class), eq(ImportFormat.CSV), eq("missing")))
+                .thenThrow(new ImportJobNotFoundException("Job de importação não encontrado: missing"));
+
+        assertThat(controller.importContacts("missing", csvRequest()).getStatusCode().value()).isEqualTo(404);
+    }
+
+    @Test
+    @DisplayName("Should answer 409 when the job is already running and 500 for other failures")
+    void importContacts_whenConflictOrFailure_shouldDistinguishThem() throws Exception {
+        when(contactImportService.importContacts(any(InputStream.class), eq(ImportFormat.CSV), eq("running")))
+                .thenThrow(new ImportJobAlreadyRunningException("Job de importação já está em execução: running"));
+        when(contactImportService.importContacts(any(InputStream.class), eq(ImportFormat.CSV), eq("broken")))
+                .thenThrow(new IllegalStateException("falha interna"));
+
+        assertThat(controller.importContacts("running", csvRequest()).getStatusCode().value()).isEqualTo(409);
+        assertThat(controller.importContacts("broken", csvRequest()).getStatusCode().value()).isEqualTo(500);
+    }
+
+    private static MockHttpServletRequest csvRequest() {
+        final MockHttpServletRequest request = new MockHttpServletRequest("POST", "/contacts/import");
+        request.setContentType("text/csv");
+        request.setContent("email\n".getBytes());
+        return request;
+    }
+
+}
@@ -0,0 +1,147 @@
+package org.marcosdgf.hubspotintegrationapi.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import feign.Request;
+import feign.Response;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.marcosdgf.hubspotintegrationapi.client.HubSpotCrmClient;
+import org.marcosdgf.hubspotintegrationapi.dto.request.ContactCreateRequest;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ContactPropertySchemaServiceTest {
+
+    private static final String PROPERTIES_JSON = """
+            {"results":[
+              {"name":"email","type":"string","fieldType":"text"},
+              {"name":"firstname","type":"string","fieldType":"text"},
+              {"name":"lastname","type":"string","fieldType":"text"},
+              {"name":"lifecyclestage","type":"enumeration","fieldType":"radio",
+               "options":[{"label":"Lead","value":"lead"},{"label":"Customer","value":"customer"}]},
+              {"name":"hs_buying_role","type":"enumeration","fieldType":"checkbox",
+               "options":[{"label":"Budget holder","value":"BUDGET_HOLDER"},{"label":"Champion","value":"CHAMPION"}]},
+              {"name":"numemployees","type":"number","fieldType":"number"},
+              {"name":"hs_object_id","type":"number","fieldType":"number",
+               "modificationMetadata":{"readOnlyValue":true,"readOnlyDefinition":true,"archivable":false}}
+            ]}
+            """;
+
+    @Mock
+    private HubSpotCrmClient hubSpotCrmClient;
+
+    @Mock
+    private TokenStorageService tokenStorageService;
+
+    private ContactPropertySchemaService schemaService;
+
+    @BeforeEach
+    void setUp() {
+        schemaService = new ContactPropertySchemaService(hubSpotCrmClient, new ObjectMapper(), tokenStorageService);
+        lenient().when(tokenStorageService.hasTokens()).thenReturn(true);
+    }
+
+    @Test
+    @DisplayName("Should accept every property while the schema has not been loaded")
+    void validate_whenSchemaNotLoaded_shouldAcceptEverything() {
+        final List<String> violations = schemaService.validate(
+                new ContactCreateRequest("john@example.com", "John", "Doe", null, null, Map.of("anything", "goes")));
+
+        assertThat(schemaService.isLoaded()).isFalse();
+        assertThat(violations).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should report unknown, read-only and invalid enumeration or number values")
+    void validate_whenSchemaLoaded_shouldReportViolations() {
+        when(hubSpotCrmClient.getContactProperties(isNull(), isNull()))
+                .thenReturn(response(200, PROPERTIES_JSON, Map.of(HttpHeaders.ETAG, List.of("\"v1\""))));
+        schemaService.refresh();
+
+        final List<String> violations = schemaService.validate(Map.of(
+                "unknownprop", "x",
+                "hs_object_id", "1",
+                "lifecyclestage", "prospect",
+                "hs_buying_role", "CHAMPION;BOSS",
+                "numemployees", "many"));
+
+        assertThat(violations).containsExactlyInAnyOrder(
+                "Propriedade desconhecida: unknownprop",
+                "Propriedade somente leitura: hs_object_id",
+                "Valor inválido para lifecyclestage: prospect",
+                "Valor inválido para hs_buying_role: BOSS",
+                "Valor numérico inválido para numemployees: many");
+    }
+
+    @Test
+    @DisplayName("Should accept valid standard and custom properties")
+    void validate_whenPropertiesValid_shouldReturnNoViolations() {
+        when(hubSpotCrmClient.getContactProperties(isNull(), isNull()))
+                .thenReturn(response(200, PROPERTIES_JSON, Map.of()));
+        schemaService.refresh();
+
+        final List<String> violations = schemaService.validate(new ContactCreateRequest(
+                "john@example.com", "John", "Doe", null, null,
+                Map.of("lifecyclestage", "customer", "hs_buying_role", "BUDGET_HOLDER;CHAMPION", "numemployees", "")));
+
+        assertThat(violations).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should send the stored ETag and keep the cached schema on 304 Not Modified")
+    void refresh_whenNotModified_shouldKeepSchema() {
+        when(hubSpotCrmClient.getContactProperties(isNull(), isNull()))
+                .thenReturn(response(200, PROPERTIES_JSON, Map.of(HttpHeaders.ETAG, List.of("\"v1\""))));
+        when(hubSpotCrmClient.getContactProperties("\"v1\"", null))
+                .thenReturn(response(304, null, Map.of()));
+
+        schemaService.refresh();
+        schemaService.refresh();
+
+        verify(hubSpotCrmClient).getContactProperties("\"v1\"", null);
+        assertThat(schemaService.isLoaded()).isTrue();
+        assertThat(schemaService.validate(Map.of("unknownprop", "x"))).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should not call HubSpot before the app has been authorized")
+    void refresh_whenNoTokens_shouldSkipWithoutCallingHubSpot() {
+        when(tokenStorageService.hasTokens()).thenReturn(false);
+
+        schemaService.refresh();
+
+        verifyNoInteractions(hubSpotCrmClient);
+        assertThat(schemaService.isLoaded()).isFalse();
+    }
+
+    private static Response response(final int status, final String body, final Map<String, Collection<String>> headers) {
+        final Request request = Request.create(
+                Request.HttpMethod.GET, "url", Collections.emptyMap(), null, StandardCharsets.UTF_8, null);
+        final Response.Builder builder = Response.builder()
+                .status(status)
+                .request(request)
+                .headers(headers);
+        if (body != null) {
+            builder.body(body, StandardCharsets.UTF_8);
+        }
+        return builder.build();
+    }
+
+}
@@ -0,0 +1,85 @@
+package org.marcosdgf.hubspotintegrationapi.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.marcosdgf.hubspotintegrationapi.client.HubSpotCrmClient;
+import org.marcosdgf.hubspotintegrationapi.client.payload.ContactPayloadWriter;
+import org.marcosdgf.hubspotintegrationapi.service.fingerprint.ContactFingerprintStore;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ContactUpdateServiceTest {
+
+    @Mock
+    private HubSpotCrmClient hubSpotCrmClient;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ContactFingerprintStore fingerprintStore;
+    private ContactUpdateService updateService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        fingerprintStore = new ContactFingerprintStore(1_000);
+        updateService = new ContactUpdateService(
+                hubSpotCrmClient, new ContactPayloadWriter(new ObjectMapper(), 4), fingerprintStore, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should send only changed properties and skip the call when nothing changed")
+    void update_shouldSendOnlyChangedProperties() {
+        when(hubSpotCrmClient.updateContact(eq("42"), any(byte[].class))).thenReturn("{\"id\":\"42\"}");
+        final Map<String, String> first = new LinkedHashMap<>();
+        first.put("firstname", "John");
+        first.put("lastname", "Doe");
+        updateService.update(42L, first, false);
+
+        final Map<String, String> second = new LinkedHashMap<>(first);
+        second.put("lastname", "Smith");
+        final ContactUpdateService.UpdateResult changed = updateService.update(42L, second, false);
+        final ContactUpdateService.UpdateResult unchanged = updateService.update(42L, second, false);
+
+        final ArgumentCaptor<byte[]> payloads = ArgumentCaptor.forClass(byte[].class);
+        verify(hubSpotCrmClient, times(2)).updateContact(eq("42"), payloads.capture());
+        assertThat(new String(payloads.getAllValues().get(1), StandardCharsets.UTF_8))
+                .isEqualTo("{\"properties\":{\"lastname\":\"Smith\"}}");
+        assertThat(changed.changedProperties()).isEqualTo(1);
+        assertThat(unchanged.skipped()).isTrue();
+        assertThat(meterRegistry.get("hubspot.contacts.updates").tag("outcome", "skipped").counter().count())
+                .isEqualTo(1.0);
+        assertThat(meterRegistry.get("hubspot.contacts.update.properties").tag("outcome", "unchanged").counter().count())
+                .isEqualTo(3.0);
+    }
+
+    @Test
+    @DisplayName("Should write again after a webhook reports a different value in HubSpot")
+    void update_whenChangedRemotely_shouldWriteAgain() {
+        when(hubSpotCrmClient.updateContact(anyString(), any(byte[].class))).thenReturn("{\"id\":\"42\"}");
+        updateService.update(42L, Map.of("firstname", "John"), false);
+        fingerprintStore.recordRemoteChange(42L, "firstname", "Johnny");
+
+        final ContactUpdateService.UpdateResult result = updateService.update(42L, Map.of("firstname", "John"), false);
+
+        assertThat(result.skipped()).isFalse();
+        verify(hubSpotCrmClient, times(2)).updateContact(eq("42"), any(byte[].class));
+    }
+
+}
@@ -0,0 +1,158 @@
+package org.marcosdgf.hubspotintegrationapi.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import feign.FeignException;
+import feign.Request;
+import feign.Response;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.marcosdgf.hubspotintegrationapi.client.HubSpotCrmClient;
+import org.marcosdgf.hubspotintegrationapi.client.payload.ContactPayloadWriter;
+import org.marcosdgf.hubspotintegrationapi.dto.request.ContactAssociation;
+import org.marcosdgf.hubspotintegrationapi.dto.request.ContactCreateRequest;
+import org.marcosdgf.hubspotintegrationapi.service.index.ContactEmailIndex;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.OptionalLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.aryEq;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ContactUpsertServiceTest {
+
+    private static final ContactCreateRequest REQUEST =
+            new ContactCreateRequest("john@example.com", "John", "Doe", null, null);
+
+    @Mock
+    private HubSpotCrmClient hubSpotCrmClient;
+
+    private ContactEmailIndex contactEmailIndex;
+    private ContactUpsertService upsertService;
+
+    @BeforeEach
+    void setUp() {
+        final ObjectMapper objectMapper = new ObjectMapper();
+        final ContactPayloadWriter payloadWriter = new ContactPayloadWriter(objectMapper, 4);
+        contactEmailIndex = new ContactEmailIndex(1_000, 0.01);
+        upsertService = new ContactUpsertService(hubSpotCrmClient, payloadWriter, contactEmailIndex, objectMapper,
+                new ContactAssociationService(hubSpotCrmClient, payloadWriter, objectMapper, 2));
+    }
+
+    @Test
+    @DisplayName("Should create directly and index the new id when the bloom filter rules the email out")
+    void upsert_whenEmailUnknown_shouldCreateAndIndex() {
+        contactEmailIndex.markReady();
+        when(hubSpotCrmClient.createContact(any(byte[].class))).thenReturn("{\"id\":\"101\"}");
+
+        final ContactUpsertService.UpsertResult result = upsertService.upsert(REQUEST);
+
+        assertThat(result.operation()).isEqualTo(ContactUpsertService.Operation.CREATED);
+        assertThat(contactEmailIndex.find("john@example.com")).isEqualTo(OptionalLong.of(101L));
+        verify(hubSpotCrmClient, never()).updateContact(anyString(), any(byte[].class));
+    }
+
+    @Test
+    @DisplayName("Should patch the indexed contact without attempting a create")
+    void upsert_whenEmailIndexed_shouldUpdate() {
+        contactEmailIndex.put("john@example.com", 55L);
+        contactEmailIndex.markReady();
+        when(hubSpotCrmClient.updateContact(eq("55"), any(byte[].class))).thenReturn("{\"id\":\"55\"}");
+
+        final ContactUpsertService.UpsertResult result = upsertService.upsert(REQUEST);
+
+        assertThat(result.operation()).isEqualTo(ContactUpsertService.Operation.UPDATED);
+        verify(hubSpotCrmClient, never()).createContact(any(byte[].class));
+    }
+
+    @Test
+    @DisplayName("Should fall back to an update using the id reported by a create conflict")
+    void upsert_whenCreateConflicts_shouldUpdateExistingContact() {
+        when(hubSpotCrmClient.createContact(any(byte[].class)))
+                .thenThrow(error(409, "{\"message\":\"Contact already exists. Existing ID: 77\"}"));
+        when(hubSpotCrmClient.updateContact(eq("77"), any(byte[].class))).thenReturn("{\"id\":\"77\"}");
+
+        final ContactUpsertService.UpsertResult result = upsertService.upsert(REQUEST);
+
+        assertThat(result.operation()).isEqualTo(ContactUpsertService.Operation.UPDATED);
+        assertThat(contactEmailIndex.find("john@example.com")).isEqualTo(OptionalLong.of(77L));
+    }
+
+    @Test
+    @DisplayName("Should recreate the contact when the indexed id no longer exists")
+    void upsert_whenIndexedContactDeleted_shouldCreate() {
+        contactEmailIndex.put("john@example.com", 55L);
+        when(hubSpotCrmClient.updateContact(eq("55"), any(byte[].class))).thenThrow(error(404, "{}"));
+        when(hubSpotCrmClient.createContact(any(byte[].class))).thenReturn("{\"id\":\"102\"}");
+
+        final ContactUpsertService.UpsertResult result = upsertService.upsert(REQUEST);
+
+        assertThat(result.operation()).isEqualTo(ContactUpsertService.Operation.CREATED);
+        assertThat(contactEmailIndex.find("john@example.com")).isEqualTo(OptionalLong.of(102L));
+    }
+
+    @Test
+    @DisplayName("Should send associations of an updated contact as batch calls grouped by object type")
+    void upsert_whenUpdatingWithAssociations_shouldBatchThemPerObjectType() {
+        contactEmailIndex.put("john@example.com", 55L);
+        when(hubSpotCrmClient.updateContact(eq("55"), any(byte[].class))).thenReturn("{\"id\":\"55\"}");
+        final ContactCreateRequest request = new ContactCreateRequest("john@example.com", "John", "Doe", null, null, null,
+                List.of(new ContactAssociation("companies", "1"), new ContactAssociation("deals", "2"),
+                        new ContactAssociation("companies", "3"), new ContactAssociation("companies", "4")));
+
+        final ContactUpsertService.UpsertResult result = upsertService.upsert(request);
+
+        assertThat(result.associationFailures()).isEmpty();
+        verify(hubSpotCrmClient).updateContact(eq("55"), aryEq(
+                "{\"properties\":{\"email\":\"john@example.com\",\"firstname\":\"John\",\"lastname\":\"Doe\"}}"
+                        .getBytes(StandardCharsets.UTF_8)));
+        verify(hubSpotCrmClient, times(2)).batchCreateContactAssociations(eq("companies"), any(byte[].class));
+        verify(hubSpotCrmClient).batchCreateContactAssociations(eq("deals"), any(byte[].class));
+    }
+
+    @Test
+    @DisplayName("Should report failed and partially failed association batches without failing the update")
+    void upsert_whenAssociationsFail_shouldReportThemInResult() {
+        contactEmailIndex.put("john@example.com", 55L);
+        when(hubSpotCrmClient.updateContact(eq("55"), any(byte[].class))).thenReturn("{\"id\":\"55\"}");
+        when(hubSpotCrmClient.batchCreateContactAssociations(eq("companies"), any(byte[].class)))
+                .thenThrow(error(400, "{\"message\":\"invalid\"}"));
+        when(hubSpotCrmClient.batchCreateContactAssociations(eq("deals"), any(byte[].class)))
+                .thenReturn("{\"status\":\"COMPLETE\",\"results\":[],\"errors\":[{\"message\":\"Deal 2 not found\"}]}");
+        final ContactCreateRequest request = new ContactCreateRequest("john@example.com", "John", "Doe", null, null, null,
+                List.of(new ContactAssociation("companies", "1"), new ContactAssociation("deals", "2")));
+
+        final ContactUpsertService.UpsertResult result = upsertService.upsert(request);
+
+        assertThat(result.operation()).isEqualTo(ContactUpsertService.Operation.UPDATED);
+        assertThat(result.responseBody()).isEqualTo("{\"id\":\"55\"}");
+        assertThat(result.associationFailures()).hasSize(2);
+        assertThat(result.associationFailures().get(0)).startsWith("companies:").contains("400");
+        assertThat(result.associationFailures().get(1)).isEqualTo("deals: Deal 2 not found");
+    }
+
+    private static FeignException error(final int status, final String body) {
+        final Request request = Request.create(
+                Request.HttpMethod.POST, "url", Collections.emptyMap(), null, StandardCharsets.UTF_8, null);
+        return FeignException.errorStatus("upsert", Response.builder()
+                .status(status)
+                .request(request)
+                .headers(Collections.emptyMap())
+                .body(body, StandardCharsets.UTF_8)
+                .build());
+    }
+
+}
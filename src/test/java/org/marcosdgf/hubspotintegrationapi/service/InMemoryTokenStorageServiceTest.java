@@ -2,6 +2,7 @@ package org.marcosdgf.hubspotintegrationapi.service;
 
 import feign.FeignException;
 import feign.Request;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -10,6 +11,7 @@ import org.marcosdgf.hubspotintegrationapi.client.HubSpotOAuthClient;
 import org.marcosdgf.hubspotintegrationapi.dto.response.HubSpotTokenResponse;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 
@@ -25,6 +27,9 @@ class InMemoryTokenStorageServiceTest {
     @Mock
     private HubSpotOAuthClient hubSpotOAuthClient;
 
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private InMemoryTokenStorageService tokenStorageService;
 
@@ -154,4 +159,24 @@ class InMemoryTokenStorageServiceTest {
         verify(hubSpotOAuthClient, never()).refreshToken(anyString(), anyString(), anyString(), anyString());
     }
 
+    @Test
+    @DisplayName("Should count token refreshes and invalidations")
+    void getAccessToken_shouldRecordTokenLifecycleMetrics() {
+
+        ReflectionTestUtils.setField(tokenStorageService, "refreshToken", "refresh456");
+        when(hubSpotOAuthClient.refreshToken(anyString(), anyString(), anyString(), eq("refresh456")))
+                .thenReturn(new HubSpotTokenResponse("access123", "refresh789", 3600, "bearer"));
+
+        tokenStorageService.getAccessToken();
+
+        ReflectionTestUtils.setField(tokenStorageService, "expiresAtMillis", 0L);
+        ReflectionTestUtils.setField(tokenStorageService, "refreshToken", null);
+        tokenStorageService.getAccessToken();
+
+        assertThat(meterRegistry.get("hubspot.oauth.token.refreshes").tag("outcome", "success").counter().count())
+                .isEqualTo(1.0);
+        assertThat(meterRegistry.get("hubspot.oauth.token.invalidations").tag("reason", "missing_refresh_token")
+                .counter().count()).isEqualTo(1.0);
+    }
+
 }
@@ -0,0 +1,195 @@
+package org.marcosdgf.hubspotintegrationapi.service.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import feign.Request;
+import feign.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.marcosdgf.hubspotintegrationapi.client.HubSpotCrmClient;
+import org.marcosdgf.hubspotintegrationapi.dto.response.ExportJobStatus;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ContactExportServiceTest {
+
+    private static final String PROPERTIES = "email";
+
+    @Mock
+    private HubSpotCrmClient hubSpotCrmClient;
+
+    @TempDir
+    private Path stateDirectory;
+
+    private final ExecutorService prefetchExecutor = Executors.newSingleThreadExecutor();
+    private ExportJobStore exportJobStore;
+    private ContactExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        exportJobStore = new ExportJobStore(objectMapper, stateDirectory.toString());
+        exportService = new ContactExportService(hubSpotCrmClient, objectMapper, exportJobStore,
+                prefetchExecutor, 2, 2, Duration.ZERO);
+    }
+
+    @AfterEach
+    void tearDown() {
+        prefetchExecutor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should stream every page as NDJSON following the after cursors")
+    void stream_shouldWriteAllPagesAsNdjson() throws Exception {
+        when(hubSpotCrmClient.listContacts(2, null, PROPERTIES)).thenReturn(page(
+                "[{\"id\":\"1\",\"properties\":{\"email\":\"one@example.com\"}},{\"id\":\"2\",\"properties\":{}}]", "3"));
+        when(hubSpotCrmClient.listContacts(2, "3", PROPERTIES)).thenReturn(page(
+                "[{\"id\":\"3\",\"properties\":{}}]", null));
+
+        final String exportId = exportService.start(null, null);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final ExportJobStatus status = exportService.stream(exportId, PROPERTIES, out);
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "{\"id\":\"1\",\"properties\":{\"email\":\"one@example.com\"}}\n"
+                        + "{\"id\":\"2\",\"properties\":{}}\n"
+                        + "{\"id\":\"3\",\"properties\":{}}\n");
+        assertThat(status.state()).isEqualTo(ExportJobStatus.State.COMPLETED);
+        assertThat(status.pagesWritten()).isEqualTo(2);
+        assertThat(status.recordsWritten()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should resume an interrupted export from the last checkpointed cursor")
+    void start_whenResuming_shouldContinueFromCheckpointCursor() throws Exception {
+        when(hubSpotCrmClient.listContacts(2, null, PROPERTIES)).thenReturn(page("[{\"id\":\"1\"}]", "2"));
+        when(hubSpotCrmClient.listContacts(2, "2", PROPERTIES))
+                .thenReturn(page("[{\"id\":\"2\"}]", null));
+
+        final String exportId = exportService.start(null, null);
+        assertThatThrownBy(() -> exportService.stream(exportId, PROPERTIES, new FailingAfterFirstFlush()))
+                .isInstanceOf(IOException.class);
+        assertThat(exportService.getStatus(exportId)).get()
+                .extracting(ExportJobStatus::nextCursor, ExportJobStatus::state)
+                .containsExactly("2", ExportJobStatus.State.FAILED);
+
+        assertThat(exportService.start(exportId, null)).isEqualTo(exportId);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final ExportJobStatus resumed = exportService.stream(exportId, PROPERTIES, out);
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("{\"id\":\"2\"}\n");
+        assertThat(resumed.recordsWritten()).isEqualTo(2);
+        verify(hubSpotCrmClient).listContacts(2, null, PROPERTIES);
+    }
+
+    @Test
+    @DisplayName("Should resume from the original after cursor when no page was checkpointed")
+    void start_whenResumingBeforeFirstPage_shouldUseStartCursor() throws Exception {
+        exportJobStore.save(checkpoint("export-1", "50", null, 0));
+        when(hubSpotCrmClient.listContacts(2, "50", PROPERTIES)).thenReturn(page("[{\"id\":\"51\"}]", null));
+
+        exportService.start("export-1", null);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final ExportJobStatus status = exportService.stream("export-1", PROPERTIES, out);
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("{\"id\":\"51\"}\n");
+        assertThat(status.state()).isEqualTo(ExportJobStatus.State.COMPLETED);
+        assertThat(status.startCursor()).isEqualTo("50");
+    }
+
+    @Test
+    @DisplayName("Should treat a running export whose last page was written as completed")
+    void start_whenLastPageAlreadyWritten_shouldNotRestart() {
+        exportJobStore.save(checkpoint("export-2", "50", null, 3));
+
+        assertThat(exportService.getStatus("export-2")).get()
+                .extracting(ExportJobStatus::state)
+                .isEqualTo(ExportJobStatus.State.COMPLETED);
+        assertThatThrownBy(() -> exportService.start("export-2", null))
+                .isInstanceOf(ExportAlreadyCompletedException.class)
+                .hasMessageContaining("concluída");
+        assertThat(exportJobStore.load("export-2")).get()
+                .extracting(ExportJobStatus::state)
+                .isEqualTo(ExportJobStatus.State.COMPLETED);
+    }
+
+    @Test
+    @DisplayName("Should fail fast when HubSpot rejects the first page")
+    void stream_whenFirstPageRejected_shouldFail() {
+        when(hubSpotCrmClient.listContacts(2, null, PROPERTIES)).thenReturn(response(401, "{}"));
+
+        final String exportId = exportService.start(null, null);
+
+        assertThatThrownBy(() -> exportService.stream(exportId, PROPERTIES, new ByteArrayOutputStream()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("401");
+    }
+
+    private static ExportJobStatus checkpoint(final String exportId,
+                                              final String startCursor,
+                                              final String nextCursor,
+                                              final long pagesWritten) {
+        final Instant now = Instant.now();
+        return new ExportJobStatus(exportId, ExportJobStatus.State.RUNNING, startCursor, nextCursor,
+                pagesWritten, pagesWritten * 2, now, now, null);
+    }
+
+    private static Response page(final String results, final String nextCursor) {
+        final String paging = nextCursor != null ? ",\"paging\":{\"next\":{\"after\":\"" + nextCursor + "\"}}" : "";
+        return response(200, "{\"results\":" + results + paging + "}");
+    }
+
+    private static Response response(final int status, final String body) {
+        final Request request = Request.create(
+                Request.HttpMethod.GET, "url", Collections.emptyMap(), null, StandardCharsets.UTF_8, null);
+        return Response.builder()
+                .status(status)
+                .request(request)
+                .headers(Collections.emptyMap())
+                .body(body, StandardCharsets.UTF_8)
+                .build();
+    }
+
+    // Accepts the first page, then fails like a client that disconnected mid-export.
+    private static final class FailingAfterFirstFlush extends OutputStream {
+
+        private int flushes;
+
+        @Override
+        public void write(final int b) throws IOException {
+            if (flushes > 0) {
+                throw new IOException("Broken pipe");
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (flushes++ > 0) {
+                throw new IOException("Broken pipe");
+            }
+        }
+
+    }
+
+}
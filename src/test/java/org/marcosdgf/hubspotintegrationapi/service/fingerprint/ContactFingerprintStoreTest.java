@@ -0,0 +1,52 @@
+package org.marcosdgf.hubspotintegrationapi.service.fingerprint;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ContactFingerprintStoreTest {
+
+    @Test
+    @DisplayName("Should report only properties whose value differs from the recorded one")
+    void changedProperties_shouldCompareAgainstRecordedValues() {
+        final ContactFingerprintStore store = new ContactFingerprintStore(10);
+        final Map<String, String> written = new HashMap<>();
+        for (int i = 0; i < 20; i++) {
+            written.put("prop" + i, "value" + i);
+        }
+        store.record(1L, written);
+
+        final Map<String, String> incoming = new HashMap<>(written);
+        incoming.put("prop7", "other");
+        incoming.put("newprop", "x");
+
+        assertThat(store.changedProperties(1L, incoming)).containsOnlyKeys("prop7", "newprop");
+        assertThat(store.changedProperties(2L, Map.of("prop1", "value1"))).containsOnlyKeys("prop1");
+    }
+
+    @Test
+    @DisplayName("Should stop tracking new contacts once the capacity is reached")
+    void record_whenFull_shouldIgnoreNewContacts() {
+        final ContactFingerprintStore store = new ContactFingerprintStore(1);
+        store.record(1L, Map.of("email", "a@example.com"));
+        store.record(2L, Map.of("email", "b@example.com"));
+
+        assertThat(store.size()).isEqualTo(1);
+        assertThat(store.changedProperties(2L, Map.of("email", "b@example.com"))).isNotEmpty();
+    }
+
+    @Test
+    @DisplayName("Should forget deleted contacts")
+    void remove_shouldForgetContact() {
+        final ContactFingerprintStore store = new ContactFingerprintStore(10);
+        store.record(1L, Map.of("email", "a@example.com"));
+        store.remove(1L);
+
+        assertThat(store.changedProperties(1L, Map.of("email", "a@example.com"))).containsOnlyKeys("email");
+    }
+
+}
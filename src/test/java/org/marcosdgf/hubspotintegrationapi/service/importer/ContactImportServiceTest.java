@@ -0,0 +1,221 @@
+package org.marcosdgf.hubspotintegrationapi.service.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import feign.FeignException;
+import feign.Request;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.marcosdgf.hubspotintegrationapi.client.HubSpotCrmClient;
+import org.marcosdgf.hubspotintegrationapi.client.payload.ContactPayloadWriter;
+import org.marcosdgf.hubspotintegrationapi.dto.response.ImportJobStatus;
+import org.marcosdgf.hubspotintegrationapi.service.ContactPropertySchemaService;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ContactImportServiceTest {
+
+    @Mock
+    private HubSpotCrmClient hubSpotCrmClient;
+
+    @Mock
+    private ContactPropertySchemaService contactPropertySchemaService;
+
+    @TempDir
+    private Path stateDirectory;
+
+    private ContactImportService importService;
+    private ImportJobStore importJobStore;
+
+    @BeforeEach
+    void setUp() {
+        final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        importJobStore = new ImportJobStore(objectMapper, stateDirectory.toString());
+        importService = new ContactImportService(
+                hubSpotCrmClient,
+                new ContactPayloadWriter(objectMapper, 4),
+                contactPropertySchemaService,
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                objectMapper,
+                importJobStore,
+                2, 1, 2, 1024, 2, Duration.ZERO);
+        lenient().when(contactPropertySchemaService.validate(any(org.marcosdgf.hubspotintegrationapi.dto.request.ContactCreateRequest.class)))
+                .thenReturn(List.of());
+    }
+
+    @Test
+    @DisplayName("Should stream CSV rows into batches and report invalid rows")
+    void importContacts_whenCsv_shouldBatchValidRowsAndReportInvalidOnes() throws Exception {
+        final String csv = """
+                email,firstname,lastname,phone,lifecyclestage
+                one@example.com,One,User,,lead
+                "two@example.com","Two, Jr.","User ""Quoted""",123,
+                invalid-email,Three,User,,
+
+                four@example.com,Four,User,,customer
+                """;
+
+        final ImportJobStatus status = importService.importContacts(upload(csv), ImportFormat.CSV, null);
+
+        assertThat(status.state()).isEqualTo(ImportJobStatus.State.COMPLETED);
+        assertThat(status.rowsRead()).isEqualTo(4);
+        assertThat(status.rowsImported()).isEqualTo(3);
+        assertThat(status.rowsFailed()).isEqualTo(1);
+        assertThat(status.committedRows()).isEqualTo(4);
+
+        final ArgumentCaptor<byte[]> payloads = ArgumentCaptor.forClass(byte[].class);
+        verify(hubSpotCrmClient, times(2)).batchCreateContacts(payloads.capture());
+        assertThat(new String(payloads.getAllValues().get(0), StandardCharsets.UTF_8))
+                .contains("\"lifecyclestage\":\"lead\"")
+                .contains("\"firstname\":\"Two, Jr.\"")
+                .contains("\"lastname\":\"User \\\"Quoted\\\"\"");
+
+        final List<String> errors = Files.readAllLines(importJobStore.errorReportPath(status.jobId()));
+        assertThat(errors).hasSize(1);
+        assertThat(errors.get(0)).contains("\"row\":3").contains("email");
+    }
+
+    @Test
+    @DisplayName("Should isolate rows individually when HubSpot rejects a whole batch")
+    void importContacts_whenBatchRejected_shouldFallBackToSingleCreates() throws Exception {
+        final String ndjson = """
+                {"email":"one@example.com","firstname":"One","lastname":"User"}
+                {"email":"dup@example.com","firstname":"Dup","lastname":"User"}
+                """;
+        when(hubSpotCrmClient.batchCreateContacts(any(byte[].class))).thenThrow(feignError(409));
+        // Rows are sent concurrently, so the rejection is keyed on the payload rather than call order.
+        when(hubSpotCrmClient.createContact(any(byte[].class))).thenReturn("{\"id\":\"1\"}");
+        when(hubSpotCrmClient.createContact(argThat((byte[] payload) ->
+                new String(payload, StandardCharsets.UTF_8).contains("dup@example.com"))))
+                .thenThrow(feignError(409));
+
+        final ImportJobStatus status = importService.importContacts(upload(ndjson), ImportFormat.NDJSON, null);
+
+        assertThat(status.rowsImported()).isEqualTo(1);
+        assertThat(status.rowsFailed()).isEqualTo(1);
+        assertThat(Files.readAllLines(importJobStore.errorReportPath(status.jobId())).get(0))
+                .contains("\"row\":2").contains("HubSpot status 409");
+    }
+
+    @Test
+    @DisplayName("Should skip rows already committed when resuming a job")
+    void importContacts_whenResuming_shouldSkipCommittedRows() throws Exception {
+        final String ndjson = """
+                {"email":"one@example.com","firstname":"One","lastname":"User"}
+                {"email":"two@example.com","firstname":"Two","lastname":"User"}
+                {"email":"three@example.com","firstname":"Three","lastname":"User"}
+                """;
+        final ImportJobStatus firstRun = importService.importContacts(
+                upload(ndjson.lines().limit(2).reduce("", (a, b) -> a + b + "\n")), ImportFormat.NDJSON, null);
+        importJobStore.save(firstRun.withState(ImportJobStatus.State.RUNNING));
+
+        final ImportJobStatus resumed = importService.importContacts(upload(ndjson), ImportFormat.NDJSON, firstRun.jobId());
+
+        assertThat(resumed.rowsSkipped()).isEqualTo(2);
+        assertThat(resumed.rowsImported()).isEqualTo(3);
+        verify(hubSpotCrmClient, times(2)).batchCreateContacts(any(byte[].class));
+    }
+
+    @Test
+    @DisplayName("Should not commit batches interrupted by a failed upload, so a resume sends them again")
+    void importContacts_whenUploadFailsWhileBatchInFlight_shouldResendBatchOnResume() throws Exception {
+        final String ndjson = """
+                {"email":"one@example.com","firstname":"One","lastname":"User"}
+                {"email":"two@example.com","firstname":"Two","lastname":"User"}
+                {"email":"three@example.com","firstname":"Three","lastname":"User"}
+                """;
+        final String firstBatch = ndjson.lines().limit(2).reduce("", (a, b) -> a + b + "\n");
+        final CountDownLatch batchInFlight = new CountDownLatch(1);
+        // Blocks like a call waiting for the rate scheduler, which reports an interrupt as IllegalStateException.
+        when(hubSpotCrmClient.batchCreateContacts(any(byte[].class))).thenAnswer(invocation -> {
+            batchInFlight.countDown();
+            try {
+                Thread.sleep(10_000);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for HubSpot request budget", e);
+            }
+            return null;
+        }).thenReturn(null);
+        final InputStream failingUpload = new SequenceInputStream(upload(firstBatch), new InputStream() {
+            @Override
+            public int read() throws IOException {
+                try {
+                    batchInFlight.await(5, TimeUnit.SECONDS);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new IOException("Connection reset");
+            }
+        });
+
+        assertThatThrownBy(() -> importService.importContacts(failingUpload, ImportFormat.NDJSON, null))
+                .isInstanceOf(IOException.class);
+        final String jobId;
+        try (Stream<Path> files = Files.list(stateDirectory)) {
+            jobId = files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.endsWith(".json"))
+                    .map(name -> name.substring(0, name.length() - ".json".length()))
+                    .findFirst()
+                    .orElseThrow();
+        }
+        final ImportJobStatus failed = importJobStore.load(jobId).orElseThrow();
+        assertThat(failed.state()).isEqualTo(ImportJobStatus.State.FAILED);
+        assertThat(failed.committedRows()).isZero();
+        assertThat(Files.readAllLines(importJobStore.errorReportPath(failed.jobId()))).isEmpty();
+
+        final ImportJobStatus resumed = importService.importContacts(upload(ndjson), ImportFormat.NDJSON, failed.jobId());
+
+        assertThat(resumed.rowsSkipped()).isZero();
+        assertThat(resumed.rowsImported()).isEqualTo(3);
+        final ArgumentCaptor<byte[]> payloads = ArgumentCaptor.forClass(byte[].class);
+        verify(hubSpotCrmClient, times(3)).batchCreateContacts(payloads.capture());
+        assertThat(new String(payloads.getAllValues().get(1), StandardCharsets.UTF_8)).contains("one@example.com");
+    }
+
+    private static ByteArrayInputStream upload(final String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static FeignException feignError(final int status) {
+        final Request request = Request.create(
+                Request.HttpMethod.POST, "url", Collections.emptyMap(), null, StandardCharsets.UTF_8, null);
+        return FeignException.errorStatus("batchCreateContacts",
+                feign.Response.builder()
+                        .status(status)
+                        .reason("Conflict")
+                        .request(request)
+                        .body("{\"message\":\"Contact already exists\"}", StandardCharsets.UTF_8)
+                        .build());
+    }
+
+}
@@ -0,0 +1,68 @@
+package org.marcosdgf.hubspotintegrationapi.service.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.marcosdgf.hubspotintegrationapi.dto.response.ImportJobStatus;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImportJobTest {
+
+    private static final int BATCHES = 200;
+    private static final int ROWS_PER_BATCH = 10;
+
+    @TempDir
+    private Path stateDirectory;
+
+    @Test
+    @DisplayName("Should persist checkpoints in order when batches complete in parallel")
+    void complete_whenBatchesFinishInParallel_shouldSaveMonotonicCheckpoints() throws Exception {
+        final ImportJobStore store = new ImportJobStore(new ObjectMapper().registerModule(new JavaTimeModule()),
+                stateDirectory.toString());
+        final ImportJob job = new ImportJob("parallel-job", ImportFormat.CSV, null);
+        final List<Long> savedRows = new CopyOnWriteArrayList<>();
+
+        final List<Integer> sequences = new ArrayList<>();
+        for (int i = 0; i < BATCHES; i++) {
+            sequences.add(i);
+        }
+        Collections.shuffle(sequences);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (final int sequence : sequences) {
+                futures.add(executor.submit(() -> job.complete(sequence, (sequence + 1L) * ROWS_PER_BATCH, ROWS_PER_BATCH, 0,
+                        checkpoint -> {
+                            store.save(checkpoint);
+                            savedRows.add(checkpoint.committedRows());
+                        })));
+            }
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(savedRows).isSorted();
+        assertThat(savedRows.get(savedRows.size() - 1)).isEqualTo((long) BATCHES * ROWS_PER_BATCH);
+        final ImportJobStatus persisted = store.load("parallel-job").orElseThrow();
+        assertThat(persisted.committedRows()).isEqualTo((long) BATCHES * ROWS_PER_BATCH);
+        assertThat(persisted.rowsImported()).isEqualTo((long) BATCHES * ROWS_PER_BATCH);
+        assertThat(stateDirectory.toFile().list((dir, name) -> name.endsWith(".tmp"))).isEmpty();
+    }
+
+}
@@ -0,0 +1,62 @@
+package org.marcosdgf.hubspotintegrationapi.service.index;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.OptionalLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ContactEmailIndexTest {
+
+    private final ContactEmailIndex index = new ContactEmailIndex(16, 0.01);
+
+    @Test
+    @DisplayName("Should find contacts by email regardless of case and surrounding whitespace")
+    void find_shouldNormalizeEmail() {
+        index.put("John.Doe@Example.com", 42L);
+
+        assertThat(index.find("  john.doe@example.com ")).isEqualTo(OptionalLong.of(42L));
+        assertThat(index.mightContain("JOHN.DOE@EXAMPLE.COM")).isTrue();
+        assertThat(index.find("jane@example.com")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should drop the previous email when a contact changes address")
+    void put_whenEmailChanges_shouldReplacePreviousMapping() {
+        index.put("old@example.com", 7L);
+        index.put("new@example.com", 7L);
+
+        assertThat(index.find("old@example.com")).isEmpty();
+        assertThat(index.find("new@example.com")).isEqualTo(OptionalLong.of(7L));
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should forget deleted contacts and keep working past the initial capacity")
+    void remove_shouldForgetContact() {
+        for (long id = 1; id <= 1_000; id++) {
+            index.put("user" + id + "@example.com", id);
+        }
+        index.remove(500L);
+
+        assertThat(index.find("user500@example.com")).isEmpty();
+        assertThat(index.find("user999@example.com")).isEqualTo(OptionalLong.of(999L));
+        assertThat(index.size()).isEqualTo(999);
+    }
+
+    @Test
+    @DisplayName("Should resize the bloom filter and require a new backfill once saturated")
+    void prepareForBackfill_whenSaturated_shouldResetReadiness() {
+        index.markReady();
+        for (long id = 1; id <= 32; id++) {
+            index.put("user" + id + "@example.com", id);
+        }
+
+        index.prepareForBackfill();
+
+        assertThat(index.isReady()).isFalse();
+        assertThat(index.find("user1@example.com")).isEqualTo(OptionalLong.of(1L));
+    }
+
+}
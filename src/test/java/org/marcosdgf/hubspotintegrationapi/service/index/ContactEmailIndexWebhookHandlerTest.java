@@ -0,0 +1,76 @@
+package org.marcosdgf.hubspotintegrationapi.service.index;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.marcosdgf.hubspotintegrationapi.client.HubSpotCrmClient;
+import org.marcosdgf.hubspotintegrationapi.dto.response.HubSpotObjectResponse;
+import org.marcosdgf.hubspotintegrationapi.dto.webhook.HubSpotEvent;
+import org.marcosdgf.hubspotintegrationapi.dto.webhook.SubscriptionType;
+
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ContactEmailIndexWebhookHandlerTest {
+
+    private final ContactEmailIndex index = new ContactEmailIndex(16, 0.01);
+    private final HubSpotCrmClient hubSpotCrmClient = mock(HubSpotCrmClient.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ContactEmailIndexWebhookHandler handler =
+            new ContactEmailIndexWebhookHandler(index, hubSpotCrmClient, meterRegistry, 1, 1);
+
+    @AfterEach
+    void tearDown() {
+        handler.stop();
+    }
+
+    @Test
+    @DisplayName("Should coalesce repeated lookups and drop and count those beyond the queue")
+    void handle_whenLookupQueueIsFull_shouldCoalesceAndDrop() throws Exception {
+        final CountDownLatch firstLookupStarted = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        when(hubSpotCrmClient.getContact(anyString(), eq("email"))).thenAnswer(invocation -> {
+            final String id = invocation.getArgument(0);
+            if (id.equals("1")) {
+                firstLookupStarted.countDown();
+                release.await(5, TimeUnit.SECONDS);
+            }
+            return new HubSpotObjectResponse(id, Map.of("email", "user" + id + "@example.com"));
+        });
+
+        handler.handle(creation(1L));
+        assertThat(firstLookupStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        handler.handle(creation(2L));
+        handler.handle(creation(2L));
+        handler.handle(creation(3L));
+        release.countDown();
+
+        verify(hubSpotCrmClient, timeout(5_000)).getContact("2", "email");
+        assertThat(lookups("queued")).isEqualTo(2.0);
+        assertThat(lookups("coalesced")).isEqualTo(1.0);
+        assertThat(lookups("dropped")).isEqualTo(1.0);
+        verify(hubSpotCrmClient, times(0)).getContact("3", "email");
+        assertThat(index.find("user1@example.com")).isEqualTo(OptionalLong.of(1L));
+    }
+
+    private double lookups(final String outcome) {
+        return meterRegistry.get("hubspot.index.lookups").tag("outcome", outcome).counter().count();
+    }
+
+    private static HubSpotEvent creation(final long contactId) {
+        return new HubSpotEvent(contactId, SubscriptionType.CONTACT_CREATION, 0L, 0, 0L, null, null);
+    }
+
+}
@@ -0,0 +1,59 @@
+package org.marcosdgf.hubspotintegrationapi.service.webhook;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.marcosdgf.hubspotintegrationapi.dto.webhook.HubSpotEvent;
+import org.marcosdgf.hubspotintegrationapi.dto.webhook.SubscriptionType;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HubSpotEventDecoderTest {
+
+    private final HubSpotEventDecoder decoder = new HubSpotEventDecoder(new ObjectMapper(), 16);
+
+    @Test
+    @DisplayName("Should decode known fields and ignore the rest")
+    void decode_shouldReadKnownFieldsAndIgnoreTheRest() throws IOException {
+        final List<HubSpotEvent> events = decoder.decode("""
+                [{"objectId":123,"subscriptionType":"contact.propertyChange","eventId":7,"portalId":62515,
+                  "occurredAt":1700000000000,"propertyName":"email","propertyValue":"a@b.com",
+                  "subscriptionId":42,"changeSource":"CRM_UI","sourceMetadata":{"nested":[1,2]}},
+                 {"objectId":124,"subscriptionType":"CONTACT.CREATION"}]
+                """);
+
+        assertThat(events).containsExactly(
+                new HubSpotEvent(123L, SubscriptionType.CONTACT_PROPERTY_CHANGE, 7L, 62515, 1_700_000_000_000L,
+                        "email", "a@b.com"),
+                new HubSpotEvent(124L, SubscriptionType.CONTACT_CREATION, 0L, 0, 0L, null, null));
+    }
+
+    @Test
+    @DisplayName("Should share one propertyName instance across events")
+    void decode_shouldShareCanonicalPropertyNames() throws IOException {
+        final List<HubSpotEvent> first = decoder.decode("[{\"objectId\":1,\"propertyName\":\"firstname\"}]");
+        final List<HubSpotEvent> second = decoder.decode("[{\"objectId\":2,\"propertyName\":\"firstname\"}]");
+
+        assertThat(second.get(0).propertyName()).isSameAs(first.get(0).propertyName());
+    }
+
+    @Test
+    @DisplayName("Should map unknown subscription types to UNKNOWN")
+    void decode_whenSubscriptionTypeUnknown_shouldUseUnknown() throws IOException {
+        final List<HubSpotEvent> events = decoder.decode("[{\"objectId\":1,\"subscriptionType\":\"deal.creation\"}]");
+
+        assertThat(events.get(0).subscriptionType()).isEqualTo(SubscriptionType.UNKNOWN);
+    }
+
+    @Test
+    @DisplayName("Should reject a body that is not an array of events")
+    void decode_whenBodyIsNotAnArray_shouldThrow() {
+        assertThatThrownBy(() -> decoder.decode("{\"objectId\":1}")).isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> decoder.decode("[{\"objectId\":1}")).isInstanceOf(IOException.class);
+    }
+
+}
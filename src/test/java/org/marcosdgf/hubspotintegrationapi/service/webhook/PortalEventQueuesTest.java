@@ -0,0 +1,127 @@
+package org.marcosdgf.hubspotintegrationapi.service.webhook;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.marcosdgf.hubspotintegrationapi.dto.webhook.HubSpotEvent;
+import org.marcosdgf.hubspotintegrationapi.dto.webhook.SubscriptionType;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class PortalEventQueuesTest {
+
+    private static final int NOISY_PORTAL = 1;
+    private static final int QUIET_PORTAL = 2;
+
+    @Mock
+    private WebhookEventDispatcher dispatcher;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<List<HubSpotEvent>> dispatched = new CopyOnWriteArrayList<>();
+    private final CountDownLatch firstBatchStarted = new CountDownLatch(1);
+    private final CountDownLatch releaseFirstBatch = new CountDownLatch(1);
+    private PortalEventQueues queues;
+
+    @AfterEach
+    void tearDown() {
+        releaseFirstBatch.countDown();
+        if (queues != null) {
+            queues.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Should serve a quiet portal before the rest of a noisy portal's backlog")
+    void submit_shouldInterleavePortals() throws Exception {
+        blockFirstBatch();
+        queues = queues(true, 1000, 10);
+
+        assertThat(queues.submit(events(NOISY_PORTAL, 100))).isTrue();
+        assertThat(firstBatchStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(queues.submit(events(QUIET_PORTAL, 1))).isTrue();
+        releaseFirstBatch.countDown();
+
+        queues.stop();
+        assertThat(dispatched).hasSize(11);
+        assertThat(dispatched.get(0)).allMatch(event -> event.portalId() == NOISY_PORTAL).hasSize(10);
+        assertThat(dispatched.get(1)).singleElement().extracting(HubSpotEvent::portalId).isEqualTo(QUIET_PORTAL);
+        assertThat(meterRegistry.get("hubspot.webhooks.portal.events").tag("portal", "1").counter().count())
+                .isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("Should reject a delivery for a full portal queue without affecting other portals")
+    void submit_whenPortalQueueFull_shouldRejectOnlyThatPortal() throws Exception {
+        blockFirstBatch();
+        queues = queues(true, 5, 10);
+
+        assertThat(queues.submit(events(NOISY_PORTAL, 1))).isTrue();
+        assertThat(firstBatchStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(queues.submit(events(NOISY_PORTAL, 5))).isTrue();
+        assertThat(queues.submit(events(NOISY_PORTAL, 1))).isFalse();
+        assertThat(queues.submit(events(QUIET_PORTAL, 5))).isTrue();
+        assertThat(meterRegistry.get("hubspot.webhooks.portal.rejected").tag("portal", "1").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should dispatch inline when portal queues are disabled")
+    void submit_whenDisabled_shouldDispatchInline() {
+        queues = queues(false, 5, 10);
+        final List<HubSpotEvent> events = events(NOISY_PORTAL, 3);
+
+        assertThat(queues.submit(events)).isTrue();
+
+        verify(dispatcher).dispatch(events);
+    }
+
+    @Test
+    @DisplayName("Should drop the queues of untagged portals once they are drained")
+    void submit_whenUntaggedPortalsDrained_shouldReleaseTheirQueues() {
+        queues = new PortalEventQueues(dispatcher, meterRegistry, true, 1000, 1, 10, 1);
+
+        for (int portalId = 1; portalId <= 50; portalId++) {
+            assertThat(queues.submit(events(portalId, 2))).isTrue();
+        }
+        queues.stop();
+
+        verify(dispatcher, times(50)).dispatch(anyList());
+        assertThat(queues.portalQueues()).isEqualTo(1);
+    }
+
+    private void blockFirstBatch() {
+        doAnswer(invocation -> {
+            dispatched.add(List.copyOf(invocation.getArgument(0)));
+            firstBatchStarted.countDown();
+            releaseFirstBatch.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(dispatcher).dispatch(anyList());
+    }
+
+    private PortalEventQueues queues(final boolean enabled, final int capacity, final int batchSize) {
+        return new PortalEventQueues(dispatcher, meterRegistry, enabled, capacity, 1, batchSize, 10);
+    }
+
+    private static List<HubSpotEvent> events(final int portalId, final int count) {
+        return LongStream.rangeClosed(1, count)
+                .mapToObj(id -> new HubSpotEvent(id, SubscriptionType.CONTACT_CREATION, id, portalId, 0L, null, null))
+                .toList();
+    }
+
+}
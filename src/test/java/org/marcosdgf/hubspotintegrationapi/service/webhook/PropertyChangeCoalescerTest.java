@@ -0,0 +1,93 @@
+package org.marcosdgf.hubspotintegrationapi.service.webhook;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.marcosdgf.hubspotintegrationapi.dto.webhook.ContactChangeSet;
+import org.marcosdgf.hubspotintegrationapi.dto.webhook.HubSpotEvent;
+import org.marcosdgf.hubspotintegrationapi.dto.webhook.SubscriptionType;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class PropertyChangeCoalescerTest {
+
+    @Mock
+    private PropertyChangeSetHandler handler;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Should merge events for the same object into one change set keeping the latest value")
+    void handle_whenEnabled_shouldCoalesceEventsPerObject() {
+        final PropertyChangeCoalescer coalescer = coalescer(true);
+
+        coalescer.handle(propertyChange(1L, "firstname", "John", 100L));
+        coalescer.handle(propertyChange(1L, "firstname", "Johnny", 300L));
+        coalescer.handle(propertyChange(1L, "firstname", "Jon", 200L));
+        coalescer.handle(propertyChange(1L, "lastname", "Doe", 150L));
+        verify(handler, never()).handle(any(ContactChangeSet.class));
+        verify(taskScheduler, times(1)).schedule(any(Runnable.class), any(Instant.class));
+
+        coalescer.flush(1L);
+
+        final ArgumentCaptor<ContactChangeSet> captor = ArgumentCaptor.forClass(ContactChangeSet.class);
+        verify(handler).handle(captor.capture());
+        assertThat(captor.getValue().eventCount()).isEqualTo(4);
+        assertThat(captor.getValue().changes().get("firstname").value()).isEqualTo("Johnny");
+        assertThat(captor.getValue().changes().get("lastname").value()).isEqualTo("Doe");
+        assertThat(meterRegistry.get("hubspot.webhooks.coalescer.events-per-change-set").summary().mean())
+                .isEqualTo(4.0);
+    }
+
+    @Test
+    @DisplayName("Should hand each event downstream immediately when coalescing is disabled")
+    void handle_whenDisabled_shouldEmitImmediately() {
+        final PropertyChangeCoalescer coalescer = coalescer(false);
+
+        coalescer.handle(propertyChange(1L, "firstname", "John", 100L));
+        coalescer.handle(propertyChange(1L, "lastname", "Doe", 150L));
+
+        verify(handler, times(2)).handle(any(ContactChangeSet.class));
+        verify(taskScheduler, never()).schedule(any(Runnable.class), any(Instant.class));
+    }
+
+    @Test
+    @DisplayName("Should drop pending changes when the object is deleted")
+    void handle_whenObjectDeleted_shouldDiscardPendingChanges() {
+        final PropertyChangeCoalescer coalescer = coalescer(true);
+        coalescer.handle(propertyChange(1L, "firstname", "John", 100L));
+
+        coalescer.handle(new HubSpotEvent(1L, SubscriptionType.CONTACT_DELETION, 0L, 0, 0L, null, null));
+        coalescer.flush(1L);
+
+        verify(handler, never()).handle(any(ContactChangeSet.class));
+    }
+
+    private PropertyChangeCoalescer coalescer(final boolean enabled) {
+        return new PropertyChangeCoalescer(List.of(handler), taskScheduler, meterRegistry,
+                enabled, Duration.ofSeconds(1), 100);
+    }
+
+    private static HubSpotEvent propertyChange(final long objectId, final String name, final String value,
+                                               final long occurredAt) {
+        return new HubSpotEvent(objectId, SubscriptionType.CONTACT_PROPERTY_CHANGE, 0L, 0, occurredAt, name, value);
+    }
+
+}
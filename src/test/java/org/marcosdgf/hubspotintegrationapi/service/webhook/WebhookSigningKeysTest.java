@@ -0,0 +1,52 @@
+package org.marcosdgf.hubspotintegrationapi.service.webhook;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WebhookSigningKeysTest {
+
+    private final WebhookSigningKeys keys = new WebhookSigningKeys("default-secret", "111:secret-a, 222:secret-b");
+
+    @Test
+    @DisplayName("Should sign with the secret of the requested app")
+    void forApp_shouldUseEachAppsSecret() throws Exception {
+        assertThat(keys.forApp(null).orElseThrow().doFinal(payload())).isEqualTo(sign("default-secret"));
+        assertThat(keys.forApp("111").orElseThrow().doFinal(payload())).isEqualTo(sign("secret-a"));
+        assertThat(keys.forApp("222").orElseThrow().doFinal(payload())).isEqualTo(sign("secret-b"));
+    }
+
+    @Test
+    @DisplayName("Should hand out independent Mac instances")
+    void forApp_shouldReturnIndependentMacs() throws Exception {
+        final Mac first = keys.forApp("111").orElseThrow();
+        first.update("partial".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(keys.forApp("111").orElseThrow().doFinal(payload())).isEqualTo(sign("secret-a"));
+    }
+
+    @Test
+    @DisplayName("Should not resolve unknown apps and reject malformed configuration")
+    void forApp_whenAppUnknown_shouldBeEmpty() {
+        assertThat(keys.forApp("999")).isEmpty();
+        assertThatThrownBy(() -> new WebhookSigningKeys("default-secret", "111"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static byte[] payload() {
+        return "POSThttps://api.example.com/webhooks/contacts[]1700000000000".getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] sign(final String secret) throws Exception {
+        final Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        return mac.doFinal(payload());
+    }
+
+}
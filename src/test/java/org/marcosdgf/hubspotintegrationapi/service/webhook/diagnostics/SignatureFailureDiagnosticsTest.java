@@ -0,0 +1,48 @@
+package org.marcosdgf.hubspotintegrationapi.service.webhook.diagnostics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SignatureFailureDiagnosticsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SignatureFailureDiagnostics diagnostics =
+            new SignatureFailureDiagnostics(meterRegistry, Duration.ofHours(1), 3);
+    private final MockHttpServletRequest request = new MockHttpServletRequest("POST", "/webhooks/contacts/42");
+
+    @Test
+    @DisplayName("Should count failures per reason and keep only the most recent ones, newest first")
+    void record_whenRingIsFull_shouldKeepNewestFailures() {
+        for (int i = 1; i <= 5; i++) {
+            diagnostics.record(SignatureFailureReason.INVALID_SIGNATURE, "42", "c2lnbmF0dXJlLW51bWJlci0" + i, 1000L + i, i, request);
+        }
+        diagnostics.record(SignatureFailureReason.UNKNOWN_APP, "7", "x", 2000L, 10, request);
+
+        final SignatureFailureDiagnostics.Snapshot snapshot = diagnostics.snapshot();
+
+        assertThat(snapshot.failures()).containsEntry("invalid_signature", 5L).containsEntry("unknown_app", 1L);
+        assertThat(snapshot.recent()).extracting(SignatureFailureDiagnostics.RecentFailure::bodyLength)
+                .containsExactly(10, 5, 4);
+        assertThat(snapshot.recent().get(1).signaturePrefix()).isEqualTo("c2lnbmF0dXJl…");
+        assertThat(snapshot.recent().get(0).requestUri()).isEqualTo("/webhooks/contacts/42");
+        assertThat(meterRegistry.get("hubspot.webhooks.signature.failures").tag("reason", "invalid_signature")
+                .counter().count()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should log the first failure of an interval and only count the rest")
+    void record_whenWithinLogInterval_shouldSuppressLogLines() {
+        for (int i = 0; i < 10; i++) {
+            diagnostics.record(SignatureFailureReason.EXPIRED_TIMESTAMP, null, "sig", 1L, 0, request);
+        }
+
+        assertThat(diagnostics.snapshot().logLinesSuppressed()).isEqualTo(9);
+    }
+
+}
@@ -0,0 +1,63 @@
+package org.marcosdgf.hubspotintegrationapi.service.webhook.recording;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WebhookTrafficRecorderTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should write recorded deliveries in arrival order and read them back")
+    void record_shouldRoundTripDeliveries() throws Exception {
+        final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        final WebhookTrafficRecorder recorder = new WebhookTrafficRecorder(meterRegistry, true, directory.toString(), 100);
+
+        recorder.record(1_700_000_000_000L, "[{\"objectId\":1}]");
+        recorder.record(1_700_000_000_500L, "[{\"objectId\":2,\"propertyValue\":\"São Paulo\"}]");
+        recorder.stop();
+
+        final List<RecordedWebhook> recording = WebhookRecordingFile.read(recorder.file());
+        assertThat(recording).extracting(RecordedWebhook::signedTimestamp)
+                .containsExactly(1_700_000_000_000L, 1_700_000_000_500L);
+        assertThat(recording.get(1).body()).isEqualTo("[{\"objectId\":2,\"propertyValue\":\"São Paulo\"}]");
+        assertThat(meterRegistry.get("hubspot.webhooks.recorder.deliveries").tag("outcome", "recorded").counter().count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should read a recording that is still open up to its last flushed delivery")
+    void read_whenRecordingNotClosed_shouldReturnFlushedDeliveries() throws Exception {
+        final Path file = directory.resolve("open.hswr.gz");
+        final WebhookRecordingFile.Writer writer = WebhookRecordingFile.create(file);
+        writer.write(new RecordedWebhook(1L, 10L, "[]"));
+        writer.write(new RecordedWebhook(2L, 20L, "[{}]"));
+        writer.flush();
+
+        assertThat(WebhookRecordingFile.read(file)).containsExactly(
+                new RecordedWebhook(1L, 10L, "[]"),
+                new RecordedWebhook(2L, 20L, "[{}]"));
+        writer.close();
+    }
+
+    @Test
+    @DisplayName("Should not create a recording when disabled")
+    void record_whenDisabled_shouldNotWrite() {
+        final WebhookTrafficRecorder recorder = new WebhookTrafficRecorder(new SimpleMeterRegistry(), false, directory.toString(), 100);
+
+        recorder.record(1L, "[]");
+        recorder.stop();
+
+        assertThat(Files.exists(recorder.file())).isFalse();
+    }
+
+}
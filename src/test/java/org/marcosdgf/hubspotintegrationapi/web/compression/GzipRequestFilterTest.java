@@ -0,0 +1,80 @@
+package org.marcosdgf.hubspotintegrationapi.web.compression;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GzipRequestFilterTest {
+
+    private static final String NDJSON = "{\"email\":\"a@example.com\"}\n".repeat(200);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final GzipRequestFilter filter = new GzipRequestFilter(meterRegistry, true, DataSize.ofKilobytes(1));
+
+    @Test
+    @DisplayName("Should hand the inflated body to the endpoint and record the ratio")
+    void doFilter_whenGzipImport_shouldInflateBody() throws Exception {
+        final AtomicReference<String> seen = new AtomicReference<>();
+        final AtomicReference<String> encoding = new AtomicReference<>();
+
+        filter.doFilter(gzipRequest("/contacts/import"), new MockHttpServletResponse(), (request, response) -> {
+            encoding.set(((HttpServletRequest) request).getHeader(HttpHeaders.CONTENT_ENCODING));
+            seen.set(new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+        });
+
+        assertThat(seen.get()).isEqualTo(NDJSON);
+        assertThat(encoding.get()).isNull();
+        assertThat(meterRegistry.get("hubspot.compression.ratio").tag("leg", "api-request").summary().mean())
+                .isGreaterThan(1);
+    }
+
+    @Test
+    @DisplayName("Should stop reading once the inflated body exceeds the limit outside imports")
+    void doFilter_whenInflatedBodyTooLarge_shouldFail() {
+        assertThatThrownBy(() -> filter.doFilter(gzipRequest("/contacts/batch"), new MockHttpServletResponse(),
+                (request, response) -> request.getInputStream().readAllBytes()))
+                .isInstanceOf(IOException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject content encodings other than gzip")
+    void doFilter_whenEncodingUnsupported_shouldReturn415() throws Exception {
+        final MockHttpServletRequest request = new MockHttpServletRequest("POST", "/contacts/import");
+        request.addHeader(HttpHeaders.CONTENT_ENCODING, "br");
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        final MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(415);
+        assertThat(chain.getRequest()).isNull();
+    }
+
+    private static MockHttpServletRequest gzipRequest(final String path) throws IOException {
+        final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(NDJSON.getBytes(StandardCharsets.UTF_8));
+        }
+        final MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        request.addHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        request.setContentType("application/x-ndjson");
+        request.setContent(compressed.toByteArray());
+        return request;
+    }
+
+}
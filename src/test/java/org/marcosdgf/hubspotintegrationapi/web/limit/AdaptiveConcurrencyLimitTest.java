@@ -0,0 +1,63 @@
+package org.marcosdgf.hubspotintegrationapi.web.limit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimitTest {
+
+    private static final long MILLIS = 1_000_000L;
+
+    @Test
+    @DisplayName("Should reject acquisitions beyond the current limit")
+    void tryAcquire_whenLimitReached_shouldReject() {
+        final AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1, 10);
+
+        assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.tryAcquire()).isFalse();
+
+        limit.release(10 * MILLIS, false);
+        assertThat(limit.tryAcquire()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should grow while latency is stable and shrink when latency climbs")
+    void release_shouldFollowLatency() {
+        final AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 2, 100);
+
+        saturate(limit, 10 * MILLIS, 200);
+        final int grown = limit.limit();
+        assertThat(grown).isGreaterThan(10);
+
+        saturate(limit, 100 * MILLIS, 20);
+        assertThat(limit.limit()).isLessThan(grown);
+    }
+
+    @Test
+    @DisplayName("Should back off multiplicatively on dropped requests, down to the minimum")
+    void release_whenDropped_shouldBackOff() {
+        final AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 5, 100);
+
+        for (int i = 0; i < 50; i++) {
+            limit.tryAcquire();
+            limit.release(10 * MILLIS, true);
+        }
+
+        assertThat(limit.limit()).isEqualTo(5);
+    }
+
+    private static void saturate(final AdaptiveConcurrencyLimit limit, final long rttNanos, final int rounds) {
+        for (int round = 0; round < rounds; round++) {
+            int acquired = 0;
+            while (limit.tryAcquire()) {
+                acquired++;
+            }
+            for (int i = 0; i < acquired; i++) {
+                limit.release(rttNanos, false);
+            }
+        }
+    }
+
+}
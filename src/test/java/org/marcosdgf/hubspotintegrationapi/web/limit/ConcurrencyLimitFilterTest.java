@@ -0,0 +1,57 @@
+package org.marcosdgf.hubspotintegrationapi.web.limit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class ConcurrencyLimitFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ConcurrencyLimitFilter filter =
+            new ConcurrencyLimitFilter(meterRegistry, true, Duration.ofSeconds(2), 1, 1, 1, 1, 1, 1);
+
+    @Test
+    @DisplayName("Should shed interactive requests with 429 and webhooks with 503 once their limit is reached")
+    void doFilter_whenLimitReached_shouldShedWithRetryAfter() throws Exception {
+        filter.limit(LimitGroup.INTERACTIVE).tryAcquire();
+        filter.limit(LimitGroup.WEBHOOK).tryAcquire();
+
+        final FilterChain chain = mock(FilterChain.class);
+        final MockHttpServletResponse interactive = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("POST", "/contacts"), interactive, chain);
+        final MockHttpServletResponse webhook = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("POST", "/webhooks/contacts"), webhook, chain);
+
+        assertThat(interactive.getStatus()).isEqualTo(429);
+        assertThat(interactive.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+        assertThat(webhook.getStatus()).isEqualTo(503);
+        verifyNoInteractions(chain);
+        assertThat(meterRegistry.get("hubspot.limiter.requests").tag("outcome", "rejected").counters())
+                .hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Should let requests outside the limited groups through untouched")
+    void doFilter_whenNotLimited_shouldPassThrough() throws Exception {
+        filter.limit(LimitGroup.INTERACTIVE).tryAcquire();
+
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        final MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(new MockHttpServletRequest("GET", "/contacts/export"), response, chain);
+
+        assertThat(chain.getRequest()).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(200);
+    }
+
+}